@@ -0,0 +1,385 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * External merge sort for binary int data that does not fit in the heap.
+ *
+ * <p>Input and output are raw sequences of 4-byte big-endian ints, the layout written by
+ * {@code DataOutputStream.writeInt} and by a default {@link ByteBuffer}. The sort runs in
+ * two phases:</p>
+ * <ol>
+ *   <li>Run formation: the input is read in runs of {@code runSize} ints, each run is
+ *       sorted in memory and spilled to a temporary file.</li>
+ *   <li>Merging: up to {@code fanIn} runs at a time are merged through a
+ *       {@link LoserTree} with buffered NIO reads, repeating until one run is left.</li>
+ * </ol>
+ *
+ * <p><b>Memory Requirements:</b> about {@code 4 * runSize} bytes for the run buffer plus
+ * {@code fanIn * 64 KiB} of read buffers while merging. With the defaults
+ * ({@value #DEFAULT_RUN_SIZE} ints, fan-in {@value #DEFAULT_FAN_IN}) that is roughly
+ * 260 MB, and a 40 GB input forms 160 runs that merge in two passes.</p>
+ *
+ * <p>An input that fits in a single run is sorted in memory and never touches the
+ * temporary directory. Temporary files are deleted before returning, including on
+ * failure.</p>
+ */
+public final class ExternalSort {
+  /** Default number of ints sorted in memory per run (256 MB) */
+  public static final int DEFAULT_RUN_SIZE = 1 << 26;
+  /** Default number of runs merged at once */
+  public static final int DEFAULT_FAN_IN = 64;
+
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  private ExternalSort() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Sorts a binary int file using the default run size and fan-in, spilling runs to
+   * the system temporary directory
+   *
+   * @param input  The file to be sorted
+   * @param output The file to write the sorted ints to; created or truncated
+   * @return The number of ints sorted
+   * @throws NullPointerException if input or output is null
+   * @throws IOException if the input length is not a multiple of 4 bytes or an I/O
+   *                     error occurs
+   */
+  public static long sort(Path input, Path output) throws IOException {
+    return sort(input, output, DEFAULT_RUN_SIZE, DEFAULT_FAN_IN,
+        Path.of(System.getProperty("java.io.tmpdir")));
+  }
+
+  /**
+   * Sorts a binary int file
+   *
+   * @param input   The file to be sorted
+   * @param output  The file to write the sorted ints to; created or truncated. It may
+   *                be the same file as input.
+   * @param runSize The maximum number of ints sorted in memory at once
+   * @param fanIn   The maximum number of runs merged at once
+   * @param tempDir The directory to spill runs to
+   * @return The number of ints sorted
+   * @throws NullPointerException if input, output or tempDir is null
+   * @throws IllegalArgumentException if runSize is not positive or fanIn is less than 2
+   * @throws IOException if the input length is not a multiple of 4 bytes or an I/O
+   *                     error occurs
+   */
+  public static long sort(Path input, Path output, int runSize, int fanIn, Path tempDir)
+      throws IOException {
+    if (input == null) {
+      throw new NullPointerException("Input path cannot be null");
+    }
+    if (output == null) {
+      throw new NullPointerException("Output path cannot be null");
+    }
+    checkArguments(runSize, fanIn, tempDir);
+
+    List<Path> temps = new ArrayList<>();
+    try {
+      List<Path> runs = new ArrayList<>();
+      int[] single;
+      try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+        single = formRuns(in, runSize, tempDir, runs, temps);
+      }
+      try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        return finish(single, runs, out, fanIn, tempDir, temps);
+      }
+    } finally {
+      deleteAll(temps);
+    }
+  }
+
+  /**
+   * Sorts binary ints read from a channel into another channel. Neither channel is
+   * closed.
+   *
+   * @param in      The channel to read ints from until end of stream
+   * @param out     The channel to write the sorted ints to
+   * @param runSize The maximum number of ints sorted in memory at once
+   * @param fanIn   The maximum number of runs merged at once
+   * @param tempDir The directory to spill runs to
+   * @return The number of ints sorted
+   * @throws NullPointerException if in, out or tempDir is null
+   * @throws IllegalArgumentException if runSize is not positive or fanIn is less than 2
+   * @throws IOException if the input length is not a multiple of 4 bytes or an I/O
+   *                     error occurs
+   */
+  public static long sort(ReadableByteChannel in, WritableByteChannel out, int runSize,
+      int fanIn, Path tempDir) throws IOException {
+    if (in == null) {
+      throw new NullPointerException("Input channel cannot be null");
+    }
+    if (out == null) {
+      throw new NullPointerException("Output channel cannot be null");
+    }
+    checkArguments(runSize, fanIn, tempDir);
+
+    List<Path> temps = new ArrayList<>();
+    try {
+      List<Path> runs = new ArrayList<>();
+      int[] single = formRuns(in, runSize, tempDir, runs, temps);
+      return finish(single, runs, out, fanIn, tempDir, temps);
+    } finally {
+      deleteAll(temps);
+    }
+  }
+
+  private static void checkArguments(int runSize, int fanIn, Path tempDir) {
+    if (runSize <= 0) {
+      throw new IllegalArgumentException("Run size must be positive: " + runSize);
+    }
+    if (fanIn < 2) {
+      throw new IllegalArgumentException("Fan-in must be at least 2: " + fanIn);
+    }
+    if (tempDir == null) {
+      throw new NullPointerException("Temporary directory cannot be null");
+    }
+  }
+
+  /**
+   * Reads the input in sorted runs. Returns the sorted input if it fit in a single run;
+   * otherwise spills every run to a temporary file, appends it to runs and returns null.
+   */
+  private static int[] formRuns(ReadableByteChannel in, int runSize, Path tempDir,
+      List<Path> runs, List<Path> temps) throws IOException {
+    int capacity = runSize;
+    if (in instanceof SeekableByteChannel) {
+      // Don't allocate a full run buffer for an input known to be smaller
+      SeekableByteChannel seekable = (SeekableByteChannel) in;
+      long remaining = (seekable.size() - seekable.position()) / Integer.BYTES;
+      capacity = (int) Math.max(1, Math.min(runSize, remaining));
+    }
+    int[] run = new int[capacity];
+    IntReader reader = new IntReader(in);
+
+    while (true) {
+      int length = reader.read(run, 0, run.length);
+      boolean more = reader.hasNext();
+      Arrays.sort(run, 0, length);
+      if (!more && runs.isEmpty()) {
+        return Arrays.copyOf(run, length);
+      }
+      if (length > 0) {
+        Path file = createTemp(tempDir, temps);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+          IntWriter writer = new IntWriter(channel);
+          writer.write(run, 0, length);
+          writer.flush();
+        }
+        runs.add(file);
+      }
+      if (!more) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Writes the single in-memory run, or merges the spilled runs into out
+   */
+  private static long finish(int[] single, List<Path> runs, WritableByteChannel out,
+      int fanIn, Path tempDir, List<Path> temps) throws IOException {
+    if (single != null) {
+      IntWriter writer = new IntWriter(out);
+      writer.write(single, 0, single.length);
+      writer.flush();
+      return single.length;
+    }
+
+    // Intermediate passes until the remaining runs fit in one final merge
+    while (runs.size() > fanIn) {
+      List<Path> merged = new ArrayList<>();
+      for (int from = 0; from < runs.size(); from += fanIn) {
+        List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+        if (group.size() == 1) {
+          merged.add(group.get(0));
+          continue;
+        }
+        Path file = createTemp(tempDir, temps);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+          merge(group, channel);
+        }
+        for (Path run : group) {
+          Files.deleteIfExists(run);
+        }
+        merged.add(file);
+      }
+      runs = merged;
+    }
+    return merge(runs, out);
+  }
+
+  /**
+   * K-way merges sorted run files into out through a loser tree
+   */
+  private static long merge(List<Path> runs, WritableByteChannel out) throws IOException {
+    int k = runs.size();
+    FileChannel[] channels = new FileChannel[k];
+    try {
+      IntReader[] readers = new IntReader[k];
+      LoserTree tree = new LoserTree(k);
+      for (int i = 0; i < k; i++) {
+        channels[i] = FileChannel.open(runs.get(i), StandardOpenOption.READ);
+        readers[i] = new IntReader(channels[i]);
+        if (readers[i].hasNext()) {
+          tree.set(i, readers[i].next());
+        }
+      }
+      tree.build();
+
+      IntWriter writer = new IntWriter(out);
+      long count = 0;
+      while (!tree.isEmpty()) {
+        int winner = tree.winner();
+        writer.write(tree.winnerKey());
+        count++;
+        if (readers[winner].hasNext()) {
+          tree.replaceWinner(readers[winner].next());
+        } else {
+          tree.exhaustWinner();
+        }
+      }
+      writer.flush();
+      return count;
+    } finally {
+      IOException failure = null;
+      for (FileChannel channel : channels) {
+        if (channel == null) {
+          continue;
+        }
+        try {
+          channel.close();
+        } catch (IOException e) {
+          failure = e;
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private static Path createTemp(Path tempDir, List<Path> temps) throws IOException {
+    Path file = Files.createTempFile(tempDir, "sort-run-", ".bin");
+    temps.add(file);
+    return file;
+  }
+
+  private static void deleteAll(List<Path> temps) throws IOException {
+    for (Path file : temps) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Buffered big-endian int reader over a channel
+   */
+  private static final class IntReader {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private boolean eof;
+
+    IntReader(ReadableByteChannel channel) {
+      this.channel = channel;
+      buffer.flip();
+    }
+
+    boolean hasNext() throws IOException {
+      if (buffer.remaining() >= Integer.BYTES) {
+        return true;
+      }
+      if (!eof) {
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer) < 0) {
+            eof = true;
+            break;
+          }
+        }
+        buffer.flip();
+        if (buffer.remaining() >= Integer.BYTES) {
+          return true;
+        }
+      }
+      if (buffer.hasRemaining()) {
+        throw new IOException("Input length is not a multiple of " + Integer.BYTES + " bytes");
+      }
+      return false;
+    }
+
+    int next() {
+      return buffer.getInt();
+    }
+
+    /**
+     * Reads up to len ints into dst, stopping early only at end of stream
+     *
+     * @return the number of ints read
+     */
+    int read(int[] dst, int off, int len) throws IOException {
+      int n = 0;
+      while (n < len && hasNext()) {
+        int count = Math.min(buffer.remaining() / Integer.BYTES, len - n);
+        buffer.asIntBuffer().get(dst, off + n, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        n += count;
+      }
+      return n;
+    }
+  }
+
+  /**
+   * Buffered big-endian int writer over a channel
+   */
+  private static final class IntWriter {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+    IntWriter(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    void write(int value) throws IOException {
+      if (buffer.remaining() < Integer.BYTES) {
+        flush();
+      }
+      buffer.putInt(value);
+    }
+
+    void write(int[] src, int off, int len) throws IOException {
+      while (len > 0) {
+        if (buffer.remaining() < Integer.BYTES) {
+          flush();
+        }
+        int count = Math.min(buffer.remaining() / Integer.BYTES, len);
+        buffer.asIntBuffer().put(src, off, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        off += count;
+        len -= count;
+      }
+    }
+
+    void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * A bounded binary min-heap of primitive ints that retains the largest values
+ * offered to it.
+ *
+ * <p>Once the heap holds {@code capacity} values, a new value only enters if it is
+ * larger than the current minimum, which it then replaces. This is the building block
+ * for the top-n selections in {@link Sort} and {@link TopN}; unlike
+ * {@code PriorityQueue<Integer>} it never boxes and never reallocates.</p>
+ */
+final class IntMinHeap {
+  private final int[] heap;
+  private int size;
+
+  /**
+   * Creates an empty heap
+   *
+   * @param capacity the maximum number of values retained
+   * @throws IllegalArgumentException if capacity is not positive
+   */
+  IntMinHeap(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.heap = new int[capacity];
+  }
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return heap.length;
+  }
+
+  /**
+   * Returns the smallest retained value
+   *
+   * @throws IllegalStateException if the heap is empty
+   */
+  int peek() {
+    if (size == 0) {
+      throw new IllegalStateException("Heap is empty");
+    }
+    return heap[0];
+  }
+
+  /**
+   * Offers a value, keeping it only if it is among the largest {@code capacity} seen
+   *
+   * @param value the value to offer
+   */
+  void offer(int value) {
+    if (size < heap.length) {
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (heap[parent] <= value) {
+          break;
+        }
+        heap[i] = heap[parent];
+        i = parent;
+      }
+      heap[i] = value;
+    } else if (value > heap[0]) {
+      siftDown(value);
+    }
+  }
+
+  /**
+   * Offers every value retained by another heap
+   *
+   * @param other the heap to merge into this one
+   */
+  void offerAll(IntMinHeap other) {
+    for (int i = 0; i < other.size; i++) {
+      offer(other.heap[i]);
+    }
+  }
+
+  /**
+   * Offers {@code values[from, to)}
+   */
+  void offerAll(int[] values, int from, int to) {
+    for (int i = from; i < to; i++) {
+      offer(values[i]);
+    }
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Returns the retained values in descending order without modifying the heap
+   *
+   * @return a new array of length {@link #size()}
+   */
+  int[] toSortedDescending() {
+    int[] ret = Arrays.copyOf(heap, size);
+    Arrays.sort(ret);
+    for (int i = 0, j = ret.length - 1; i < j; i++, j--) {
+      int tmp = ret[i];
+      ret[i] = ret[j];
+      ret[j] = tmp;
+    }
+    return ret;
+  }
+
+  /**
+   * Replaces the root with value and restores the heap property
+   */
+  private void siftDown(int value) {
+    int i = 0;
+    int half = size >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      int right = child + 1;
+      if (right < size && heap[right] < heap[child]) {
+        child = right;
+      }
+      if (value <= heap[child]) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = value;
+  }
+}
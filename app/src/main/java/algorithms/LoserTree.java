@@ -0,0 +1,206 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * A tournament (loser) tree for k-way merging of sorted int sources.
+ *
+ * <p>Each of the k sources contributes its current head key. The tree stores, at every
+ * internal node, the source that lost the match played there, so after the winner's
+ * key is replaced only the path from that source's leaf to the root has to be
+ * replayed: one comparison per level, {@code ceil(log2 k)} in total, versus roughly
+ * twice that for a binary heap.</p>
+ *
+ * <p>Ties are broken by source index, so merging runs in order yields a stable
+ * merge. Typical use:</p>
+ *
+ * <pre>{@code
+ * LoserTree tree = new LoserTree(k);
+ * for (int i = 0; i < k; i++) {
+ *   if (source[i] has a value) tree.set(i, first value of source[i]);
+ * }
+ * tree.build();
+ * while (!tree.isEmpty()) {
+ *   emit(tree.winnerKey());
+ *   int w = tree.winner();
+ *   if (source[w] has a value) tree.replaceWinner(next value of source[w]);
+ *   else tree.exhaustWinner();
+ * }
+ * }</pre>
+ */
+public final class LoserTree {
+  private final int k;
+  private final int[] keys;
+  private final boolean[] exhausted;
+  /** tree[0] is the overall winner, tree[1..k-1] the loser at each internal node */
+  private final int[] tree;
+  private boolean built;
+
+  /**
+   * Creates a tree over k sources, all of which start out exhausted
+   *
+   * @param k The number of sources
+   * @throws IllegalArgumentException if k is not positive
+   */
+  public LoserTree(int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("Number of sources must be positive: " + k);
+    }
+    this.k = k;
+    this.keys = new int[k];
+    this.exhausted = new boolean[k];
+    this.tree = new int[k];
+    Arrays.fill(exhausted, true);
+  }
+
+  /**
+   * Returns the number of sources
+   */
+  public int sources() {
+    return k;
+  }
+
+  /**
+   * Sets the initial head key of a source, marking it as not exhausted
+   *
+   * @param source The source index
+   * @param key    The head key of that source
+   * @throws IndexOutOfBoundsException if source is out of bounds
+   * @throws IllegalStateException if the tree has already been built
+   */
+  public void set(int source, int key) {
+    if (source < 0 || source >= k) {
+      throw new IndexOutOfBoundsException("Source index out of bounds: " + source + " for sources: " + k);
+    }
+    if (built) {
+      throw new IllegalStateException("Tree has already been built");
+    }
+    keys[source] = key;
+    exhausted[source] = false;
+  }
+
+  /**
+   * Plays the initial tournament. Must be called once, after every non-empty source
+   * has been {@link #set}.
+   *
+   * @throws IllegalStateException if the tree has already been built
+   */
+  public void build() {
+    if (built) {
+      throw new IllegalStateException("Tree has already been built");
+    }
+    built = true;
+    if (k == 1) {
+      tree[0] = 0;
+      return;
+    }
+    // winners[n] is the winner of the subtree rooted at n; leaves live at k..2k-1
+    int[] winners = new int[2 * k];
+    for (int i = 0; i < k; i++) {
+      winners[k + i] = i;
+    }
+    for (int node = k - 1; node > 0; node--) {
+      int left = winners[2 * node];
+      int right = winners[2 * node + 1];
+      if (beats(left, right)) {
+        winners[node] = left;
+        tree[node] = right;
+      } else {
+        winners[node] = right;
+        tree[node] = left;
+      }
+    }
+    tree[0] = winners[1];
+  }
+
+  /**
+   * Returns true once every source is exhausted
+   */
+  public boolean isEmpty() {
+    checkBuilt();
+    return exhausted[tree[0]];
+  }
+
+  /**
+   * Returns the index of the source holding the smallest head key
+   *
+   * @throws IllegalStateException if the tree is empty
+   */
+  public int winner() {
+    checkNotEmpty();
+    return tree[0];
+  }
+
+  /**
+   * Returns the smallest head key across all sources
+   *
+   * @throws IllegalStateException if the tree is empty
+   */
+  public int winnerKey() {
+    checkNotEmpty();
+    return keys[tree[0]];
+  }
+
+  /**
+   * Replaces the winner's head key with the next key from the same source
+   *
+   * @param key The next key of the winning source
+   * @throws IllegalStateException if the tree is empty
+   */
+  public void replaceWinner(int key) {
+    checkNotEmpty();
+    keys[tree[0]] = key;
+    replay(tree[0]);
+  }
+
+  /**
+   * Marks the winning source as exhausted
+   *
+   * @throws IllegalStateException if the tree is empty
+   */
+  public void exhaustWinner() {
+    checkNotEmpty();
+    exhausted[tree[0]] = true;
+    replay(tree[0]);
+  }
+
+  /**
+   * Replays the matches on the path from a source's leaf to the root
+   */
+  private void replay(int source) {
+    int winner = source;
+    for (int node = (source + k) >>> 1; node > 0; node >>>= 1) {
+      int loser = tree[node];
+      if (beats(loser, winner)) {
+        tree[node] = winner;
+        winner = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  /**
+   * Returns true if source a should be emitted before source b
+   */
+  private boolean beats(int a, int b) {
+    if (exhausted[a]) {
+      return false;
+    }
+    if (exhausted[b]) {
+      return true;
+    }
+    return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+  }
+
+  private void checkBuilt() {
+    if (!built) {
+      throw new IllegalStateException("Tree has not been built");
+    }
+  }
+
+  private void checkNotEmpty() {
+    if (isEmpty()) {
+      throw new IllegalStateException("All sources are exhausted");
+    }
+  }
+}
@@ -1,10 +1,21 @@
 package algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.PriorityQueue;
+import java.util.stream.IntStream;
 
 public final class Sort {
+  /**
+   * Minimum number of elements each worker of {@link #maxNParallel} scans. Below
+   * this the fork/join overhead outweighs the scan itself.
+   */
+  private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
+  /** Ranges at or below this size are finished with insertion sort during selection */
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
   private Sort() {
     throw new UnsupportedOperationException("Utility class");
   }
@@ -86,5 +97,602 @@ public final class Sort {
     Collections.sort(ret, Collections.reverseOrder()); // Sort in descending order
     return ret;
   }
+
+  /**
+   * Returns the largest n elements in a vector, scanning chunks of the vector in
+   * parallel.
+   *
+   * <p>Each worker keeps a primitive min-heap of size n over its own chunk, and the
+   * partial heaps are merged once the workers finish. The result is identical to
+   * {@link #maxN(ArrayList, int)}. Vectors too small to be worth splitting are
+   * scanned on the calling thread.</p>
+   *
+   * @param v The vector to be searched; must not be modified during the call
+   * @param n The number of elements to return
+   * @return A vector of the largest n elements in v, in descending order
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if n is negative or greater than the size of v
+   */
+  public static ArrayList<Integer> maxNParallel(ArrayList<Integer> v, int n) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    checkTopN(v.size(), n);
+
+    int size = v.size();
+    int chunk = Math.max(PARALLEL_CHUNK_SIZE, n);
+    int chunks = (size + chunk - 1) / chunk;
+    IntMinHeap heap = IntStream.range(0, chunks)
+        .parallel()
+        .mapToObj(c -> {
+          IntMinHeap partial = new IntMinHeap(n);
+          int end = (int) Math.min((long) (c + 1) * chunk, size);
+          for (int i = c * chunk; i < end; i++) {
+            partial.offer(v.get(i));
+          }
+          return partial;
+        })
+        .reduce(Sort::mergeHeaps)
+        .orElseThrow();
+
+    int[] top = heap.toSortedDescending();
+    ArrayList<Integer> ret = new ArrayList<>(top.length);
+    for (int value : top) {
+      ret.add(value);
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the largest n elements in an array, scanning chunks of the array in
+   * parallel. See {@link #maxNParallel(ArrayList, int)}.
+   *
+   * @param v The array to be searched; must not be modified during the call
+   * @param n The number of elements to return
+   * @return An array of the largest n elements in v, in descending order
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if n is negative or greater than the length of v
+   */
+  public static int[] maxNParallel(int[] v, int n) {
+    if (v == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkTopN(v.length, n);
+
+    int chunk = Math.max(PARALLEL_CHUNK_SIZE, n);
+    int chunks = (v.length + chunk - 1) / chunk;
+    return IntStream.range(0, chunks)
+        .parallel()
+        .mapToObj(c -> {
+          IntMinHeap partial = new IntMinHeap(n);
+          partial.offerAll(v, c * chunk, (int) Math.min((long) (c + 1) * chunk, v.length));
+          return partial;
+        })
+        .reduce(Sort::mergeHeaps)
+        .orElseThrow()
+        .toSortedDescending();
+  }
+
+  /**
+   * Returns the permutation that sorts an array in ascending order. Equal keys keep
+   * their original relative order.
+   *
+   * <p>Each key and its index are packed into one long (key in the high 32 bits,
+   * index in the low 32), so a single primitive sort of the packed values orders by
+   * key and then by index, with no boxed pairs or comparator.</p>
+   *
+   * @param keys The array whose sorting permutation is wanted; not modified
+   * @return perm such that keys[perm[0]] &lt;= keys[perm[1]] &lt;= ...
+   * @throws NullPointerException if keys is null
+   */
+  public static int[] argsort(int[] keys) {
+    if (keys == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    long[] packed = new long[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      packed[i] = pack(keys[i], i);
+    }
+    return unpackIndices(packed);
+  }
+
+  /**
+   * Returns the permutation that sorts a vector in ascending order. Equal keys keep
+   * their original relative order. See {@link #argsort(int[])}.
+   *
+   * @param v The vector whose sorting permutation is wanted; not modified
+   * @return perm such that v.get(perm[0]) &lt;= v.get(perm[1]) &lt;= ...
+   * @throws NullPointerException if v is null
+   */
+  public static int[] argsort(ArrayList<Integer> v) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    long[] packed = new long[v.size()];
+    for (int i = 0; i < packed.length; i++) {
+      packed[i] = pack(v.get(i), i);
+    }
+    return unpackIndices(packed);
+  }
+
+  /**
+   * Reorders an int column by a permutation: {@code ret[i] = values[perm[i]]}
+   *
+   * @param perm   A permutation of the indices of values, such as returned by argsort
+   * @param values The column to reorder; not modified
+   * @return A new array holding values in permutation order
+   * @throws NullPointerException if perm or values is null
+   * @throws IllegalArgumentException if perm and values differ in length
+   */
+  public static int[] applyPermutation(int[] perm, int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkPermutationLength(perm, values.length);
+    int[] ret = new int[values.length];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = values[perm[i]];
+    }
+    return ret;
+  }
+
+  /**
+   * Reorders a long column by a permutation: {@code ret[i] = values[perm[i]]}
+   *
+   * @param perm   A permutation of the indices of values, such as returned by argsort
+   * @param values The column to reorder; not modified
+   * @return A new array holding values in permutation order
+   * @throws NullPointerException if perm or values is null
+   * @throws IllegalArgumentException if perm and values differ in length
+   */
+  public static long[] applyPermutation(int[] perm, long[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkPermutationLength(perm, values.length);
+    long[] ret = new long[values.length];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = values[perm[i]];
+    }
+    return ret;
+  }
+
+  /**
+   * Reorders an object column by a permutation: {@code ret[i] = values[perm[i]]}.
+   * Only the references are moved; the elements themselves are not copied.
+   *
+   * @param <T>    The element type
+   * @param perm   A permutation of the indices of values, such as returned by argsort
+   * @param values The column to reorder; not modified
+   * @return A new array of the same runtime type holding values in permutation order
+   * @throws NullPointerException if perm or values is null
+   * @throws IllegalArgumentException if perm and values differ in length
+   */
+  public static <T> T[] applyPermutation(int[] perm, T[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkPermutationLength(perm, values.length);
+    T[] ret = Arrays.copyOf(values, values.length);
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = values[perm[i]];
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the element that would be at index k if the array were sorted in
+   * ascending order, without sorting it.
+   *
+   * <p>Uses introselect: quickselect with median-of-three pivots and three-way
+   * partitioning, falling back to a full sort of the remaining range if partitioning
+   * degrades. Expected time is O(n), worst case O(n log n).</p>
+   *
+   * @param a The array to select from; not modified
+   * @param k The 0-based rank to select; 0 is the minimum
+   * @return The kth smallest element
+   * @throws NullPointerException if a is null
+   * @throws IllegalArgumentException if k is outside [0, a.length)
+   */
+  public static int kthSmallest(int[] a, int k) {
+    if (a == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkRank(k, a.length);
+    int[] work = a.clone();
+    select(work, 0, work.length - 1, k);
+    return work[k];
+  }
+
+  /**
+   * Returns the element that would be at index k if the vector were sorted in
+   * ascending order, without sorting it. See {@link #kthSmallest(int[], int)}.
+   *
+   * @param v The vector to select from; not modified
+   * @param k The 0-based rank to select; 0 is the minimum
+   * @return The kth smallest element
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if k is outside [0, v.size())
+   */
+  public static int kthSmallest(ArrayList<Integer> v, int k) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    return kthSmallest(toIntArray(v), k);
+  }
+
+  /**
+   * Returns the median of an array. For an even length this is the mean of the two
+   * middle elements.
+   *
+   * @param a The array; not modified
+   * @return The median
+   * @throws NullPointerException if a is null
+   * @throws IllegalArgumentException if a is empty
+   */
+  public static double median(int[] a) {
+    if (a == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    if (a.length == 0) {
+      throw new IllegalArgumentException("Array cannot be empty");
+    }
+    int n = a.length;
+    int[] work = a.clone();
+    if (n % 2 == 1) {
+      select(work, 0, n - 1, n / 2);
+      return work[n / 2];
+    }
+    selectRanks(work, new int[] { n / 2 - 1, n / 2 });
+    return ((long) work[n / 2 - 1] + work[n / 2]) / 2.0;
+  }
+
+  /**
+   * Returns the median of a vector. See {@link #median(int[])}.
+   *
+   * @param v The vector; not modified
+   * @return The median
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if v is empty
+   */
+  public static double median(ArrayList<Integer> v) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    return median(toIntArray(v));
+  }
+
+  /**
+   * Returns the pth percentile of an array using the nearest-rank method: the
+   * smallest element such that at least p percent of the array is less than or equal
+   * to it. {@code percentile(a, 99)} is the p99, {@code percentile(a, 0)} the minimum.
+   *
+   * @param a The array; not modified
+   * @param p The percentile, in [0, 100]
+   * @return The pth percentile
+   * @throws NullPointerException if a is null
+   * @throws IllegalArgumentException if a is empty or p is outside [0, 100]
+   */
+  public static int percentile(int[] a, double p) {
+    return percentiles(a, p)[0];
+  }
+
+  /**
+   * Returns several nearest-rank percentiles of an array, such as p50, p90 and p99,
+   * in a single selection pass. See {@link #percentile(int[], double)}.
+   *
+   * <p>All requested ranks are found by one recursive partitioning: after each
+   * partition, only the sides that still contain a requested rank are visited. This
+   * costs little more than a single selection and far less than a full sort.</p>
+   *
+   * @param a  The array; not modified
+   * @param ps The percentiles, each in [0, 100], in any order
+   * @return The percentiles, in the order requested
+   * @throws NullPointerException if a or ps is null
+   * @throws IllegalArgumentException if a or ps is empty or any p is outside [0, 100]
+   */
+  public static int[] percentiles(int[] a, double... ps) {
+    if (a == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    if (ps == null) {
+      throw new NullPointerException("Percentiles cannot be null");
+    }
+    if (a.length == 0) {
+      throw new IllegalArgumentException("Array cannot be empty");
+    }
+    if (ps.length == 0) {
+      throw new IllegalArgumentException("At least one percentile is required");
+    }
+    int[] ranks = new int[ps.length];
+    for (int i = 0; i < ps.length; i++) {
+      if (!(ps[i] >= 0 && ps[i] <= 100)) {
+        throw new IllegalArgumentException("Percentile must be between 0 and 100, got: " + ps[i]);
+      }
+      ranks[i] = Math.max(0, (int) Math.ceil(ps[i] * a.length / 100) - 1);
+    }
+    int[] work = a.clone();
+    selectRanks(work, ranks);
+    int[] ret = new int[ranks.length];
+    for (int i = 0; i < ranks.length; i++) {
+      ret[i] = work[ranks[i]];
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the pth percentile of a vector. See {@link #percentile(int[], double)}.
+   *
+   * @param v The vector; not modified
+   * @param p The percentile, in [0, 100]
+   * @return The pth percentile
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if v is empty or p is outside [0, 100]
+   */
+  public static int percentile(ArrayList<Integer> v, double p) {
+    return percentiles(v, p)[0];
+  }
+
+  /**
+   * Returns several percentiles of a vector in one pass. See
+   * {@link #percentiles(int[], double...)}.
+   *
+   * @param v  The vector; not modified
+   * @param ps The percentiles, each in [0, 100], in any order
+   * @return The percentiles, in the order requested
+   * @throws NullPointerException if v or ps is null
+   * @throws IllegalArgumentException if v or ps is empty or any p is outside [0, 100]
+   */
+  public static int[] percentiles(ArrayList<Integer> v, double... ps) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    return percentiles(toIntArray(v), ps);
+  }
+
+  /**
+   * Places the k smallest elements of an array at its front in ascending order,
+   * leaving the remaining elements in unspecified order.
+   *
+   * <p>Selects the kth smallest element with introselect and then sorts only the
+   * first k positions, so the cost is O(n + k log k) rather than O(n log n).</p>
+   *
+   * @param a The array to be partially sorted in place
+   * @param k The number of leading positions to sort
+   * @throws NullPointerException if a is null
+   * @throws IllegalArgumentException if k is outside [0, a.length]
+   */
+  public static void partialSort(int[] a, int k) {
+    if (a == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkPrefix(k, a.length);
+    partialSortInPlace(a, k);
+  }
+
+  /**
+   * Places the k smallest elements of a vector at its front in ascending order,
+   * leaving the remaining elements in unspecified order. See
+   * {@link #partialSort(int[], int)}.
+   *
+   * @param v The vector to be partially sorted in place
+   * @param k The number of leading positions to sort
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if k is outside [0, v.size()]
+   */
+  public static void partialSort(ArrayList<Integer> v, int k) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    checkPrefix(k, v.size());
+    int[] work = toIntArray(v);
+    partialSortInPlace(work, k);
+    for (int i = 0; i < work.length; i++) {
+      v.set(i, work[i]);
+    }
+  }
+
+  private static void partialSortInPlace(int[] a, int k) {
+    if (k == 0) {
+      return;
+    }
+    if (k < a.length) {
+      select(a, 0, a.length - 1, k - 1);
+    }
+    sortRange(a, 0, k - 1);
+  }
+
+  private static void checkPrefix(int k, int length) {
+    if (k < 0 || k > length) {
+      throw new IllegalArgumentException("k must be between 0 and " + length + ", got: " + k);
+    }
+  }
+
+  /**
+   * Rearranges a so that every requested rank holds the element it would hold if a
+   * were sorted
+   */
+  private static void selectRanks(int[] a, int[] ranks) {
+    int[] sorted = ranks.clone();
+    Arrays.sort(sorted);
+    multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length - 1, depthLimit(a.length));
+  }
+
+  /**
+   * Places every rank in sortedRanks[rlo..rhi] within a[lo..hi], recursing only into
+   * partitions that still contain a requested rank
+   */
+  private static void multiSelect(int[] a, int lo, int hi, int[] sortedRanks, int rlo, int rhi,
+      int depth) {
+    while (rlo <= rhi && lo < hi) {
+      if (hi - lo < INSERTION_SORT_THRESHOLD || depth-- == 0) {
+        sortRange(a, lo, hi);
+        return;
+      }
+      long bounds = partition(a, lo, hi);
+      int lt = (int) (bounds >>> 32);
+      int gt = (int) bounds;
+      // Ranks inside [lt, gt] are already in place
+      int below = rlo;
+      while (below <= rhi && sortedRanks[below] < lt) {
+        below++;
+      }
+      int above = below;
+      while (above <= rhi && sortedRanks[above] <= gt) {
+        above++;
+      }
+      multiSelect(a, lo, lt - 1, sortedRanks, rlo, below - 1, depth);
+      lo = gt + 1;
+      rlo = above;
+    }
+  }
+
+  /**
+   * Rearranges a[lo..hi] so that a[k] holds the element it would hold if the range
+   * were sorted, with smaller-or-equal elements before it and greater-or-equal after
+   */
+  private static void select(int[] a, int lo, int hi, int k) {
+    int depth = depthLimit(hi - lo + 1);
+    while (lo < hi) {
+      if (hi - lo < INSERTION_SORT_THRESHOLD || depth-- == 0) {
+        sortRange(a, lo, hi);
+        return;
+      }
+      long bounds = partition(a, lo, hi);
+      int lt = (int) (bounds >>> 32);
+      int gt = (int) bounds;
+      if (k < lt) {
+        hi = lt - 1;
+      } else if (k > gt) {
+        lo = gt + 1;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Three-way partitions a[lo..hi] around a median-of-three pivot. On return
+   * a[lo..lt-1] &lt; pivot, a[lt..gt] == pivot and a[gt+1..hi] &gt; pivot.
+   *
+   * @return lt in the high 32 bits and gt in the low 32 bits
+   */
+  private static long partition(int[] a, int lo, int hi) {
+    int mid = lo + ((hi - lo) >>> 1);
+    int x = a[lo];
+    int y = a[mid];
+    int z = a[hi];
+    int pivot = x < y ? (y < z ? y : Math.max(x, z)) : (x < z ? x : Math.max(y, z));
+
+    int lt = lo;
+    int gt = hi;
+    int i = lo;
+    while (i <= gt) {
+      int value = a[i];
+      if (value < pivot) {
+        a[i++] = a[lt];
+        a[lt++] = value;
+      } else if (value > pivot) {
+        a[i] = a[gt];
+        a[gt--] = value;
+      } else {
+        i++;
+      }
+    }
+    return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Sorts a[lo..hi], using insertion sort for small ranges
+   */
+  private static void sortRange(int[] a, int lo, int hi) {
+    if (hi - lo >= INSERTION_SORT_THRESHOLD) {
+      Arrays.sort(a, lo, hi + 1);
+      return;
+    }
+    for (int i = lo + 1; i <= hi; i++) {
+      int value = a[i];
+      int j = i - 1;
+      while (j >= lo && a[j] > value) {
+        a[j + 1] = a[j];
+        j--;
+      }
+      a[j + 1] = value;
+    }
+  }
+
+  /**
+   * Number of partitioning rounds allowed before selection falls back to sorting
+   */
+  private static int depthLimit(int n) {
+    return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+  }
+
+  private static void checkRank(int k, int length) {
+    if (k < 0 || k >= length) {
+      throw new IllegalArgumentException("k must be between 0 and " + (length - 1) + ", got: " + k);
+    }
+  }
+
+  private static int[] toIntArray(ArrayList<Integer> v) {
+    int[] ret = new int[v.size()];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = v.get(i);
+    }
+    return ret;
+  }
+
+  /**
+   * Packs a key and its index so that signed long order is (key, index) order
+   */
+  private static long pack(int key, int index) {
+    return ((long) key << 32) | index;
+  }
+
+  /**
+   * Sorts packed (key, index) pairs and returns the indices in order
+   */
+  private static int[] unpackIndices(long[] packed) {
+    Arrays.sort(packed);
+    int[] perm = new int[packed.length];
+    for (int i = 0; i < perm.length; i++) {
+      perm[i] = (int) packed[i];
+    }
+    return perm;
+  }
+
+  private static void checkPermutationLength(int[] perm, int length) {
+    if (perm == null) {
+      throw new NullPointerException("Permutation cannot be null");
+    }
+    if (perm.length != length) {
+      throw new IllegalArgumentException(
+          "Permutation length (" + perm.length + ") must match array length (" + length + ")");
+    }
+  }
+
+  /**
+   * Merges the smaller of two partial heaps into the larger one
+   */
+  private static IntMinHeap mergeHeaps(IntMinHeap a, IntMinHeap b) {
+    if (a.size() < b.size()) {
+      b.offerAll(a);
+      return b;
+    }
+    a.offerAll(b);
+    return a;
+  }
+
+  /**
+   * Validates the arguments of a top-n selection the same way {@link #maxN} does
+   */
+  private static void checkTopN(int size, int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("n cannot be negative: " + n);
+    }
+    if (n == 0 || n > size) {
+      throw new IllegalArgumentException("n must be between 1 and vector size (" + size + "), got: " + n);
+    }
+  }
 }
 
@@ -0,0 +1,534 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An ordered multiset of primitive ints with rank and select queries.
+ *
+ * <p>Values are kept in a list of sorted blocks of at most {@value #BLOCK_CAPACITY}
+ * ints, with a Fenwick (binary indexed) tree over the block sizes. A value is located
+ * by binary search over the block maxima and then within its block, and the Fenwick
+ * tree turns a block index into a global rank and back, so every query touches one
+ * block plus O(log n) counters. Nothing is boxed.</p>
+ *
+ * <p><b>Performance:</b></p>
+ * <ul>
+ *   <li>{@link #add}, {@link #remove}: O(log n + B) when no block splits or merges,
+ *       B = block capacity. A split or merge also shifts the block array and rebuilds
+ *       the Fenwick tree, O(n/B). Splits happen at most once every B/2 inserts and each
+ *       merge undoes a split or a bulk-built block, so the amortized cost is
+ *       O(log n + B + n/B<sup>2</sup>).</li>
+ *   <li>{@link #rank}, {@link #select}, {@link #contains}, {@link #count}: O(log n)</li>
+ *   <li>{@link #min}, {@link #max}, {@link #size}: O(1)</li>
+ *   <li>Range iteration: O(log n) to find the start, then O(1) per element</li>
+ * </ul>
+ *
+ * <p>This replaces re-sorting a growing vector with {@link Sort#sortVector} or
+ * recomputing {@link Sort#maxN} after every small batch of appends: keep the values in
+ * a multiset and query it directly. Not thread-safe.</p>
+ */
+public final class SortedIntMultiset implements Iterable<Integer> {
+  static final int BLOCK_CAPACITY = 512;
+  /** Blocks built in bulk are filled to this size, leaving room for inserts */
+  private static final int BULK_FILL = BLOCK_CAPACITY * 3 / 4;
+
+  private int[][] blocks = new int[4][];
+  private int[] sizes = new int[4];
+  private int blockCount;
+  /** Fenwick tree over sizes, 1-based */
+  private int[] fenwick = new int[5];
+  private int size;
+
+  /**
+   * Creates an empty multiset
+   */
+  public SortedIntMultiset() {
+  }
+
+  /**
+   * Creates a multiset holding the given values
+   *
+   * @param values The initial values, in any order
+   * @throws NullPointerException if values is null
+   */
+  public SortedIntMultiset(int[] values) {
+    addAll(values);
+  }
+
+  /**
+   * Returns the number of values, counting duplicates
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the multiset holds no values
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Inserts a value
+   *
+   * @param value The value to insert
+   */
+  public void add(int value) {
+    if (blockCount == 0) {
+      int[] block = new int[BLOCK_CAPACITY];
+      block[0] = value;
+      insertBlock(0, block, 1);
+      rebuildFenwick();
+      size = 1;
+      return;
+    }
+    int b = Math.min(blockFor(value), blockCount - 1);
+    int[] block = blocks[b];
+    int n = sizes[b];
+    int pos = upperBound(block, n, value);
+    System.arraycopy(block, pos, block, pos + 1, n - pos);
+    block[pos] = value;
+    sizes[b] = n + 1;
+    size++;
+    if (n + 1 == BLOCK_CAPACITY) {
+      splitBlock(b);
+    } else {
+      fenwickAdd(b, 1);
+    }
+  }
+
+  /**
+   * Inserts every value in an array. Batches that are large relative to the multiset
+   * are merged in one pass instead of being inserted one at a time.
+   *
+   * @param values The values to insert, in any order
+   * @throws NullPointerException if values is null
+   */
+  public void addAll(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    if (!mergesBatch(values.length, size)) {
+      for (int value : values) {
+        add(value);
+      }
+      return;
+    }
+    int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int[] existing = toArray();
+    int[] merged = new int[existing.length + sorted.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < existing.length && j < sorted.length) {
+      merged[k++] = existing[i] <= sorted[j] ? existing[i++] : sorted[j++];
+    }
+    System.arraycopy(existing, i, merged, k, existing.length - i);
+    System.arraycopy(sorted, j, merged, k + existing.length - i, sorted.length - j);
+    rebuild(merged);
+  }
+
+  /**
+   * Returns true if inserting batch values into a multiset of size values is cheaper as
+   * one merge and rebuild than one at a time. An insert shifts about B/4 ints of its
+   * block on average, while a rebuild moves every value a few times, so merging only
+   * pays once the batch is around 4/B of the multiset's size.
+   */
+  static boolean mergesBatch(int batch, int size) {
+    return (long) batch * (BLOCK_CAPACITY / 4) >= size;
+  }
+
+  /**
+   * Removes one occurrence of a value
+   *
+   * @param value The value to remove
+   * @return true if an occurrence was found and removed
+   */
+  public boolean remove(int value) {
+    int b = blockFor(value);
+    if (b == blockCount) {
+      return false;
+    }
+    int[] block = blocks[b];
+    int n = sizes[b];
+    int pos = lowerBound(block, n, value);
+    if (pos == n || block[pos] != value) {
+      return false;
+    }
+    System.arraycopy(block, pos + 1, block, pos, n - pos - 1);
+    sizes[b] = n - 1;
+    size--;
+    if (n - 1 == 0) {
+      removeBlock(b);
+      rebuildFenwick();
+    } else if (b + 1 < blockCount && n - 1 + sizes[b + 1] <= BLOCK_CAPACITY / 2) {
+      // Fold sparse neighbours together so the block count stays proportional to size
+      System.arraycopy(blocks[b + 1], 0, block, n - 1, sizes[b + 1]);
+      sizes[b] += sizes[b + 1];
+      removeBlock(b + 1);
+      rebuildFenwick();
+    } else {
+      fenwickAdd(b, -1);
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if at least one occurrence of value is present
+   */
+  public boolean contains(int value) {
+    int b = blockFor(value);
+    if (b == blockCount) {
+      return false;
+    }
+    int pos = lowerBound(blocks[b], sizes[b], value);
+    return pos < sizes[b] && blocks[b][pos] == value;
+  }
+
+  /**
+   * Returns the number of occurrences of value
+   */
+  public int count(int value) {
+    return countInRange(value, value);
+  }
+
+  /**
+   * Returns the number of values strictly less than value
+   *
+   * @param value The value to rank
+   * @return The rank, in [0, size()]
+   */
+  public int rank(int value) {
+    int b = blockFor(value);
+    if (b == blockCount) {
+      return size;
+    }
+    return prefixSum(b) + lowerBound(blocks[b], sizes[b], value);
+  }
+
+  /**
+   * Returns the value at a 0-based position in ascending order
+   *
+   * @param k The position; 0 is the minimum
+   * @return The kth smallest value
+   * @throws IndexOutOfBoundsException if k is outside [0, size())
+   */
+  public int select(int k) {
+    if (k < 0 || k >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + k + " for size: " + size);
+    }
+    // Descend the Fenwick tree to the block holding position k
+    int b = 0;
+    int remaining = k;
+    for (int step = Integer.highestOneBit(blockCount); step > 0; step >>>= 1) {
+      int next = b + step;
+      if (next <= blockCount && fenwick[next] <= remaining) {
+        b = next;
+        remaining -= fenwick[next];
+      }
+    }
+    return blocks[b][remaining];
+  }
+
+  /**
+   * Returns the smallest value
+   *
+   * @throws NoSuchElementException if the multiset is empty
+   */
+  public int min() {
+    if (size == 0) {
+      throw new NoSuchElementException("Multiset is empty");
+    }
+    return blocks[0][0];
+  }
+
+  /**
+   * Returns the largest value
+   *
+   * @throws NoSuchElementException if the multiset is empty
+   */
+  public int max() {
+    if (size == 0) {
+      throw new NoSuchElementException("Multiset is empty");
+    }
+    return blocks[blockCount - 1][sizes[blockCount - 1] - 1];
+  }
+
+  /**
+   * Returns the number of values v with lo &lt;= v &lt;= hi
+   */
+  public int countInRange(int lo, int hi) {
+    if (lo > hi) {
+      return 0;
+    }
+    int below = rank(lo);
+    int upTo = hi == Integer.MAX_VALUE ? size : rank(hi + 1);
+    return upTo - below;
+  }
+
+  /**
+   * Passes every value v with lo &lt;= v &lt;= hi to action, in ascending order
+   *
+   * @param lo     The smallest value to visit (inclusive)
+   * @param hi     The largest value to visit (inclusive)
+   * @param action The consumer of each value
+   * @throws NullPointerException if action is null
+   */
+  public void forEachInRange(int lo, int hi, IntConsumer action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    PrimitiveIterator.OfInt it = rangeIterator(lo, hi);
+    while (it.hasNext()) {
+      action.accept(it.nextInt());
+    }
+  }
+
+  /**
+   * Returns an iterator over every value v with lo &lt;= v &lt;= hi, in ascending
+   * order. The iterator must not be used after the multiset is modified.
+   *
+   * @param lo The smallest value to visit (inclusive)
+   * @param hi The largest value to visit (inclusive)
+   * @return A primitive iterator over the range
+   */
+  public PrimitiveIterator.OfInt rangeIterator(int lo, int hi) {
+    int b = blockFor(lo);
+    int pos = b == blockCount ? 0 : lowerBound(blocks[b], sizes[b], lo);
+    return new RangeIterator(b, pos, hi);
+  }
+
+  /**
+   * Returns an iterator over every value in ascending order
+   */
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new RangeIterator(0, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns every value in ascending order
+   *
+   * @return A new sorted array of length {@link #size()}
+   */
+  public int[] toArray() {
+    int[] ret = new int[size];
+    int n = 0;
+    for (int b = 0; b < blockCount; b++) {
+      System.arraycopy(blocks[b], 0, ret, n, sizes[b]);
+      n += sizes[b];
+    }
+    return ret;
+  }
+
+  /**
+   * Returns every value as a vector in ascending order, the same result
+   * {@link Sort#sortVector} gives for the same values
+   *
+   * @return A new sorted vector
+   */
+  public ArrayList<Integer> toArrayList() {
+    ArrayList<Integer> ret = new ArrayList<>(size);
+    for (int b = 0; b < blockCount; b++) {
+      for (int i = 0; i < sizes[b]; i++) {
+        ret.add(blocks[b][i]);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the largest n values, the same result {@link Sort#maxN} gives for the same
+   * values
+   *
+   * @param n The number of values to return
+   * @return A vector of the largest n values, in descending order
+   * @throws IllegalArgumentException if n is negative or greater than size()
+   */
+  public ArrayList<Integer> maxN(int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("n cannot be negative: " + n);
+    }
+    if (n == 0 || n > size) {
+      throw new IllegalArgumentException("n must be between 1 and vector size (" + size + "), got: " + n);
+    }
+    ArrayList<Integer> ret = new ArrayList<>(n);
+    for (int b = blockCount - 1; b >= 0 && ret.size() < n; b--) {
+      for (int i = sizes[b] - 1; i >= 0 && ret.size() < n; i--) {
+        ret.add(blocks[b][i]);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Removes every value
+   */
+  public void clear() {
+    Arrays.fill(blocks, 0, blockCount, null);
+    blockCount = 0;
+    size = 0;
+    rebuildFenwick();
+  }
+
+  /**
+   * Returns the index of the first block whose largest value is &gt;= value, or
+   * blockCount if there is none
+   */
+  private int blockFor(int value) {
+    int lo = 0;
+    int hi = blockCount;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (blocks[mid][sizes[mid] - 1] < value) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  private static int lowerBound(int[] a, int n, int value) {
+    int lo = 0;
+    int hi = n;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (a[mid] < value) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  private static int upperBound(int[] a, int n, int value) {
+    int lo = 0;
+    int hi = n;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (a[mid] <= value) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Replaces the contents with an already sorted array
+   */
+  private void rebuild(int[] sorted) {
+    Arrays.fill(blocks, 0, blockCount, null);
+    blockCount = 0;
+    for (int from = 0; from < sorted.length; from += BULK_FILL) {
+      int n = Math.min(BULK_FILL, sorted.length - from);
+      int[] block = new int[BLOCK_CAPACITY];
+      System.arraycopy(sorted, from, block, 0, n);
+      insertBlock(blockCount, block, n);
+    }
+    size = sorted.length;
+    rebuildFenwick();
+  }
+
+  private void splitBlock(int b) {
+    int[] block = blocks[b];
+    int half = sizes[b] / 2;
+    int[] upper = new int[BLOCK_CAPACITY];
+    System.arraycopy(block, half, upper, 0, sizes[b] - half);
+    insertBlock(b + 1, upper, sizes[b] - half);
+    sizes[b] = half;
+    rebuildFenwick();
+  }
+
+  private void insertBlock(int index, int[] block, int blockSize) {
+    if (blockCount == blocks.length) {
+      blocks = Arrays.copyOf(blocks, blockCount * 2);
+      sizes = Arrays.copyOf(sizes, blockCount * 2);
+    }
+    System.arraycopy(blocks, index, blocks, index + 1, blockCount - index);
+    System.arraycopy(sizes, index, sizes, index + 1, blockCount - index);
+    blocks[index] = block;
+    sizes[index] = blockSize;
+    blockCount++;
+  }
+
+  private void removeBlock(int index) {
+    System.arraycopy(blocks, index + 1, blocks, index, blockCount - index - 1);
+    System.arraycopy(sizes, index + 1, sizes, index, blockCount - index - 1);
+    blockCount--;
+    blocks[blockCount] = null;
+  }
+
+  private void rebuildFenwick() {
+    if (fenwick.length < blockCount + 1) {
+      fenwick = new int[blocks.length + 1];
+    } else {
+      Arrays.fill(fenwick, 0);
+    }
+    for (int i = 1; i <= blockCount; i++) {
+      fenwick[i] += sizes[i - 1];
+      int parent = i + (i & -i);
+      if (parent <= blockCount) {
+        fenwick[parent] += fenwick[i];
+      }
+    }
+  }
+
+  private void fenwickAdd(int b, int delta) {
+    for (int i = b + 1; i <= blockCount; i += i & -i) {
+      fenwick[i] += delta;
+    }
+  }
+
+  /**
+   * Returns the number of values in blocks [0, b)
+   */
+  private int prefixSum(int b) {
+    int sum = 0;
+    for (int i = b; i > 0; i -= i & -i) {
+      sum += fenwick[i];
+    }
+    return sum;
+  }
+
+  /**
+   * Ascending iterator from (block, pos) up to and including hi
+   */
+  private final class RangeIterator implements PrimitiveIterator.OfInt {
+    private int block;
+    private int pos;
+    private final int hi;
+
+    RangeIterator(int block, int pos, int hi) {
+      this.block = block;
+      this.pos = pos;
+      this.hi = hi;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (block < blockCount && pos == sizes[block]) {
+        block++;
+        pos = 0;
+      }
+      return block < blockCount && blocks[block][pos] <= hi;
+    }
+
+    @Override
+    public int nextInt() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return blocks[block][pos++];
+    }
+  }
+}
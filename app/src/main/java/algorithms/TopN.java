@@ -0,0 +1,164 @@
+package algorithms;
+
+import java.util.ArrayList;
+
+/**
+ * Streaming accumulator of the largest n ints seen so far.
+ *
+ * <p>Values are fed one at a time or in batches and kept in a bounded primitive heap,
+ * so memory stays at n ints however long the stream runs. A snapshot of the current
+ * top n can be taken at any time without disturbing the accumulator.</p>
+ *
+ * <p>Accumulators are not thread-safe. To spread the work across threads, give each
+ * shard its own accumulator and {@link #merge(TopN)} them at the end.</p>
+ */
+public final class TopN {
+  private final IntMinHeap heap;
+  private long count;
+
+  /**
+   * Creates an empty accumulator
+   *
+   * @param n The number of largest values to keep
+   * @throws IllegalArgumentException if n is not positive
+   */
+  public TopN(int n) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("n must be positive: " + n);
+    }
+    this.heap = new IntMinHeap(n);
+  }
+
+  /**
+   * Offers a single value
+   *
+   * @param value The value to offer
+   */
+  public void add(int value) {
+    heap.offer(value);
+    count++;
+  }
+
+  /**
+   * Offers every value in a batch
+   *
+   * @param values The values to offer
+   * @throws NullPointerException if values is null
+   */
+  public void addAll(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Offers {@code values[from, to)}
+   *
+   * @param values The batch to read from
+   * @param from   The first index to offer (inclusive)
+   * @param to     The last index to offer (exclusive)
+   * @throws NullPointerException if values is null
+   * @throws IndexOutOfBoundsException if the range is out of bounds
+   */
+  public void addAll(int[] values, int from, int to) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    if (from < 0 || to > values.length || from > to) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + from + ", " + to + ") out of bounds for length: " + values.length);
+    }
+    heap.offerAll(values, from, to);
+    count += to - from;
+  }
+
+  /**
+   * Folds another accumulator into this one. The other accumulator is left unchanged.
+   *
+   * @param other The accumulator to merge
+   * @return this accumulator
+   * @throws NullPointerException if other is null
+   * @throws IllegalArgumentException if other is this accumulator, or keeps a different
+   *                                  number of values; a shard with a smaller n may
+   *                                  already have dropped values of the combined top n
+   */
+  public TopN merge(TopN other) {
+    if (other == null) {
+      throw new NullPointerException("TopN cannot be null");
+    }
+    if (other == this) {
+      throw new IllegalArgumentException("Cannot merge an accumulator into itself");
+    }
+    if (other.n() != n()) {
+      throw new IllegalArgumentException(
+          "Cannot merge an accumulator with n: " + other.n() + " into one with n: " + n());
+    }
+    heap.offerAll(other.heap);
+    count += other.count;
+    return this;
+  }
+
+  /**
+   * Returns the number of largest values this accumulator keeps
+   */
+  public int n() {
+    return heap.capacity();
+  }
+
+  /**
+   * Returns the number of values currently held, which is min(n, count())
+   */
+  public int size() {
+    return heap.size();
+  }
+
+  /**
+   * Returns the total number of values offered, including merged accumulators
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Returns the smallest value currently in the top n. Once the accumulator is full,
+   * only values greater than this can still change the result.
+   *
+   * @return the smallest retained value
+   * @throws IllegalStateException if no value has been offered
+   */
+  public int threshold() {
+    return heap.peek();
+  }
+
+  /**
+   * Returns the current top values
+   *
+   * @return A new array of the retained values, in descending order
+   */
+  public int[] snapshot() {
+    return heap.toSortedDescending();
+  }
+
+  /**
+   * Returns the current top values as a vector, in the same form as {@link Sort#maxN}
+   *
+   * @return A new vector of the retained values, in descending order
+   */
+  public ArrayList<Integer> toArrayList() {
+    int[] top = heap.toSortedDescending();
+    ArrayList<Integer> ret = new ArrayList<>(top.length);
+    for (int value : top) {
+      ret.add(value);
+    }
+    return ret;
+  }
+
+  /**
+   * Discards every value, keeping the configured n
+   */
+  public void clear() {
+    heap.clear();
+    count = 0;
+  }
+}
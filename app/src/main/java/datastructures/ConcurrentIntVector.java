@@ -0,0 +1,190 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed-capacity vector of ints that many threads can append to at once, sealed into
+ * an {@link IntVector} when filling is done.
+ *
+ * <p>All elements live in one array. A thread appends into its own block of
+ * {@value #DEFAULT_BLOCK_SIZE} slots, reserved by a compare-and-set on a shared tail
+ * index, so producers touch shared state only once per block and never lock or write
+ * to the same slot. {@link #addAll} reserves the slots it needs in one step.
+ * Slots reserved by a thread are only usable by that thread, so a full vector may hold
+ * up to {@code blockSize - 1} fewer elements per producer than its capacity; size it
+ * with that much headroom.</p>
+ *
+ * <p>{@link #seal} closes the gaps left by partly filled blocks and hands the array to
+ * a new IntVector without copying it, so ownership of the array passes to the caller:
+ * after sealing, every append throws and this vector never writes to the array again.
+ * Each thread's elements keep their relative order; elements from different threads
+ * are ordered by when their blocks were reserved.
+ * Every append must happen-before the call to seal, for example by joining the
+ * producer threads or awaiting their executor's termination.</p>
+ */
+public final class ConcurrentIntVector {
+  static final int DEFAULT_BLOCK_SIZE = 256;
+
+  /** A run of reserved slots owned by one thread; pos is the next slot to write */
+  private static final class Block {
+    final int start;
+    final int end;
+    int pos;
+
+    Block(int start, int end) {
+      this.start = start;
+      this.end = end;
+      this.pos = start;
+    }
+  }
+
+  private final int[] elements;
+  private final int blockSize;
+  private final AtomicInteger tail = new AtomicInteger();
+  private final ThreadLocal<Block> current = new ThreadLocal<>();
+  private final ConcurrentLinkedQueue<Block> blocks = new ConcurrentLinkedQueue<>();
+  private volatile boolean sealed;
+
+  /**
+   * Creates an empty vector that can hold up to capacity elements
+   *
+   * @param capacity the maximum number of elements
+   * @throws IllegalArgumentException if capacity is negative
+   */
+  public ConcurrentIntVector(int capacity) {
+    this(capacity, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Creates an empty vector with a given block size, so tests can exercise block
+   * boundaries with few elements
+   */
+  ConcurrentIntVector(int capacity, int blockSize) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+    }
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+    }
+    this.elements = new int[capacity];
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * Returns the maximum number of elements
+   */
+  public int capacity() {
+    return elements.length;
+  }
+
+  /**
+   * Returns true once {@link #seal} has been called
+   */
+  public boolean isSealed() {
+    return sealed;
+  }
+
+  /**
+   * Appends a value into the calling thread's block, reserving a new block when it is
+   * full
+   *
+   * @param value the value to append
+   * @throws IllegalStateException if the vector is full or sealed
+   */
+  public void add(int value) {
+    checkNotSealed();
+    Block block = current.get();
+    if (block == null || block.pos == block.end) {
+      block = reserve(blockSize, false);
+      current.set(block);
+    }
+    elements[block.pos++] = value;
+  }
+
+  /**
+   * Appends every value in an array: the first values fill the rest of the calling
+   * thread's block and the others go into one run reserved in a single step. If they do
+   * not fit, nothing is appended.
+   *
+   * @param values the values to append
+   * @throws NullPointerException if values is null
+   * @throws IllegalStateException if the values do not fit or the vector is sealed
+   */
+  public void addAll(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    checkNotSealed();
+    Block block = current.get();
+    int head = block == null ? 0 : Math.min(values.length, block.end - block.pos);
+    int rest = values.length - head;
+    Block run = rest == 0 ? null : reserve(rest, true);
+    if (head > 0) {
+      System.arraycopy(values, 0, elements, block.pos, head);
+      block.pos += head;
+    }
+    if (run != null) {
+      System.arraycopy(values, head, elements, run.start, rest);
+      run.pos = run.end;
+      current.set(run);
+    }
+  }
+
+  /**
+   * Compacts the appended elements to the front of the array and returns them as an
+   * IntVector that takes ownership of the array. The vector accepts no more appends and
+   * keeps no way to write to the array.
+   *
+   * @return a new IntVector of every appended element, backed by this vector's array,
+   *     which now belongs to the caller
+   * @throws IllegalStateException if the vector is already sealed
+   */
+  public IntVector seal() {
+    checkNotSealed();
+    sealed = true;
+    List<Block> reserved = new ArrayList<>(blocks);
+    reserved.sort((x, y) -> Integer.compare(x.start, y.start));
+    int size = 0;
+    for (Block block : reserved) {
+      int length = block.pos - block.start;
+      if (block.start != size) {
+        System.arraycopy(elements, block.start, elements, size, length);
+      }
+      size += length;
+      // Leave no free slots, so a stale thread-local block cannot write into the array
+      block.pos = block.end;
+    }
+    blocks.clear();
+    return new IntVector(elements, size);
+  }
+
+  /**
+   * Reserves up to want slots, or exactly want if exact is set, by advancing the tail
+   * with compare-and-set
+   */
+  private Block reserve(int want, boolean exact) {
+    while (true) {
+      checkNotSealed();
+      int start = tail.get();
+      int free = elements.length - start;
+      if (free == 0 || (exact && free < want)) {
+        throw new IllegalStateException("Vector is full: capacity " + elements.length);
+      }
+      int end = start + Math.min(want, free);
+      if (tail.compareAndSet(start, end)) {
+        Block block = new Block(start, end);
+        blocks.add(block);
+        return block;
+      }
+    }
+  }
+
+  private void checkNotSealed() {
+    if (sealed) {
+      throw new IllegalStateException("Vector is sealed");
+    }
+  }
+}
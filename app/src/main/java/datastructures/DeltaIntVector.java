@@ -0,0 +1,263 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A read-only vector of sorted ints compressed as varint-encoded deltas.
+ *
+ * <p>Elements are split into blocks of {@value #BLOCK_SIZE}. A skip index stores each
+ * block's first value and byte offset; the rest of the block is stored as the gaps
+ * between consecutive values, 7 bits per byte with a continuation bit (LEB128), so
+ * dense sorted data such as sorted {@code GenVector.generateVector(n, m)} output takes
+ * about one byte per element.</p>
+ *
+ * <p>{@link #get} decodes at most one block. Because the data is sorted,
+ * {@link #countMatches}, {@link #searchVector} and {@link #contains} binary-search the
+ * skip index and scan only the block that can hold the target, without allocating.</p>
+ */
+public final class DeltaIntVector implements IntSequence {
+  static final int BLOCK_SIZE = 128;
+  private static final int BLOCK_SHIFT = 7;
+
+  private final int size;
+  private final int[] blockFirst;
+  private final int[] blockOffset;
+  private final byte[] bytes;
+
+  private DeltaIntVector(int size, int[] blockFirst, int[] blockOffset, byte[] bytes) {
+    this.size = size;
+    this.blockFirst = blockFirst;
+    this.blockOffset = blockOffset;
+    this.bytes = bytes;
+  }
+
+  /**
+   * Compresses a sorted array of ints
+   *
+   * @param sorted the values to compress, in ascending order; not modified
+   * @return a new delta-encoded vector with the same elements
+   * @throws NullPointerException if sorted is null
+   * @throws IllegalArgumentException if sorted is not in ascending order
+   */
+  public static DeltaIntVector encode(int[] sorted) {
+    if (sorted == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    int n = sorted.length;
+    int blocks = (n + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    int[] blockFirst = new int[blocks];
+    int[] blockOffset = new int[blocks];
+    byte[] out = new byte[Math.max(16, n)];
+    int len = 0;
+    for (int i = 0; i < n; i++) {
+      // Checked before the block-start branch so a drop across blocks is caught too
+      if (i > 0 && sorted[i] < sorted[i - 1]) {
+        throw new IllegalArgumentException("Array is not sorted at index: " + i);
+      }
+      if ((i & (BLOCK_SIZE - 1)) == 0) {
+        blockFirst[i >>> BLOCK_SHIFT] = sorted[i];
+        blockOffset[i >>> BLOCK_SHIFT] = len;
+        continue;
+      }
+      long gap = (long) sorted[i] - sorted[i - 1];
+      if (len + 5 > out.length) {
+        out = Arrays.copyOf(out, out.length + (out.length >> 1) + 5);
+      }
+      while (gap >= 0x80) {
+        out[len++] = (byte) (gap | 0x80);
+        gap >>>= 7;
+      }
+      out[len++] = (byte) gap;
+    }
+    return new DeltaIntVector(n, blockFirst, blockOffset, Arrays.copyOf(out, len));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + index + " for size: " + size);
+    }
+    int b = index >>> BLOCK_SHIFT;
+    long value = blockFirst[b];
+    int pos = blockOffset[b];
+    for (int i = index & (BLOCK_SIZE - 1); i > 0; i--) {
+      long gap = 0;
+      int shift = 0;
+      byte next;
+      do {
+        next = bytes[pos++];
+        gap |= (long) (next & 0x7F) << shift;
+        shift += 7;
+      } while (next < 0);
+      value += gap;
+    }
+    return (int) value;
+  }
+
+  /**
+   * Returns the number of blocks
+   */
+  public int blockCount() {
+    return blockFirst.length;
+  }
+
+  /**
+   * Decodes one block
+   *
+   * @param block the block to decode
+   * @param out   the array to write the block's elements to, starting at index 0; must
+   *              hold at least {@value #BLOCK_SIZE} ints
+   * @return the number of elements written
+   * @throws IndexOutOfBoundsException if block is outside [0, blockCount())
+   * @throws NullPointerException if out is null
+   * @throws IllegalArgumentException if out is shorter than {@value #BLOCK_SIZE}
+   */
+  public int decodeBlock(int block, int[] out) {
+    if (block < 0 || block >= blockFirst.length) {
+      throw new IndexOutOfBoundsException(
+          "Block out of bounds: " + block + " for count: " + blockFirst.length);
+    }
+    if (out == null) {
+      throw new NullPointerException("Output array cannot be null");
+    }
+    if (out.length < BLOCK_SIZE) {
+      throw new IllegalArgumentException("Output array too small, got length: " + out.length);
+    }
+    int length = Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+    long value = blockFirst[block];
+    int pos = blockOffset[block];
+    out[0] = (int) value;
+    for (int i = 1; i < length; i++) {
+      long gap = 0;
+      int shift = 0;
+      byte next;
+      do {
+        next = bytes[pos++];
+        gap |= (long) (next & 0x7F) << shift;
+        shift += 7;
+      } while (next < 0);
+      value += gap;
+      out[i] = (int) value;
+    }
+    return length;
+  }
+
+  /**
+   * Counts the instances of n by locating the range of equal values
+   *
+   * @param n the value to count
+   * @return the number of indices where n was found
+   */
+  public int countMatches(int n) {
+    return lowerBound(n + 1L) - lowerBound(n);
+  }
+
+  /**
+   * Returns true if n is present
+   *
+   * @param n the value to look for
+   * @return true if at least one element equals n
+   */
+  public boolean contains(int n) {
+    return countMatches(n) > 0;
+  }
+
+  /**
+   * Searches the vector for all instances of n
+   *
+   * @param n the value to search for
+   * @return An IntVector of all indices where n was found, which are consecutive
+   */
+  public IntVector searchVector(int n) {
+    int from = lowerBound(n);
+    int to = lowerBound(n + 1L);
+    int[] indices = new int[to - from];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = from + i;
+    }
+    return new IntVector(indices, indices.length);
+  }
+
+  /**
+   * Returns the sum of the elements, decoding one block at a time
+   *
+   * @return the sum as a long
+   */
+  public long sum() {
+    long sum = 0;
+    int[] block = new int[BLOCK_SIZE];
+    for (int b = 0; b < blockFirst.length; b++) {
+      int length = decodeBlock(b, block);
+      for (int i = 0; i < length; i++) {
+        sum += block[i];
+      }
+    }
+    return sum;
+  }
+
+  @Override
+  public int[] toArray() {
+    int[] ret = new int[size];
+    int[] block = new int[BLOCK_SIZE];
+    for (int b = 0; b < blockFirst.length; b++) {
+      int length = decodeBlock(b, block);
+      System.arraycopy(block, 0, ret, b << BLOCK_SHIFT, length);
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the approximate number of bytes used by the deltas and the skip index
+   */
+  public long compressedBytes() {
+    return bytes.length + (long) blockFirst.length * 2 * Integer.BYTES;
+  }
+
+  /**
+   * Returns the index of the first element &gt;= key, or size if there is none. The
+   * key is a long so that {@code Integer.MAX_VALUE + 1} can be searched for.
+   */
+  private int lowerBound(long key) {
+    // Last block whose first value is < key; the answer lies in it or at the next block
+    int lo = 0;
+    int hi = blockFirst.length - 1;
+    int block = -1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      if (blockFirst[mid] < key) {
+        block = mid;
+        lo = mid + 1;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    if (block < 0) {
+      return 0;
+    }
+    // Walk the block's varints in place, stopping at the first value >= key
+    int length = Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+    long value = blockFirst[block];
+    int pos = blockOffset[block];
+    int i = 1;
+    for (; i < length; i++) {
+      long gap = 0;
+      int shift = 0;
+      byte next;
+      do {
+        next = bytes[pos++];
+        gap |= (long) (next & 0x7F) << shift;
+        shift += 7;
+      } while (next < 0);
+      value += gap;
+      if (value >= key) {
+        break;
+      }
+    }
+    return (block << BLOCK_SHIFT) + i;
+  }
+}
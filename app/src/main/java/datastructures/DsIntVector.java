@@ -0,0 +1,561 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link DsVector} operations on {@link IntVector}.
+ *
+ * <p>Each method has the same name and semantics as its {@code ArrayList<Integer>}
+ * counterpart in {@link DsVector}, but works on primitive storage: loops run over the
+ * backing array and results are allocated once at their final size. The methods live
+ * here rather than as {@link DsVector} overloads so existing calls such as
+ * {@code DsVector.sortVector(null)} stay unambiguous.</p>
+ */
+public final class DsIntVector {
+  /**
+   * Vectors longer than this are transformed in parallel chunks of this size on the
+   * common fork/join pool
+   */
+  private static final int PARALLEL_CHUNK_SIZE = 1 << 17;
+
+  private DsIntVector() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Adds 1 to each element of the IntVector
+   *
+   * @param v the IntVector to be incremented
+   * @return the incremented IntVector
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector modifyVector(IntVector v) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    for (int i = 0; i < size; i++) {
+      a[i]++;
+    }
+    v.markModified();
+    return v;
+  }
+
+  /**
+   * Searches the IntVector for all instances of n
+   *
+   * @param v the IntVector to be searched
+   * @param n the value to search for
+   * @return An IntVector of all indices where n was found
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector searchVector(IntVector v, int n) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    IntVector indices = new IntVector();
+    for (int i = 0; i < size; i++) {
+      if (a[i] == n) {
+        indices.add(i);
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Counts the instances of n in the IntVector without allocating
+   *
+   * <p>The loop body has no data-dependent branch (the comparison compiles to a
+   * conditional set), so its cost does not depend on how often n occurs.</p>
+   *
+   * @param v the IntVector to be searched
+   * @param n the value to count
+   * @return the number of indices where n was found
+   * @throws NullPointerException if v is null
+   */
+  public static int countMatches(IntVector v, int n) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      count += a[i] == n ? 1 : 0;
+    }
+    return count;
+  }
+
+  /**
+   * Searches the IntVector for the first k instances of n, stopping at the k-th match
+   *
+   * @param v the IntVector to be searched
+   * @param n the value to search for
+   * @param k the maximum number of indices to return
+   * @return An IntVector of at most k indices where n was found, in ascending order
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if k is negative
+   */
+  public static IntVector searchFirst(IntVector v, int n, int k) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    if (k < 0) {
+      throw new IllegalArgumentException("k cannot be negative: " + k);
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    IntVector indices = new IntVector(Math.min(k, 16));
+    for (int i = 0; i < size && indices.size() < k; i++) {
+      if (a[i] == n) {
+        indices.add(i);
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Marks every instance of n in a caller-supplied bitmap, with the same layout and
+   * reuse rules as {@link DsVector#searchBitmap}
+   *
+   * @param v    the IntVector to be searched
+   * @param n    the value to search for
+   * @param bits the bitmap to overwrite
+   * @return the number of indices where n was found
+   * @throws NullPointerException if v or bits is null
+   * @throws IllegalArgumentException if bits has fewer than ceil(size / 64) words
+   */
+  public static int searchBitmap(IntVector v, int n, long[] bits) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    DsVector.checkBitmap(bits, size);
+    int count = 0;
+    for (int base = 0; base < size; base += 64) {
+      int end = Math.min(base + 64, size);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        word |= (a[i] == n ? 1L : 0L) << i;
+      }
+      bits[base >>> 6] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Searches the IntVector for all instances of n and returns the indices as a
+   * compressed bitmap; see {@link DsVector#searchRoaring}
+   *
+   * @param v the IntVector to be searched
+   * @param n the value to search for
+   * @return a new bitmap of all indices where n was found
+   * @throws NullPointerException if v is null
+   */
+  public static RoaringBitmap searchRoaring(IntVector v, int n) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    return RoaringBitmap.collect(v.size(), i -> a[i] == n);
+  }
+
+  /**
+   * Sorts the IntVector in ascending order
+   *
+   * @param v the IntVector to be sorted
+   * @return a new sorted IntVector
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector sortVector(IntVector v) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] ret = v.toArray();
+    Arrays.sort(ret);
+    return new IntVector(ret, ret.length);
+  }
+
+  /**
+   * Reverses the IntVector
+   *
+   * @param v the IntVector to be reversed
+   * @return a new reversed IntVector
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector reverseVector(IntVector v) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    int[] ret = new int[size];
+    for (int i = 0; i < size; i++) {
+      ret[i] = a[size - 1 - i];
+    }
+    return new IntVector(ret, size);
+  }
+
+  /**
+   * Rotates the IntVector by n
+   *
+   * @param v the IntVector to be rotated
+   * @param n the number of times to rotate the IntVector
+   * @return a new rotated IntVector
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if n is negative or n >= size
+   */
+  public static IntVector rotateVector(IntVector v, int n) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    if (n < 0) {
+      throw new IllegalArgumentException("Rotation amount cannot be negative, got: " + n);
+    }
+    if (v.size() > 0 && n >= v.size()) {
+      throw new IllegalArgumentException(
+          "Rotation amount must be less than size, got: " + n + " for size: " + v.size());
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    int[] ret = new int[size];
+    if (size > 0) {
+      System.arraycopy(a, n, ret, 0, size - n);
+      System.arraycopy(a, 0, ret, size - n, n);
+    }
+    return new IntVector(ret, size);
+  }
+
+  /**
+   * Reverses the IntVector in place by swapping elements from both ends
+   *
+   * @param v the IntVector to be reversed
+   * @return v
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector reverseInPlace(IntVector v) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    reverseRange(v.elements(), 0, v.size());
+    v.markModified();
+    return v;
+  }
+
+  /**
+   * Rotates the IntVector left by n in place, with the same rules as
+   * {@link DsVector#rotateInPlace}: three reversals, no second array, and n
+   * normalized modulo size
+   *
+   * @param v the IntVector to be rotated
+   * @param n the rotation amount; negative values rotate right
+   * @return v
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector rotateInPlace(IntVector v, long n) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    int[] a = v.elements();
+    int size = v.size();
+    if (size == 0) {
+      return v;
+    }
+    int shift = (int) Math.floorMod(n, (long) size);
+    if (shift != 0) {
+      reverseRange(a, 0, shift);
+      reverseRange(a, shift, size);
+      reverseRange(a, 0, size);
+      v.markModified();
+    }
+    return v;
+  }
+
+  /**
+   * Shuffles the IntVector in place with a Fisher-Yates shuffle over its backing
+   * array, driven by the given random source so a seeded source gives a reproducible
+   * order. Nothing is allocated.
+   *
+   * @param v      the IntVector to be shuffled
+   * @param random the source of randomness
+   * @return v
+   * @throws NullPointerException if v or random is null
+   */
+  public static IntVector shuffleInPlace(IntVector v, SplittableRandom random) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    if (random == null) {
+      throw new NullPointerException("Random cannot be null");
+    }
+    int[] a = v.elements();
+    for (int i = v.size() - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = a[i];
+      a[i] = a[j];
+      a[j] = tmp;
+    }
+    v.markModified();
+    return v;
+  }
+
+  /**
+   * Merges two IntVectors
+   *
+   * @param v1 the first IntVector to be merged
+   * @param v2 the second IntVector to be merged
+   * @return a new IntVector holding v1 followed by v2
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector mergeVectors(IntVector v1, IntVector v2) {
+    if (v1 == null) {
+      throw new NullPointerException("First IntVector cannot be null");
+    }
+    if (v2 == null) {
+      throw new NullPointerException("Second IntVector cannot be null");
+    }
+    IntVector ret = new IntVector(v1.size() + v2.size());
+    ret.addAll(v1);
+    ret.addAll(v2);
+    return ret;
+  }
+
+  /**
+   * Adds a constant to each element of the IntVector in place. Overflow wraps, as
+   * with int arithmetic.
+   *
+   * <p>The bulk transforms ({@code addToVector}, {@code multiplyVector},
+   * {@code clampVector}, {@code mapVector}) run a plain counted loop over the backing
+   * array, which the JIT compiles to SIMD instructions for the arithmetic cases, and
+   * split vectors of more than {@value #PARALLEL_CHUNK_SIZE} elements across the common
+   * fork/join pool.</p>
+   *
+   * @param v     the IntVector to be modified
+   * @param delta the value to add
+   * @return v
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector addToVector(IntVector v, int delta) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    forEachChunk(v, (a, from, to) -> {
+      for (int i = from; i < to; i++) {
+        a[i] += delta;
+      }
+    });
+    return v;
+  }
+
+  /**
+   * Multiplies each element of the IntVector by a constant in place. Overflow wraps,
+   * as with int arithmetic.
+   *
+   * @param v      the IntVector to be modified
+   * @param factor the value to multiply by
+   * @return v
+   * @throws NullPointerException if v is null
+   */
+  public static IntVector multiplyVector(IntVector v, int factor) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    forEachChunk(v, (a, from, to) -> {
+      for (int i = from; i < to; i++) {
+        a[i] *= factor;
+      }
+    });
+    return v;
+  }
+
+  /**
+   * Clamps each element of the IntVector into [min, max] in place
+   *
+   * @param v   the IntVector to be modified
+   * @param min the smallest allowed value
+   * @param max the largest allowed value
+   * @return v
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if min &gt; max
+   */
+  public static IntVector clampVector(IntVector v, int min, int max) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    if (min > max) {
+      throw new IllegalArgumentException("min (" + min + ") cannot be greater than max (" + max + ")");
+    }
+    forEachChunk(v, (a, from, to) -> {
+      for (int i = from; i < to; i++) {
+        a[i] = Math.min(Math.max(a[i], min), max);
+      }
+    });
+    return v;
+  }
+
+  /**
+   * Replaces each element of the IntVector with the result of an operator, in place
+   *
+   * @param v  the IntVector to be modified
+   * @param op the operator to apply; must be stateless, as large vectors apply it from
+   *           several threads
+   * @return v
+   * @throws NullPointerException if v or op is null
+   */
+  public static IntVector mapVector(IntVector v, IntUnaryOperator op) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    if (op == null) {
+      throw new NullPointerException("Operator cannot be null");
+    }
+    forEachChunk(v, (a, from, to) -> {
+      for (int i = from; i < to; i++) {
+        a[i] = op.applyAsInt(a[i]);
+      }
+    });
+    return v;
+  }
+
+  /**
+   * Merges two sorted IntVectors, keeping each value as many times as it occurs in
+   * whichever has more of it. Gallops through the longer vector when one is much
+   * shorter.
+   *
+   * @param v1 the first IntVector, sorted in ascending order
+   * @param v2 the second IntVector, sorted in ascending order
+   * @return a new sorted IntVector; unspecified if either input is not sorted
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector unionSortedVectors(IntVector v1, IntVector v2) {
+    checkPair(v1, v2);
+    return IntSetOps.unionSorted(v1.elements(), v1.size(), v2.elements(), v2.size());
+  }
+
+  /**
+   * Intersects two sorted IntVectors, keeping each value as many times as it occurs in
+   * both. Gallops through the longer vector when one is much shorter.
+   *
+   * @param v1 the first IntVector, sorted in ascending order
+   * @param v2 the second IntVector, sorted in ascending order
+   * @return a new sorted IntVector; unspecified if either input is not sorted
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector intersectSortedVectors(IntVector v1, IntVector v2) {
+    checkPair(v1, v2);
+    return IntSetOps.intersectSorted(v1.elements(), v1.size(), v2.elements(), v2.size());
+  }
+
+  /**
+   * Removes one occurrence of a value from a sorted IntVector for each occurrence in
+   * another. Gallops through the longer vector when one is much shorter.
+   *
+   * @param v1 the IntVector to remove from, sorted in ascending order
+   * @param v2 the values to remove, sorted in ascending order
+   * @return a new sorted IntVector; unspecified if either input is not sorted
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector differenceSortedVectors(IntVector v1, IntVector v2) {
+    checkPair(v1, v2);
+    return IntSetOps.differenceSorted(v1.elements(), v1.size(), v2.elements(), v2.size());
+  }
+
+  /**
+   * Returns the distinct values of two IntVectors in any order, using a primitive hash
+   * set
+   *
+   * @param v1 the first IntVector
+   * @param v2 the second IntVector
+   * @return a new IntVector of the distinct values of v1 and then those only in v2, in
+   *         order of first appearance
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector unionVectors(IntVector v1, IntVector v2) {
+    checkPair(v1, v2);
+    return IntSetOps.unionHashed(v1.elements(), v1.size(), v2.elements(), v2.size());
+  }
+
+  /**
+   * Returns the distinct values found in both of two IntVectors in any order, using a
+   * primitive hash set
+   *
+   * @param v1 the first IntVector
+   * @param v2 the second IntVector
+   * @return a new IntVector of the distinct values of v1 that are in v2, in order of
+   *         first appearance in v1
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector intersectVectors(IntVector v1, IntVector v2) {
+    checkPair(v1, v2);
+    return IntSetOps.intersectHashed(v1.elements(), v1.size(), v2.elements(), v2.size());
+  }
+
+  /**
+   * Returns the distinct values of one IntVector that are not in another, in any
+   * order, using a primitive hash set
+   *
+   * @param v1 the IntVector to take values from
+   * @param v2 the values to exclude
+   * @return a new IntVector of the distinct values of v1 that are not in v2, in order
+   *         of first appearance in v1
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntVector differenceVectors(IntVector v1, IntVector v2) {
+    checkPair(v1, v2);
+    return IntSetOps.differenceHashed(v1.elements(), v1.size(), v2.elements(), v2.size());
+  }
+
+  /**
+   * Reverses {@code a[from, to)} in place
+   */
+  private static void reverseRange(int[] a, int from, int to) {
+    for (int i = from, j = to - 1; i < j; i++, j--) {
+      int tmp = a[i];
+      a[i] = a[j];
+      a[j] = tmp;
+    }
+  }
+
+  private static void checkPair(IntVector v1, IntVector v2) {
+    if (v1 == null) {
+      throw new NullPointerException("First IntVector cannot be null");
+    }
+    if (v2 == null) {
+      throw new NullPointerException("Second IntVector cannot be null");
+    }
+  }
+
+  /**
+   * Runs a kernel over the elements of v, in parallel chunks if v is large
+   */
+  private static void forEachChunk(IntVector v, RangeKernel kernel) {
+    v.markModified();
+    int[] a = v.elements();
+    int size = v.size();
+    if (size <= PARALLEL_CHUNK_SIZE) {
+      kernel.apply(a, 0, size);
+      return;
+    }
+    int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int from = c * PARALLEL_CHUNK_SIZE;
+      kernel.apply(a, from, Math.min(from + PARALLEL_CHUNK_SIZE, size));
+    });
+  }
+
+  /**
+   * A loop body over {@code a[from, to)}
+   */
+  @FunctionalInterface
+  private interface RangeKernel {
+    void apply(int[] a, int from, int to);
+  }
+}
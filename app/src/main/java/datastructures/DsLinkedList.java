@@ -2,6 +2,8 @@ package datastructures;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.SplittableRandom;
 
 public final class DsLinkedList {
   private DsLinkedList() {
@@ -24,6 +26,43 @@ public final class DsLinkedList {
     return new LinkedList<>(tmp);
   }
 
+  /**
+   * Shuffles a linked list in place with a Fisher-Yates shuffle driven by the given
+   * random source, so a seeded source gives a reproducible order.
+   *
+   * <p>The element references are copied into one array, shuffled there, and written
+   * back through a list iterator. No nodes or Integers are created: the only
+   * allocation is the array, where {@link #shuffle} copies into an ArrayList and
+   * builds a new list.</p>
+   *
+   * @param l      the linked list to be shuffled
+   * @param random the source of randomness
+   * @return l
+   * @throws NullPointerException if l or random is null
+   */
+  public static LinkedList<Integer> shuffleInPlace(LinkedList<Integer> l,
+      SplittableRandom random) {
+    if (l == null) {
+      throw new NullPointerException("LinkedList cannot be null");
+    }
+    if (random == null) {
+      throw new NullPointerException("Random cannot be null");
+    }
+    Object[] refs = l.toArray();
+    for (int i = refs.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      Object tmp = refs[i];
+      refs[i] = refs[j];
+      refs[j] = tmp;
+    }
+    ListIterator<Integer> it = l.listIterator();
+    for (Object ref : refs) {
+      it.next();
+      it.set((Integer) ref);
+    }
+    return l;
+  }
+
   /**
    * Returns a slice of a linked list
    *
@@ -1,7 +1,10 @@
 package datastructures;
 
+import algorithms.LoserTree;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 public final class DsVector {
   private DsVector() {
@@ -45,6 +48,125 @@ public final class DsVector {
     return indices;
   }
 
+  /**
+   * Counts the instances of n in the ArrayList without building a list of indices
+   *
+   * @param v the ArrayList to be searched
+   * @param n the value to count
+   * @return the number of indices where n was found
+   * @throws NullPointerException if v is null
+   */
+  public static int countMatches(ArrayList<Integer> v, int n) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    int count = 0;
+    for (int i = 0; i < v.size(); i++) {
+      count += v.get(i) == n ? 1 : 0;
+    }
+    return count;
+  }
+
+  /**
+   * Searches the ArrayList for the first k instances of n, stopping at the k-th match
+   *
+   * @param v the ArrayList to be searched
+   * @param n the value to search for
+   * @param k the maximum number of indices to return
+   * @return An ArrayList of at most k indices where n was found, in ascending order
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if k is negative
+   */
+  public static ArrayList<Integer> searchFirst(ArrayList<Integer> v, int n, int k) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    if (k < 0) {
+      throw new IllegalArgumentException("k cannot be negative: " + k);
+    }
+    ArrayList<Integer> indices = new ArrayList<Integer>(Math.min(k, 16));
+    for (int i = 0; i < v.size() && indices.size() < k; i++) {
+      if (v.get(i) == n) {
+        indices.add(i);
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Marks every instance of n in a caller-supplied bitmap: bit i of the result is bit
+   * {@code i % 64} of {@code bits[i / 64]}, set if and only if v.get(i) == n.
+   * Words past the last element are left untouched, so one bitmap can be reused
+   * across calls on vectors of the same size.
+   *
+   * @param v    the ArrayList to be searched
+   * @param n    the value to search for
+   * @param bits the bitmap to overwrite; {@code BitSet.valueOf(bits)} views it as a
+   *             BitSet
+   * @return the number of indices where n was found
+   * @throws NullPointerException if v or bits is null
+   * @throws IllegalArgumentException if bits has fewer than ceil(size / 64) words
+   */
+  public static int searchBitmap(ArrayList<Integer> v, int n, long[] bits) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    int size = v.size();
+    checkBitmap(bits, size);
+    int count = 0;
+    for (int base = 0; base < size; base += 64) {
+      int end = Math.min(base + 64, size);
+      long word = 0;
+      for (int i = base; i < end; i++) {
+        word |= (v.get(i) == n ? 1L : 0L) << i;
+      }
+      bits[base >>> 6] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Searches the ArrayList for all instances of n and returns the indices as a
+   * compressed bitmap, which holds dense or clustered matches in far less memory than
+   * an ArrayList of indices and can be combined with {@link RoaringBitmap#and} and
+   * {@link RoaringBitmap#or}
+   *
+   * @param v the ArrayList to be searched
+   * @param n the value to search for
+   * @return a new bitmap of all indices where n was found
+   * @throws NullPointerException if v is null
+   */
+  public static RoaringBitmap searchRoaring(ArrayList<Integer> v, int n) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    return RoaringBitmap.collect(v.size(), i -> v.get(i) == n);
+  }
+
+  /**
+   * Reverses {@code v[from, to)} in place
+   */
+  private static void reverseRange(ArrayList<Integer> v, int from, int to) {
+    for (int i = from, j = to - 1; i < j; i++, j--) {
+      v.set(i, v.set(j, v.get(i)));
+    }
+  }
+
+  /**
+   * Checks that a bitmap has a word for each 64 of size elements
+   */
+  static void checkBitmap(long[] bits, int size) {
+    if (bits == null) {
+      throw new NullPointerException("Bitmap cannot be null");
+    }
+    int words = (size + 63) >>> 6;
+    if (bits.length < words) {
+      throw new IllegalArgumentException(
+          "Bitmap too small, got length: " + bits.length + " for size: " + size);
+    }
+  }
+
   /**
    * Sorts the ArrayList in ascending order
    *
@@ -111,6 +233,51 @@ public final class DsVector {
     return ret;
   }
 
+  /**
+   * Reverses the ArrayList in place by swapping elements from both ends
+   *
+   * @param v the ArrayList to be reversed
+   * @return v
+   * @throws NullPointerException if v is null
+   */
+  public static ArrayList<Integer> reverseInPlace(ArrayList<Integer> v) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    reverseRange(v, 0, v.size());
+    return v;
+  }
+
+  /**
+   * Rotates the ArrayList left by n in place, with the same result as
+   * {@code rotateVector(v, n)} but no second list.
+   *
+   * <p>Uses three reversals: reversing [0, n), [n, size) and then the whole list
+   * moves every element exactly twice. n is normalized modulo size, so a negative n
+   * rotates right and any n is accepted.</p>
+   *
+   * @param v the ArrayList to be rotated
+   * @param n the rotation amount
+   * @return v
+   * @throws NullPointerException if v is null
+   */
+  public static ArrayList<Integer> rotateInPlace(ArrayList<Integer> v, long n) {
+    if (v == null) {
+      throw new NullPointerException("ArrayList cannot be null");
+    }
+    int size = v.size();
+    if (size == 0) {
+      return v;
+    }
+    int shift = (int) Math.floorMod(n, (long) size);
+    if (shift != 0) {
+      reverseRange(v, 0, shift);
+      reverseRange(v, shift, size);
+      reverseRange(v, 0, size);
+    }
+    return v;
+  }
+
   /**
    * Merges two ArrayLists
    *
@@ -137,4 +304,213 @@ public final class DsVector {
     }
     return ret;
   }
+
+  /**
+   * Merges K sorted ArrayLists into one sorted ArrayList in O(N log K)
+   *
+   * @param runs  the ArrayLists to be merged, each sorted in ascending order
+   * @param dedup whether to drop values equal to the previously merged value
+   * @return the merged ArrayList, in ascending order
+   * @throws NullPointerException if runs or any run is null
+   * @throws IllegalArgumentException if the runs combined are longer than the maximum
+   *                                  array size
+   */
+  public static ArrayList<Integer> mergeSortedVectors(List<ArrayList<Integer>> runs,
+      boolean dedup) {
+    if (runs == null) {
+      throw new NullPointerException("List of ArrayLists cannot be null");
+    }
+    int k = runs.size();
+    long total = 0;
+    for (ArrayList<Integer> run : runs) {
+      if (run == null) {
+        throw new NullPointerException("ArrayList cannot be null");
+      }
+      total += run.size();
+    }
+    ArrayList<Integer> ret = new ArrayList<Integer>(checkTotal(total));
+    if (k == 0) {
+      return ret;
+    }
+
+    int[] positions = new int[k];
+    LoserTree tree = new LoserTree(k);
+    for (int i = 0; i < k; i++) {
+      if (!runs.get(i).isEmpty()) {
+        tree.set(i, runs.get(i).get(0));
+        positions[i] = 1;
+      }
+    }
+    tree.build();
+    while (!tree.isEmpty()) {
+      int winner = tree.winner();
+      int value = tree.winnerKey();
+      if (!dedup || ret.isEmpty() || ret.get(ret.size() - 1) != value) {
+        ret.add(value);
+      }
+      ArrayList<Integer> run = runs.get(winner);
+      if (positions[winner] < run.size()) {
+        tree.replaceWinner(run.get(positions[winner]++));
+      } else {
+        tree.exhaustWinner();
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Merges K sorted arrays into one new sorted array in O(N log K)
+   *
+   * @param runs  the arrays to be merged, each sorted in ascending order
+   * @param dedup whether to drop values equal to the previously merged value
+   * @return the merged array, in ascending order
+   * @throws NullPointerException if runs or any run is null
+   * @throws IllegalArgumentException if the runs combined are longer than the maximum
+   *                                  array size
+   */
+  public static int[] mergeSorted(int[][] runs, boolean dedup) {
+    int[] out = new int[totalLength(runs)];
+    int n = mergeSorted(runs, out, dedup);
+    return n == out.length ? out : Arrays.copyOf(out, n);
+  }
+
+  /**
+   * Merges K sorted arrays into a caller-supplied array in O(N log K), using a
+   * tournament (loser) tree so each element costs ceil(log2 K) comparisons
+   *
+   * @param runs  the arrays to be merged, each sorted in ascending order
+   * @param out   the array to write the merged values to, starting at index 0; must
+   *              be at least as long as all runs combined
+   * @param dedup whether to drop values equal to the previously merged value
+   * @return the number of values written to out
+   * @throws NullPointerException if runs, any run or out is null
+   * @throws IllegalArgumentException if out is shorter than all runs combined, or they
+   *                                  are longer than the maximum array size
+   */
+  public static int mergeSorted(int[][] runs, int[] out, boolean dedup) {
+    int total = totalLength(runs);
+    if (out == null) {
+      throw new NullPointerException("Output array cannot be null");
+    }
+    if (out.length < total) {
+      throw new IllegalArgumentException(
+          "Output array too small, got length: " + out.length + " for total: " + total);
+    }
+    int k = runs.length;
+    if (k == 0) {
+      return 0;
+    }
+
+    int[] positions = new int[k];
+    LoserTree tree = new LoserTree(k);
+    for (int i = 0; i < k; i++) {
+      if (runs[i].length > 0) {
+        tree.set(i, runs[i][0]);
+        positions[i] = 1;
+      }
+    }
+    tree.build();
+    int n = 0;
+    while (!tree.isEmpty()) {
+      int winner = tree.winner();
+      int value = tree.winnerKey();
+      if (!dedup || n == 0 || out[n - 1] != value) {
+        out[n++] = value;
+      }
+      int[] run = runs[winner];
+      if (positions[winner] < run.length) {
+        tree.replaceWinner(run[positions[winner]++]);
+      } else {
+        tree.exhaustWinner();
+      }
+    }
+    return n;
+  }
+
+  /**
+   * Returns the distinct values of two ArrayLists, using a primitive hash set instead
+   * of a {@code HashSet<Integer>}
+   *
+   * @param v1 the first ArrayList
+   * @param v2 the second ArrayList
+   * @return a new ArrayList of the distinct values of v1 and then those only in v2, in
+   *         order of first appearance
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static ArrayList<Integer> unionVectors(ArrayList<Integer> v1,
+      ArrayList<Integer> v2) {
+    checkPair(v1, v2);
+    int[] a = IntVector.fromList(v1).elements();
+    int[] b = IntVector.fromList(v2).elements();
+    return IntSetOps.unionHashed(a, v1.size(), b, v2.size()).toArrayList();
+  }
+
+  /**
+   * Returns the distinct values found in both of two ArrayLists, using a primitive
+   * hash set instead of a {@code HashSet<Integer>}
+   *
+   * @param v1 the first ArrayList
+   * @param v2 the second ArrayList
+   * @return a new ArrayList of the distinct values of v1 that are in v2, in order of
+   *         first appearance in v1
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static ArrayList<Integer> intersectVectors(ArrayList<Integer> v1,
+      ArrayList<Integer> v2) {
+    checkPair(v1, v2);
+    int[] a = IntVector.fromList(v1).elements();
+    int[] b = IntVector.fromList(v2).elements();
+    return IntSetOps.intersectHashed(a, v1.size(), b, v2.size()).toArrayList();
+  }
+
+  /**
+   * Returns the distinct values of one ArrayList that are not in another, using a
+   * primitive hash set instead of a {@code HashSet<Integer>}
+   *
+   * @param v1 the ArrayList to take values from
+   * @param v2 the values to exclude
+   * @return a new ArrayList of the distinct values of v1 that are not in v2, in order
+   *         of first appearance in v1
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static ArrayList<Integer> differenceVectors(ArrayList<Integer> v1,
+      ArrayList<Integer> v2) {
+    checkPair(v1, v2);
+    int[] a = IntVector.fromList(v1).elements();
+    int[] b = IntVector.fromList(v2).elements();
+    return IntSetOps.differenceHashed(a, v1.size(), b, v2.size()).toArrayList();
+  }
+
+  private static void checkPair(ArrayList<Integer> v1, ArrayList<Integer> v2) {
+    if (v1 == null) {
+      throw new NullPointerException("First ArrayList cannot be null");
+    }
+    if (v2 == null) {
+      throw new NullPointerException("Second ArrayList cannot be null");
+    }
+  }
+
+  private static int totalLength(int[][] runs) {
+    if (runs == null) {
+      throw new NullPointerException("Array of runs cannot be null");
+    }
+    long total = 0;
+    for (int[] run : runs) {
+      if (run == null) {
+        throw new NullPointerException("Run cannot be null");
+      }
+      total += run.length;
+    }
+    return checkTotal(total);
+  }
+
+  /**
+   * Returns a combined run length as an int, summed in a long so it cannot overflow
+   */
+  private static int checkTotal(long total) {
+    if (total > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Combined length exceeds maximum array size: " + total);
+    }
+    return (int) total;
+  }
 }
@@ -0,0 +1,105 @@
+package datastructures;
+
+/**
+ * A set of primitive ints using open addressing with linear probing.
+ *
+ * <p>Keys are stored directly in one int array of power-of-two length, kept at most
+ * half full, and placed by Fibonacci hashing, so a lookup is a multiply, a shift and
+ * usually one or two adjacent reads. 0 marks a free slot, and the key 0 itself is
+ * tracked by a flag. Nothing is boxed. Supports only adding and lookup, which is all
+ * the set operations in {@link IntSetOps} need. Not thread-safe.</p>
+ */
+final class IntHashSet {
+  private int[] keys;
+  private int shift;
+  private int size;
+  private boolean hasZero;
+
+  /**
+   * Creates an empty set sized to hold expected keys without growing
+   *
+   * @param expected the expected number of keys
+   */
+  IntHashSet(int expected) {
+    int capacity = Integer.highestOneBit(Math.min(Math.max(4, expected), 1 << 29) * 2 - 1) << 1;
+    keys = new int[capacity];
+    shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+  }
+
+  /**
+   * Returns the number of keys
+   */
+  int size() {
+    return size + (hasZero ? 1 : 0);
+  }
+
+  /**
+   * Adds a key
+   *
+   * @param key the key to add
+   * @return true if the key was not already present
+   */
+  boolean add(int key) {
+    if (key == 0) {
+      boolean added = !hasZero;
+      hasZero = true;
+      return added;
+    }
+    int mask = keys.length - 1;
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      int k = keys[i];
+      if (k == key) {
+        return false;
+      }
+      if (k == 0) {
+        keys[i] = key;
+        if (++size * 2 > keys.length) {
+          grow();
+        }
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns true if the key is present
+   *
+   * @param key the key to look for
+   * @return true if the key was added
+   */
+  boolean contains(int key) {
+    if (key == 0) {
+      return hasZero;
+    }
+    int mask = keys.length - 1;
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      int k = keys[i];
+      if (k == key) {
+        return true;
+      }
+      if (k == 0) {
+        return false;
+      }
+    }
+  }
+
+  private int slot(int key) {
+    return (key * 0x9E3779B9) >>> shift;
+  }
+
+  private void grow() {
+    int[] old = keys;
+    keys = new int[old.length * 2];
+    shift--;
+    int mask = keys.length - 1;
+    for (int key : old) {
+      if (key != 0) {
+        int i = slot(key);
+        while (keys[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = key;
+      }
+    }
+  }
+}
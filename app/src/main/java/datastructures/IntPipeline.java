@@ -0,0 +1,542 @@
+package datastructures;
+
+import algorithms.Sort;
+import algorithms.TopN;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * A lazy pipeline of {@link DsVector}-style operations over ints.
+ *
+ * <p>Building a pipeline only records its stages; nothing runs until a terminal
+ * operation such as {@link #toIntVector()}. At that point:</p>
+ * <ul>
+ *   <li>consecutive element-wise stages ({@link #map}, {@link #filter},
+ *       {@link #indices}, and a following {@link #take}) are fused into one pass, with
+ *       no intermediate vector between them;</li>
+ *   <li>known patterns are rewritten: sorted then reversed becomes a descending sort,
+ *       sorted then take(k) becomes a partial sort of the k smallest, a descending
+ *       sort then take(k) becomes a top-k selection, and any reordering stage right
+ *       before a sort is dropped;</li>
+ *   <li>with {@link #parallel()}, fused passes run in chunks on the common fork/join
+ *       pool and sorts use {@link Arrays#parallelSort}.</li>
+ * </ul>
+ *
+ * <p>For example {@code IntPipeline.of(v).filter(x -> x == 5).indices()} gives the
+ * same result as {@code searchVector(v, 5)}, and
+ * {@code IntPipeline.of(v).sorted().reversed().take(3)} runs as a top-3 selection.
+ * Pipelines are immutable: each stage method returns a new pipeline. The source is
+ * read when a terminal operation runs and is never modified.</p>
+ */
+public final class IntPipeline {
+  /** Elements per task when a fused pass runs in parallel */
+  private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
+  private enum Kind {
+    MAP, FILTER, INDICES, TAKE, SORT, SORT_DESCENDING, REVERSE, ROTATE, CONCAT,
+    SMALLEST, LARGEST
+  }
+
+  private static final class Stage {
+    final Kind kind;
+    final IntUnaryOperator mapper;
+    final IntPredicate predicate;
+    final int n;
+    final IntSequence other;
+
+    Stage(Kind kind, IntUnaryOperator mapper, IntPredicate predicate, int n, IntSequence other) {
+      this.kind = kind;
+      this.mapper = mapper;
+      this.predicate = predicate;
+      this.n = n;
+      this.other = other;
+    }
+
+    static Stage of(Kind kind, int n) {
+      return new Stage(kind, null, null, n, null);
+    }
+
+    boolean isElementWise() {
+      return kind == Kind.MAP || kind == Kind.FILTER || kind == Kind.INDICES;
+    }
+
+    boolean isReorder() {
+      return kind == Kind.SORT || kind == Kind.SORT_DESCENDING || kind == Kind.REVERSE
+          || kind == Kind.ROTATE;
+    }
+
+    boolean isSort() {
+      return kind == Kind.SORT || kind == Kind.SORT_DESCENDING;
+    }
+  }
+
+  private final Supplier<IntVector> source;
+  private final List<Stage> stages;
+  private final boolean parallel;
+
+  private IntPipeline(Supplier<IntVector> source, List<Stage> stages, boolean parallel) {
+    this.source = source;
+    this.stages = stages;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Starts a pipeline over an array, which is read but not copied or modified
+   *
+   * @param values the source values
+   * @return a new pipeline with no stages
+   * @throws NullPointerException if values is null
+   */
+  public static IntPipeline of(int... values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    return new IntPipeline(() -> new IntVector(values, values.length), List.of(), false);
+  }
+
+  /**
+   * Starts a pipeline over a sequence. An IntVector is read in place; other sequences
+   * are copied when the pipeline runs.
+   *
+   * @param seq the source sequence
+   * @return a new pipeline with no stages
+   * @throws NullPointerException if seq is null
+   */
+  public static IntPipeline of(IntSequence seq) {
+    if (seq == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    if (seq instanceof IntVector) {
+      IntVector v = (IntVector) seq;
+      return new IntPipeline(() -> v, List.of(), false);
+    }
+    return new IntPipeline(seq::toIntVector, List.of(), false);
+  }
+
+  /**
+   * Starts a pipeline over a list of Integers, unboxed when the pipeline runs
+   *
+   * @param list the source list
+   * @return a new pipeline with no stages
+   * @throws NullPointerException if list is null
+   */
+  public static IntPipeline fromList(List<Integer> list) {
+    if (list == null) {
+      throw new NullPointerException("List cannot be null");
+    }
+    return new IntPipeline(() -> IntVector.fromList(list), List.of(), false);
+  }
+
+  /**
+   * Replaces each element with the result of an operator, like
+   * {@link DsIntVector#mapVector}
+   *
+   * @param mapper the operator; must be stateless if the pipeline is parallel
+   * @return a new pipeline
+   * @throws NullPointerException if mapper is null
+   */
+  public IntPipeline map(IntUnaryOperator mapper) {
+    if (mapper == null) {
+      throw new NullPointerException("Operator cannot be null");
+    }
+    return with(new Stage(Kind.MAP, mapper, null, 0, null));
+  }
+
+  /**
+   * Keeps only the elements that match a predicate
+   *
+   * @param predicate the predicate; must be stateless if the pipeline is parallel
+   * @return a new pipeline
+   * @throws NullPointerException if predicate is null
+   */
+  public IntPipeline filter(IntPredicate predicate) {
+    if (predicate == null) {
+      throw new NullPointerException("Predicate cannot be null");
+    }
+    return with(new Stage(Kind.FILTER, null, predicate, 0, null));
+  }
+
+  /**
+   * Replaces each element with its index in the input of the current fused pass: the
+   * source, or the output of the last sort, reverse, rotate or concat stage. So
+   * {@code filter(x -> x == n).indices()} is {@code searchVector(v, n)}.
+   *
+   * @return a new pipeline
+   */
+  public IntPipeline indices() {
+    return with(Stage.of(Kind.INDICES, 0));
+  }
+
+  /**
+   * Keeps only the first k elements
+   *
+   * @param k the maximum number of elements to keep
+   * @return a new pipeline
+   * @throws IllegalArgumentException if k is negative
+   */
+  public IntPipeline take(int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k cannot be negative: " + k);
+    }
+    return with(Stage.of(Kind.TAKE, k));
+  }
+
+  /**
+   * Sorts the elements in ascending order, like {@link DsVector#sortVector}
+   *
+   * @return a new pipeline
+   */
+  public IntPipeline sorted() {
+    return with(Stage.of(Kind.SORT, 0));
+  }
+
+  /**
+   * Sorts the elements in descending order
+   *
+   * @return a new pipeline
+   */
+  public IntPipeline sortedDescending() {
+    return with(Stage.of(Kind.SORT_DESCENDING, 0));
+  }
+
+  /**
+   * Reverses the elements, like {@link DsVector#reverseVector}
+   *
+   * @return a new pipeline
+   */
+  public IntPipeline reversed() {
+    return with(Stage.of(Kind.REVERSE, 0));
+  }
+
+  /**
+   * Rotates the elements left by n, like {@link DsVector#rotateVector}. n is checked
+   * against the size when the pipeline runs.
+   *
+   * @param n the rotation amount
+   * @return a new pipeline
+   * @throws IllegalArgumentException if n is negative
+   */
+  public IntPipeline rotated(int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Rotation amount cannot be negative, got: " + n);
+    }
+    return with(Stage.of(Kind.ROTATE, n));
+  }
+
+  /**
+   * Appends the elements of a sequence, like {@link DsVector#mergeVectors}
+   *
+   * @param other the sequence to append; read when the pipeline runs
+   * @return a new pipeline
+   * @throws NullPointerException if other is null
+   */
+  public IntPipeline concat(IntSequence other) {
+    if (other == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    return with(new Stage(Kind.CONCAT, null, null, 0, other));
+  }
+
+  /**
+   * Returns a pipeline whose fused passes and sorts run in parallel
+   *
+   * @return a new pipeline
+   */
+  public IntPipeline parallel() {
+    return new IntPipeline(source, stages, true);
+  }
+
+  /**
+   * Runs the pipeline
+   *
+   * @return a new IntVector of the results
+   */
+  public IntVector toIntVector() {
+    Buffer result = run();
+    return new IntVector(result.writable(), result.size);
+  }
+
+  /**
+   * Runs the pipeline
+   *
+   * @return a new array of the results
+   */
+  public int[] toArray() {
+    Buffer result = run();
+    int[] values = result.writable();
+    return values.length == result.size ? values : Arrays.copyOf(values, result.size);
+  }
+
+  /**
+   * Runs the pipeline
+   *
+   * @return a new ArrayList of the results
+   */
+  public ArrayList<Integer> toArrayList() {
+    return toIntVector().toArrayList();
+  }
+
+  /**
+   * Runs the pipeline and counts the results
+   *
+   * @return the number of results
+   */
+  public int count() {
+    return run().size;
+  }
+
+  /**
+   * Runs the pipeline and sums the results
+   *
+   * @return the sum as a long
+   */
+  public long sum() {
+    Buffer result = run();
+    long sum = 0;
+    for (int i = 0; i < result.size; i++) {
+      sum += result.values[i];
+    }
+    return sum;
+  }
+
+  private IntPipeline with(Stage stage) {
+    List<Stage> next = new ArrayList<>(stages.size() + 1);
+    next.addAll(stages);
+    next.add(stage);
+    return new IntPipeline(source, next, parallel);
+  }
+
+  /**
+   * An array whose first size elements are live. owned is false while values may be
+   * the caller's source array, which must not be written.
+   */
+  private static final class Buffer {
+    final int[] values;
+    final int size;
+    final boolean owned;
+
+    Buffer(int[] values, int size, boolean owned) {
+      this.values = values;
+      this.size = size;
+      this.owned = owned;
+    }
+
+    /** Returns values, copied to exactly size elements unless already owned */
+    int[] writable() {
+      return owned ? values : Arrays.copyOf(values, size);
+    }
+  }
+
+  private Buffer run() {
+    IntVector src = source.get();
+    Buffer buf = new Buffer(src.elements(), src.size(), false);
+    List<Stage> plan = optimize(stages);
+    int i = 0;
+    while (i < plan.size()) {
+      Stage stage = plan.get(i);
+      if (stage.isElementWise() || stage.kind == Kind.TAKE) {
+        int end = i;
+        while (end < plan.size() && plan.get(end).isElementWise()) {
+          end++;
+        }
+        int limit = Integer.MAX_VALUE;
+        List<Stage> ops = plan.subList(i, end);
+        if (end < plan.size() && plan.get(end).kind == Kind.TAKE) {
+          limit = plan.get(end).n;
+          end++;
+        }
+        buf = fusedPass(buf, ops, limit);
+        i = end;
+      } else {
+        buf = reorder(buf, stage);
+        i++;
+      }
+    }
+    return buf;
+  }
+
+  /**
+   * Applies the rewrite rules until none matches
+   */
+  private static List<Stage> optimize(List<Stage> stages) {
+    List<Stage> plan = new ArrayList<>(stages);
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i + 1 < plan.size(); i++) {
+        Stage a = plan.get(i);
+        Stage b = plan.get(i + 1);
+        Stage replacement = null;
+        if (a.isReorder() && b.isSort()) {
+          replacement = b;
+        } else if (a.kind == Kind.REVERSE && b.kind == Kind.REVERSE) {
+          plan.subList(i, i + 2).clear();
+          changed = true;
+          break;
+        } else if (a.isSort() && b.kind == Kind.REVERSE) {
+          replacement = Stage.of(a.kind == Kind.SORT ? Kind.SORT_DESCENDING : Kind.SORT, 0);
+        } else if (a.isSort() && b.kind == Kind.TAKE) {
+          replacement = Stage.of(a.kind == Kind.SORT ? Kind.SMALLEST : Kind.LARGEST, b.n);
+        } else if (a.kind == Kind.TAKE && b.kind == Kind.TAKE) {
+          replacement = Stage.of(Kind.TAKE, Math.min(a.n, b.n));
+        }
+        if (replacement != null) {
+          plan.set(i, replacement);
+          plan.remove(i + 1);
+          changed = true;
+          break;
+        }
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Runs element-wise stages in one pass over the input, keeping at most limit
+   * results
+   */
+  private Buffer fusedPass(Buffer in, List<Stage> ops, int limit) {
+    Stage[] chain = ops.toArray(new Stage[0]);
+    int n = in.size;
+    if (!parallel || n <= PARALLEL_CHUNK_SIZE) {
+      int[] out = new int[Math.min(n, limit)];
+      int size = apply(chain, in.values, 0, n, out, limit);
+      return new Buffer(out, size, true);
+    }
+    int chunks = (n + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+    int[][] parts = new int[chunks][];
+    int[] sizes = new int[chunks];
+    IntStream.range(0, chunks).parallel().forEach(c -> {
+      int from = c * PARALLEL_CHUNK_SIZE;
+      int to = Math.min(from + PARALLEL_CHUNK_SIZE, n);
+      parts[c] = new int[Math.min(to - from, limit)];
+      sizes[c] = apply(chain, in.values, from, to, parts[c], limit);
+    });
+    long total = 0;
+    for (int size : sizes) {
+      total += size;
+    }
+    int[] out = new int[(int) Math.min(total, limit)];
+    int at = 0;
+    for (int c = 0; c < chunks && at < out.length; c++) {
+      int take = Math.min(sizes[c], out.length - at);
+      System.arraycopy(parts[c], 0, out, at, take);
+      at += take;
+    }
+    return new Buffer(out, at, true);
+  }
+
+  /**
+   * Pushes {@code in[from, to)} through the chain into out, stopping after limit
+   * results
+   *
+   * @return the number of results written
+   */
+  private static int apply(Stage[] chain, int[] in, int from, int to, int[] out, int limit) {
+    int size = 0;
+    elements:
+    for (int i = from; i < to && size < limit; i++) {
+      int value = in[i];
+      for (Stage stage : chain) {
+        switch (stage.kind) {
+          case MAP:
+            value = stage.mapper.applyAsInt(value);
+            break;
+          case FILTER:
+            if (!stage.predicate.test(value)) {
+              continue elements;
+            }
+            break;
+          case INDICES:
+            value = i;
+            break;
+          default:
+            throw new IllegalStateException("Not an element-wise stage: " + stage.kind);
+        }
+      }
+      out[size++] = value;
+    }
+    return size;
+  }
+
+  private Buffer reorder(Buffer in, Stage stage) {
+    int n = in.size;
+    switch (stage.kind) {
+      case SORT: {
+        int[] a = in.writable();
+        sort(a, n);
+        return new Buffer(a, n, true);
+      }
+      case SORT_DESCENDING: {
+        int[] a = in.writable();
+        sort(a, n);
+        reverse(a, n);
+        return new Buffer(a, n, true);
+      }
+      case REVERSE: {
+        int[] a = in.writable();
+        reverse(a, n);
+        return new Buffer(a, n, true);
+      }
+      case ROTATE: {
+        int r = stage.n;
+        if (n > 0 && r >= n) {
+          throw new IllegalArgumentException(
+              "Rotation amount must be less than size, got: " + r + " for size: " + n);
+        }
+        int[] a = new int[n];
+        if (n > 0) {
+          System.arraycopy(in.values, r, a, 0, n - r);
+          System.arraycopy(in.values, 0, a, n - r, r);
+        }
+        return new Buffer(a, n, true);
+      }
+      case CONCAT: {
+        int[] other = stage.other instanceof IntVector
+            ? ((IntVector) stage.other).elements() : stage.other.toArray();
+        int m = stage.other.size();
+        int[] a = Arrays.copyOf(in.values, n + m);
+        System.arraycopy(other, 0, a, n, m);
+        return new Buffer(a, n + m, true);
+      }
+      case SMALLEST: {
+        int k = Math.min(stage.n, n);
+        int[] a = in.owned && in.values.length == n ? in.values : Arrays.copyOf(in.values, n);
+        Sort.partialSort(a, k);
+        return new Buffer(a, k, true);
+      }
+      case LARGEST: {
+        if (stage.n == 0 || n == 0) {
+          return new Buffer(new int[0], 0, true);
+        }
+        TopN top = new TopN(stage.n);
+        top.addAll(in.values, 0, n);
+        int[] a = top.snapshot();
+        return new Buffer(a, a.length, true);
+      }
+      default:
+        throw new IllegalStateException("Not a reordering stage: " + stage.kind);
+    }
+  }
+
+  private void sort(int[] a, int n) {
+    if (parallel) {
+      Arrays.parallelSort(a, 0, n);
+    } else {
+      Arrays.sort(a, 0, n);
+    }
+  }
+
+  private static void reverse(int[] a, int n) {
+    for (int i = 0, j = n - 1; i < j; i++, j--) {
+      int tmp = a[i];
+      a[i] = a[j];
+      a[j] = tmp;
+    }
+  }
+}
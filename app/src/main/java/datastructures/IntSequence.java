@@ -0,0 +1,54 @@
+package datastructures;
+
+/**
+ * A read-only, random-access sequence of ints.
+ *
+ * <p>Implemented by {@link IntVector}, {@link PersistentIntVector} and the views in
+ * {@link VectorViews}, so code that only reads can accept any of them without
+ * copying.</p>
+ */
+public interface IntSequence {
+  /**
+   * Returns the number of elements
+   */
+  int size();
+
+  /**
+   * Returns the element at an index
+   *
+   * @param index the index of the element
+   * @return the element
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   */
+  int get(int index);
+
+  /**
+   * Returns true if the sequence has no elements
+   */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Copies the elements into a new array
+   *
+   * @return a new array of length {@link #size()}
+   */
+  default int[] toArray() {
+    int[] ret = new int[size()];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = get(i);
+    }
+    return ret;
+  }
+
+  /**
+   * Copies the elements into a new IntVector
+   *
+   * @return a new IntVector with the same elements in the same order
+   */
+  default IntVector toIntVector() {
+    int[] elements = toArray();
+    return new IntVector(elements, elements.length);
+  }
+}
@@ -0,0 +1,237 @@
+package datastructures;
+
+/**
+ * Union, intersection and difference kernels over int arrays, shared by
+ * {@link DsVector}, {@link DsIntVector} and {@link SortedIntVector}.
+ *
+ * <p>The sorted kernels treat their inputs as multisets (see {@link SortedIntVector})
+ * and pick a strategy by size:</p>
+ * <ul>
+ *   <li>When one input is at least {@value #GALLOP_RATIO} times longer, each element of
+ *       the shorter one is located in the longer one by galloping (exponential then
+ *       binary search) from the previous match, so the cost is
+ *       O(m log(n / m)) instead of O(n + m).</li>
+ *   <li>Otherwise the inputs are merged. The intersection merge advances both cursors
+ *       with comparisons rather than branches and writes every candidate, keeping it
+ *       only on a match, so random data does not pay for mispredicted branches.</li>
+ * </ul>
+ *
+ * <p>The hash kernels accept unsorted inputs and use an {@link IntHashSet}. They treat
+ * inputs as sets: results hold distinct values, in order of first appearance.</p>
+ */
+final class IntSetOps {
+  /** Length ratio from which the sorted kernels gallop instead of merging */
+  static final int GALLOP_RATIO = 32;
+
+  private IntSetOps() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Keeps each value of two sorted arrays as many times as it occurs in whichever has
+   * more of it
+   */
+  static IntVector unionSorted(int[] a, int na, int[] b, int nb) {
+    if (na > nb) {
+      return unionSorted(b, nb, a, na);
+    }
+    int[] out = new int[na + nb];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    if (skewed(na, nb)) {
+      for (; i < na; i++) {
+        int x = a[i];
+        int p = gallop(b, j, nb, x);
+        System.arraycopy(b, j, out, k, p - j);
+        k += p - j;
+        j = p;
+        if (j < nb && b[j] == x) {
+          j++;
+        }
+        out[k++] = x;
+      }
+    } else {
+      while (i < na && j < nb) {
+        int x = a[i];
+        int y = b[j];
+        out[k++] = Math.min(x, y);
+        i += x <= y ? 1 : 0;
+        j += y <= x ? 1 : 0;
+      }
+      System.arraycopy(a, i, out, k, na - i);
+      k += na - i;
+    }
+    System.arraycopy(b, j, out, k, nb - j);
+    k += nb - j;
+    return new IntVector(out, k);
+  }
+
+  /**
+   * Keeps each value of two sorted arrays as many times as it occurs in both
+   */
+  static IntVector intersectSorted(int[] a, int na, int[] b, int nb) {
+    if (na > nb) {
+      return intersectSorted(b, nb, a, na);
+    }
+    int[] out = new int[na];
+    int k = 0;
+    if (skewed(na, nb)) {
+      int j = 0;
+      for (int i = 0; i < na && j < nb; i++) {
+        int x = a[i];
+        j = gallop(b, j, nb, x);
+        if (j < nb && b[j] == x) {
+          out[k++] = x;
+          j++;
+        }
+      }
+    } else {
+      int i = 0;
+      int j = 0;
+      while (i < na && j < nb) {
+        int x = a[i];
+        int y = b[j];
+        // k never passes min(i, j), so this write is in bounds even when discarded
+        out[k] = x;
+        k += x == y ? 1 : 0;
+        i += x <= y ? 1 : 0;
+        j += y <= x ? 1 : 0;
+      }
+    }
+    return new IntVector(out, k);
+  }
+
+  /**
+   * Removes one occurrence of a value from sorted array a for each occurrence in sorted
+   * array b
+   */
+  static IntVector differenceSorted(int[] a, int na, int[] b, int nb) {
+    int[] out = new int[na];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    if (skewed(na, nb)) {
+      for (; i < na && j < nb; i++) {
+        int x = a[i];
+        j = gallop(b, j, nb, x);
+        if (j < nb && b[j] == x) {
+          j++;
+        } else {
+          out[k++] = x;
+        }
+      }
+    } else if (skewed(nb, na)) {
+      for (; j < nb && i < na; j++) {
+        int y = b[j];
+        int p = gallop(a, i, na, y);
+        System.arraycopy(a, i, out, k, p - i);
+        k += p - i;
+        i = p;
+        if (i < na && a[i] == y) {
+          i++;
+        }
+      }
+    } else {
+      while (i < na && j < nb) {
+        int x = a[i];
+        int y = b[j];
+        out[k] = x;
+        k += x < y ? 1 : 0;
+        i += x <= y ? 1 : 0;
+        j += y <= x ? 1 : 0;
+      }
+    }
+    System.arraycopy(a, i, out, k, na - i);
+    k += na - i;
+    return new IntVector(out, k);
+  }
+
+  /**
+   * Returns the distinct values of a followed by those of b that are not in a
+   */
+  static IntVector unionHashed(int[] a, int na, int[] b, int nb) {
+    IntHashSet seen = new IntHashSet(na + nb);
+    int[] out = new int[na + nb];
+    int k = 0;
+    for (int i = 0; i < na; i++) {
+      if (seen.add(a[i])) {
+        out[k++] = a[i];
+      }
+    }
+    for (int j = 0; j < nb; j++) {
+      if (seen.add(b[j])) {
+        out[k++] = b[j];
+      }
+    }
+    return new IntVector(out, k);
+  }
+
+  /**
+   * Returns the distinct values of a that are also in b, in order of first appearance
+   * in a
+   */
+  static IntVector intersectHashed(int[] a, int na, int[] b, int nb) {
+    IntHashSet other = build(b, nb);
+    IntHashSet emitted = new IntHashSet(Math.min(na, nb));
+    int[] out = new int[Math.min(na, nb)];
+    int k = 0;
+    for (int i = 0; i < na && k < out.length; i++) {
+      int x = a[i];
+      if (other.contains(x) && emitted.add(x)) {
+        out[k++] = x;
+      }
+    }
+    return new IntVector(out, k);
+  }
+
+  /**
+   * Returns the distinct values of a that are not in b, in order of first appearance
+   * in a
+   */
+  static IntVector differenceHashed(int[] a, int na, int[] b, int nb) {
+    IntHashSet other = build(b, nb);
+    IntHashSet emitted = new IntHashSet(na);
+    int[] out = new int[na];
+    int k = 0;
+    for (int i = 0; i < na; i++) {
+      int x = a[i];
+      if (!other.contains(x) && emitted.add(x)) {
+        out[k++] = x;
+      }
+    }
+    return new IntVector(out, k);
+  }
+
+  /**
+   * Returns the index of the first element of {@code a[from, to)} that is &gt;= key, or
+   * to if there is none, probing from, from + 1, from + 3, from + 7, ... before a
+   * binary search of the last gap
+   */
+  static int gallop(int[] a, int from, int to, int key) {
+    if (from >= to || a[from] >= key) {
+      return from;
+    }
+    int prev = from;
+    int step = 1;
+    int probe = from + 1;
+    while (probe < to && a[probe] < key) {
+      prev = probe;
+      step <<= 1;
+      probe = to - prev > step ? prev + step : to;
+    }
+    return SortedIntVector.lowerBound(a, prev + 1, probe, key);
+  }
+
+  private static boolean skewed(int shorter, int longer) {
+    return (long) shorter * GALLOP_RATIO <= longer;
+  }
+
+  private static IntHashSet build(int[] values, int n) {
+    IntHashSet set = new IntHashSet(n);
+    for (int i = 0; i < n; i++) {
+      set.add(values[i]);
+    }
+    return set;
+  }
+}
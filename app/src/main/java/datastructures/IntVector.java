@@ -0,0 +1,358 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable vector of primitive ints: an {@code int[]} plus a size.
+ *
+ * <p>Stores 4 bytes per element, against roughly 16-20 bytes for an
+ * {@code ArrayList<Integer>} (a 4-8 byte reference plus a 16 byte {@code Integer}
+ * object per element outside the small-value cache), and scans a contiguous array
+ * instead of chasing pointers. Capacity grows by 1.5x, so appends are amortized O(1).</p>
+ *
+ * <p>Use {@link #fromList} and {@link #toArrayList} to convert at the boundaries
+ * with code that still works on {@code ArrayList<Integer>}; {@link DsIntVector} has
+ * the {@link DsVector} operations for this type, and {@link VectorViews} has
+ * read-only views over any {@link IntSequence}. Not thread-safe.</p>
+ */
+public final class IntVector implements IntSequence {
+  /** Largest capacity the JVM reliably allows for an array */
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private int[] elements;
+  private int size;
+  /** Bumped by every change to the elements, so derived structures can detect staleness */
+  private int modCount;
+
+  /**
+   * Creates an empty vector with a default initial capacity
+   */
+  public IntVector() {
+    this.elements = new int[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Creates an empty vector
+   *
+   * @param initialCapacity the number of elements it can hold before growing
+   * @throws IllegalArgumentException if initialCapacity is negative
+   */
+  public IntVector(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+    }
+    this.elements = new int[initialCapacity];
+  }
+
+  /**
+   * Takes ownership of an array without copying it; used by producers in this
+   * package that have already filled a buffer
+   */
+  IntVector(int[] elements, int size) {
+    this.elements = elements;
+    this.size = size;
+  }
+
+  /**
+   * Creates a vector holding a copy of the given values
+   *
+   * @param values the initial values
+   * @return a new vector
+   * @throws NullPointerException if values is null
+   */
+  public static IntVector of(int... values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    return new IntVector(values.clone(), values.length);
+  }
+
+  /**
+   * Creates a vector from a list of Integers, unboxing each element once
+   *
+   * @param list the list to be copied
+   * @return a new vector with the same elements in the same order
+   * @throws NullPointerException if list or any element is null
+   */
+  public static IntVector fromList(List<Integer> list) {
+    if (list == null) {
+      throw new NullPointerException("List cannot be null");
+    }
+    int[] elements = new int[list.size()];
+    int i = 0;
+    for (Integer value : list) {
+      elements[i++] = value;
+    }
+    return new IntVector(elements, elements.length);
+  }
+
+  /**
+   * Returns the number of elements
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the vector has no elements
+   */
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the number of elements the vector can hold before growing
+   */
+  public int capacity() {
+    return elements.length;
+  }
+
+  /**
+   * Returns the element at an index
+   *
+   * @param index the index of the element
+   * @return the element
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   */
+  @Override
+  public int get(int index) {
+    checkIndex(index);
+    return elements[index];
+  }
+
+  /**
+   * Replaces the element at an index
+   *
+   * @param index the index of the element
+   * @param value the new value
+   * @return the previous value
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   */
+  public int set(int index, int value) {
+    checkIndex(index);
+    int old = elements[index];
+    elements[index] = value;
+    modCount++;
+    return old;
+  }
+
+  /**
+   * Appends a value
+   *
+   * @param value the value to append
+   */
+  public void add(int value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+    modCount++;
+  }
+
+  /**
+   * Appends every value in an array
+   *
+   * @param values the values to append
+   * @throws NullPointerException if values is null
+   */
+  public void addAll(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Appends {@code values[from, to)}
+   *
+   * @param values the array to copy from
+   * @param from   the first index to copy (inclusive)
+   * @param to     the last index to copy (exclusive)
+   * @throws NullPointerException if values is null
+   * @throws IndexOutOfBoundsException if the range is out of bounds
+   */
+  public void addAll(int[] values, int from, int to) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    if (from < 0 || to > values.length || from > to) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + from + ", " + to + ") out of bounds for length: " + values.length);
+    }
+    int count = to - from;
+    if (count > MAX_CAPACITY - size) {
+      throw new IllegalArgumentException("Required capacity exceeds maximum array size");
+    }
+    ensureCapacity(size + count);
+    System.arraycopy(values, from, elements, size, count);
+    size += count;
+    modCount++;
+  }
+
+  /**
+   * Appends every element of another vector
+   *
+   * @param other the vector to append
+   * @throws NullPointerException if other is null
+   */
+  public void addAll(IntVector other) {
+    if (other == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    addAll(other.elements, 0, other.size);
+  }
+
+  /**
+   * Removes every element, keeping the capacity
+   */
+  public void clear() {
+    size = 0;
+    modCount++;
+  }
+
+  /**
+   * Grows the capacity, if necessary, to hold at least minCapacity elements
+   *
+   * @param minCapacity the required capacity
+   * @throws IllegalArgumentException if minCapacity exceeds the maximum array size
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > elements.length) {
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Shrinks the capacity to the current size
+   */
+  public void trimToSize() {
+    if (elements.length > size) {
+      elements = Arrays.copyOf(elements, size);
+    }
+  }
+
+  /**
+   * Passes every element to action, in order
+   *
+   * @param action the consumer of each element
+   * @throws NullPointerException if action is null
+   */
+  public void forEach(IntConsumer action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    for (int i = 0; i < size; i++) {
+      action.accept(elements[i]);
+    }
+  }
+
+  /**
+   * Returns a copy of the elements
+   *
+   * @return a new array of length {@link #size()}
+   */
+  @Override
+  public int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * Returns an independent copy of this vector
+   */
+  public IntVector copy() {
+    return new IntVector(toArray(), size);
+  }
+
+  /**
+   * Returns the elements boxed into a new ArrayList
+   *
+   * @return a new ArrayList with the same elements in the same order
+   */
+  public ArrayList<Integer> toArrayList() {
+    ArrayList<Integer> ret = new ArrayList<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      ret.add(elements[i]);
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the backing array, which may be longer than size(). For bulk loops in
+   * this package that skip per-element bounds checks.
+   */
+  int[] elements() {
+    return elements;
+  }
+
+  /**
+   * Returns a counter that changes whenever the elements change
+   */
+  int modCount() {
+    return modCount;
+  }
+
+  /**
+   * Records a change made directly through {@link #elements()}
+   */
+  void markModified() {
+    modCount++;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof IntVector)) {
+      return false;
+    }
+    IntVector other = (IntVector) o;
+    return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + elements[i];
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the elements in the same format as {@code ArrayList.toString()}
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(size * 4 + 2);
+    sb.append('[');
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(elements[i]);
+    }
+    return sb.append(']').toString();
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + index + " for size: " + size);
+    }
+  }
+
+  private void grow(int minCapacity) {
+    if (minCapacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Required capacity exceeds maximum array size: " + minCapacity);
+    }
+    long newCapacity = Math.max((long) elements.length + (elements.length >> 1), minCapacity);
+    newCapacity = Math.max(newCapacity, DEFAULT_CAPACITY);
+    elements = Arrays.copyOf(elements, (int) Math.min(newCapacity, MAX_CAPACITY));
+  }
+}
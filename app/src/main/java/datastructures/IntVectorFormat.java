@@ -0,0 +1,400 @@
+package datastructures;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * A compact binary format for int vectors, read without parsing.
+ *
+ * <p>A record is a 12-byte header, the payload and a 4-byte trailer, all
+ * little-endian:</p>
+ * <ul>
+ *   <li>magic {@code "IVEC"} (4 bytes), version (1 byte), {@link Encoding} (1 byte),
+ *       two zero bytes, and the number of ints (4 bytes);</li>
+ *   <li>the payload: 4 bytes per int for {@link Encoding#RAW}, or one zigzag varint
+ *       per int for {@link Encoding#DELTA};</li>
+ *   <li>a CRC32C of the header and payload.</li>
+ * </ul>
+ *
+ * <p>{@link #read} and {@link #map} return a raw payload as an {@link IntSequence}
+ * view over the buffer or mapped file, so nothing is copied or boxed; only the checksum
+ * is computed. Delta payloads are decoded into an IntVector. {@link Writer} streams a
+ * record to a channel one int at a time, so a producer such as
+ * {@code GenVector.writeVector} never has to hold the whole vector.</p>
+ */
+public final class IntVectorFormat {
+  /** "IVEC" read as a little-endian int */
+  static final int MAGIC = 0x43455649;
+  static final byte VERSION = 1;
+  static final int HEADER_BYTES = 12;
+  static final int TRAILER_BYTES = 4;
+
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  /**
+   * How the payload stores the ints
+   */
+  public enum Encoding {
+    /** 4 bytes per int, readable in place */
+    RAW,
+    /**
+     * The difference from the previous int, zigzag-encoded as an LEB128 varint: 1 byte
+     * for small gaps, at most 5. Compact for sorted data and small value ranges.
+     */
+    DELTA
+  }
+
+  private IntVectorFormat() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Encodes a sequence as one record in a new buffer
+   *
+   * @param seq      the ints to encode
+   * @param encoding the payload encoding
+   * @return a little-endian buffer holding the record, positioned at 0
+   * @throws NullPointerException if seq or encoding is null
+   */
+  public static ByteBuffer encode(IntSequence seq, Encoding encoding) {
+    if (seq == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    if (encoding == null) {
+      throw new NullPointerException("Encoding cannot be null");
+    }
+    int n = seq.size();
+    long maxBytes = HEADER_BYTES + TRAILER_BYTES
+        + (long) n * (encoding == Encoding.RAW ? Integer.BYTES : 5);
+    ByteBuffer buf = ByteBuffer.allocate((int) Math.min(maxBytes, Integer.MAX_VALUE - 8))
+        .order(ByteOrder.LITTLE_ENDIAN);
+    putHeader(buf, encoding, n);
+    int previous = 0;
+    for (int i = 0; i < n; i++) {
+      int value = seq.get(i);
+      if (encoding == Encoding.RAW) {
+        buf.putInt(value);
+      } else {
+        putVarint(buf, value - previous);
+        previous = value;
+      }
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(buf.array(), 0, buf.position());
+    buf.putInt((int) crc.getValue());
+    if (encoding == Encoding.DELTA) {
+      buf = ByteBuffer.wrap(Arrays.copyOf(buf.array(), buf.position()))
+          .order(ByteOrder.LITTLE_ENDIAN);
+    } else {
+      buf.flip();
+    }
+    return buf;
+  }
+
+  /**
+   * Writes a sequence as one record to a channel
+   *
+   * @param seq      the ints to write
+   * @param encoding the payload encoding
+   * @param out      the channel to write to; not closed
+   * @throws NullPointerException if seq, encoding or out is null
+   * @throws IOException if an I/O error occurs
+   */
+  public static void write(IntSequence seq, Encoding encoding, WritableByteChannel out)
+      throws IOException {
+    if (seq == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    Writer writer = writer(out, seq.size(), encoding);
+    for (int i = 0; i < seq.size(); i++) {
+      writer.add(seq.get(i));
+    }
+    writer.finish();
+  }
+
+  /**
+   * Starts streaming a record of a known length to a channel
+   *
+   * @param out      the channel to write to; not closed
+   * @param length   the number of ints that will be added
+   * @param encoding the payload encoding
+   * @return a writer that accepts exactly length ints
+   * @throws NullPointerException if out or encoding is null
+   * @throws IllegalArgumentException if length is negative
+   */
+  public static Writer writer(WritableByteChannel out, int length, Encoding encoding) {
+    if (out == null) {
+      throw new NullPointerException("Channel cannot be null");
+    }
+    if (encoding == null) {
+      throw new NullPointerException("Encoding cannot be null");
+    }
+    if (length < 0) {
+      throw new IllegalArgumentException("length cannot be negative: " + length);
+    }
+    return new Writer(out, length, encoding);
+  }
+
+  /**
+   * Reads one record starting at the buffer's position and advances the position past
+   * it. A raw payload is returned as a view over the buffer, without copying.
+   *
+   * @param buf the buffer to read; its byte order is ignored
+   * @return the ints in the record
+   * @throws NullPointerException if buf is null
+   * @throws IOException if the record is malformed, truncated or fails its checksum
+   */
+  public static IntSequence read(ByteBuffer buf) throws IOException {
+    if (buf == null) {
+      throw new NullPointerException("Buffer cannot be null");
+    }
+    ByteBuffer in = buf.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (in.remaining() < HEADER_BYTES + TRAILER_BYTES) {
+      throw new IOException("Record is truncated: " + in.remaining() + " bytes");
+    }
+    if (in.getInt() != MAGIC) {
+      throw new IOException("Not an int vector record");
+    }
+    byte version = in.get();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version: " + version);
+    }
+    int code = in.get();
+    if (code < 0 || code >= Encoding.values().length) {
+      throw new IOException("Unknown encoding: " + code);
+    }
+    Encoding encoding = Encoding.values()[code];
+    in.getShort();
+    int n = in.getInt();
+    if (n < 0) {
+      throw new IOException("Negative length: " + n);
+    }
+    IntSequence ret;
+    if (encoding == Encoding.RAW) {
+      if (in.remaining() - TRAILER_BYTES < (long) n * Integer.BYTES) {
+        throw new IOException("Record is truncated: expected " + n + " ints");
+      }
+      ret = new BufferSequence(
+          in.slice(HEADER_BYTES, n * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
+      in.position(HEADER_BYTES + n * Integer.BYTES);
+    } else {
+      // Every varint takes at least one byte, so check the length before allocating
+      if (in.remaining() - TRAILER_BYTES < n) {
+        throw new IOException("Record is truncated: expected " + n + " ints");
+      }
+      int[] values = new int[n];
+      int previous = 0;
+      try {
+        for (int i = 0; i < n; i++) {
+          previous += getVarint(in);
+          values[i] = previous;
+        }
+      } catch (BufferUnderflowException e) {
+        throw new IOException("Record is truncated: expected " + n + " ints", e);
+      }
+      ret = new IntVector(values, n);
+    }
+    int end = in.position();
+    if (in.remaining() < TRAILER_BYTES) {
+      throw new IOException("Record is truncated: missing checksum");
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(in.duplicate().position(0).limit(end));
+    if (in.getInt() != (int) crc.getValue()) {
+      throw new IOException("Checksum mismatch");
+    }
+    buf.position(buf.position() + in.position());
+    return ret;
+  }
+
+  /**
+   * Maps a file holding one record and reads it. A raw payload is returned as a view
+   * over the mapped pages, which stays valid after this method returns.
+   *
+   * @param file the file to map
+   * @return the ints in the record
+   * @throws NullPointerException if file is null
+   * @throws IOException if the file is larger than 2 GB, the record is malformed or an
+   *                     I/O error occurs
+   */
+  public static IntSequence map(Path file) throws IOException {
+    if (file == null) {
+      throw new NullPointerException("Path cannot be null");
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long bytes = channel.size();
+      if (bytes > Integer.MAX_VALUE) {
+        throw new IOException("File is too large to map: " + bytes + " bytes");
+      }
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes));
+    }
+  }
+
+  /**
+   * Streams one record to a channel. The header is written first, ints are buffered and
+   * flushed {@value #BUFFER_BYTES} bytes at a time, and {@link #finish} writes the
+   * checksum. Not thread-safe.
+   */
+  public static final class Writer implements IntConsumer {
+    private final WritableByteChannel out;
+    private final int length;
+    private final Encoding encoding;
+    private final ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private int count;
+    private int previous;
+    private boolean finished;
+
+    private Writer(WritableByteChannel out, int length, Encoding encoding) {
+      this.out = out;
+      this.length = length;
+      this.encoding = encoding;
+      putHeader(buf, encoding, length);
+    }
+
+    /**
+     * Appends an int to the record
+     *
+     * @param value the int to append
+     * @throws IllegalStateException if length ints were already added or the writer is
+     *                               finished
+     * @throws IOException if an I/O error occurs
+     */
+    public void add(int value) throws IOException {
+      if (finished) {
+        throw new IllegalStateException("Writer is finished");
+      }
+      if (count == length) {
+        throw new IllegalStateException("Record is full: length " + length);
+      }
+      if (buf.remaining() < 5) {
+        flush();
+      }
+      if (encoding == Encoding.RAW) {
+        buf.putInt(value);
+      } else {
+        putVarint(buf, value - previous);
+        previous = value;
+      }
+      count++;
+    }
+
+    /**
+     * {@link #add} for use as an IntConsumer, such as {@code IntVector.forEach(writer)}
+     *
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    @Override
+    public void accept(int value) {
+      try {
+        add(value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * Writes any buffered ints and the checksum, completing the record
+     *
+     * @throws IllegalStateException if fewer than length ints were added or the writer
+     *                               is already finished
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+      if (finished) {
+        throw new IllegalStateException("Writer is finished");
+      }
+      if (count != length) {
+        throw new IllegalStateException("Expected " + length + " ints, got: " + count);
+      }
+      flush();
+      buf.putInt((int) crc.getValue());
+      buf.flip();
+      while (buf.hasRemaining()) {
+        out.write(buf);
+      }
+      finished = true;
+    }
+
+    private void flush() throws IOException {
+      buf.flip();
+      crc.update(buf.duplicate());
+      while (buf.hasRemaining()) {
+        out.write(buf);
+      }
+      buf.clear();
+    }
+  }
+
+  private static void putHeader(ByteBuffer buf, Encoding encoding, int length) {
+    buf.putInt(MAGIC);
+    buf.put(VERSION);
+    buf.put((byte) encoding.ordinal());
+    buf.putShort((short) 0);
+    buf.putInt(length);
+  }
+
+  private static void putVarint(ByteBuffer buf, int delta) {
+    int zigzag = (delta << 1) ^ (delta >> 31);
+    while ((zigzag & ~0x7F) != 0) {
+      buf.put((byte) (zigzag | 0x80));
+      zigzag >>>= 7;
+    }
+    buf.put((byte) zigzag);
+  }
+
+  private static int getVarint(ByteBuffer buf) throws IOException {
+    int zigzag = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte next = buf.get();
+      zigzag |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  /**
+   * A read-only view of a little-endian IntBuffer
+   */
+  private static final class BufferSequence implements IntSequence {
+    private final IntBuffer ints;
+
+    BufferSequence(IntBuffer ints) {
+      this.ints = ints;
+    }
+
+    @Override
+    public int size() {
+      return ints.limit();
+    }
+
+    @Override
+    public int get(int index) {
+      if (index < 0 || index >= ints.limit()) {
+        throw new IndexOutOfBoundsException(
+            "Index out of bounds: " + index + " for size: " + ints.limit());
+      }
+      return ints.get(index);
+    }
+
+    @Override
+    public int[] toArray() {
+      int[] ret = new int[ints.limit()];
+      ints.get(0, ret);
+      return ret;
+    }
+  }
+}
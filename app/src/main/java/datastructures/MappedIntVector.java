@@ -0,0 +1,375 @@
+package datastructures;
+
+import algorithms.ExternalSort;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A vector of ints stored in a file and accessed through memory mapping, for data sets
+ * larger than the heap.
+ *
+ * <p>The file is a raw sequence of 4-byte big-endian ints, the layout read and written
+ * by {@link ExternalSort}. It is mapped in chunks of {@value #DEFAULT_CHUNK_INTS} ints
+ * (1 GiB, under the 2 GB limit of a single mapping), and indices are longs. Reads and
+ * writes go straight to the mapped pages with no deserialization; in a writable vector,
+ * {@link #set} and the in-place operations write through to the file, and
+ * {@link #force} flushes them to storage.</p>
+ *
+ * <p>{@link #close} closes the file and makes the vector unusable, but the JDK only
+ * releases a mapping when its buffer is garbage collected. Not thread-safe.</p>
+ */
+public final class MappedIntVector implements Closeable {
+  /** Ints per mapped chunk; a power of two so an index splits with a shift */
+  static final int DEFAULT_CHUNK_INTS = 1 << 28;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final boolean writable;
+  private final long size;
+  private final int chunkShift;
+  private final long chunkMask;
+  private MappedByteBuffer[] maps;
+  private IntBuffer[] chunks;
+
+  private MappedIntVector(Path file, FileChannel channel, boolean writable, long size,
+      int chunkInts) throws IOException {
+    this.file = file;
+    this.channel = channel;
+    this.writable = writable;
+    this.size = size;
+    this.chunkShift = Integer.numberOfTrailingZeros(chunkInts);
+    this.chunkMask = chunkInts - 1;
+    int count = (int) ((size + chunkInts - 1) >>> chunkShift);
+    this.maps = new MappedByteBuffer[count];
+    this.chunks = new IntBuffer[count];
+    FileChannel.MapMode mode =
+        writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+    for (int c = 0; c < count; c++) {
+      long first = (long) c << chunkShift;
+      long ints = Math.min(chunkInts, size - first);
+      maps[c] = channel.map(mode, first * Integer.BYTES, ints * Integer.BYTES);
+      chunks[c] = maps[c].asIntBuffer();
+    }
+  }
+
+  /**
+   * Maps an existing int file for reading
+   *
+   * @param file the file to map
+   * @return a read-only vector over the file
+   * @throws NullPointerException if file is null
+   * @throws IOException if the file length is not a multiple of 4 bytes or an I/O
+   *                     error occurs
+   */
+  public static MappedIntVector openReadOnly(Path file) throws IOException {
+    return open(file, false, DEFAULT_CHUNK_INTS);
+  }
+
+  /**
+   * Maps an existing int file for reading and writing
+   *
+   * @param file the file to map
+   * @return a writable vector over the file
+   * @throws NullPointerException if file is null
+   * @throws IOException if the file length is not a multiple of 4 bytes or an I/O
+   *                     error occurs
+   */
+  public static MappedIntVector openReadWrite(Path file) throws IOException {
+    return open(file, true, DEFAULT_CHUNK_INTS);
+  }
+
+  /**
+   * Creates or truncates a file holding size zeros and maps it for reading and writing
+   *
+   * @param file the file to create
+   * @param size the number of ints
+   * @return a writable vector over the new file
+   * @throws NullPointerException if file is null
+   * @throws IllegalArgumentException if size is negative
+   * @throws IOException if an I/O error occurs
+   */
+  public static MappedIntVector create(Path file, long size) throws IOException {
+    return create(file, size, DEFAULT_CHUNK_INTS);
+  }
+
+  /**
+   * {@link #create} with a given chunk size, so tests can cover chunk boundaries
+   * without gigabyte files
+   */
+  static MappedIntVector create(Path file, long size, int chunkInts) throws IOException {
+    if (file == null) {
+      throw new NullPointerException("Path cannot be null");
+    }
+    if (size < 0) {
+      throw new IllegalArgumentException("size cannot be negative: " + size);
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.setLength(0);
+      raf.setLength(size * Integer.BYTES);
+    }
+    return open(file, true, chunkInts);
+  }
+
+  /**
+   * {@link #openReadOnly} and {@link #openReadWrite} with a given chunk size
+   */
+  static MappedIntVector open(Path file, boolean writable, int chunkInts) throws IOException {
+    if (file == null) {
+      throw new NullPointerException("Path cannot be null");
+    }
+    if (Integer.bitCount(chunkInts) != 1) {
+      throw new IllegalArgumentException("Chunk size must be a power of two: " + chunkInts);
+    }
+    FileChannel channel = writable
+        ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+        : FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      long bytes = channel.size();
+      if (bytes % Integer.BYTES != 0) {
+        throw new IOException("Input length is not a multiple of " + Integer.BYTES + " bytes");
+      }
+      return new MappedIntVector(file, channel, writable, bytes / Integer.BYTES, chunkInts);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of ints in the file
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the vector can be written
+   */
+  public boolean isWritable() {
+    return writable;
+  }
+
+  /**
+   * Returns the element at an index
+   *
+   * @param index the index of the element
+   * @return the element
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   * @throws IllegalStateException if the vector is closed
+   */
+  public int get(long index) {
+    checkIndex(index);
+    return chunks()[(int) (index >>> chunkShift)].get((int) (index & chunkMask));
+  }
+
+  /**
+   * Replaces the element at an index, writing through to the file
+   *
+   * @param index the index of the element
+   * @param value the new value
+   * @return the previous value
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   * @throws IllegalStateException if the vector is read-only or closed
+   */
+  public int set(long index, int value) {
+    checkIndex(index);
+    checkWritable();
+    IntBuffer chunk = chunks[(int) (index >>> chunkShift)];
+    int offset = (int) (index & chunkMask);
+    int old = chunk.get(offset);
+    chunk.put(offset, value);
+    return old;
+  }
+
+  /**
+   * Counts the instances of n
+   *
+   * @param n the value to count
+   * @return the number of indices where n was found
+   * @throws IllegalStateException if the vector is closed
+   */
+  public long countMatches(int n) {
+    long count = 0;
+    for (IntBuffer chunk : chunks()) {
+      int limit = chunk.limit();
+      for (int i = 0; i < limit; i++) {
+        count += chunk.get(i) == n ? 1 : 0;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Searches the vector for all instances of n
+   *
+   * @param n the value to search for
+   * @return the indices where n was found, in ascending order
+   * @throws IllegalStateException if the vector is closed, or there are more matches
+   *                               than fit in an array
+   */
+  public long[] searchVector(int n) {
+    long count = countMatches(n);
+    if (count > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Too many matches for an array: " + count);
+    }
+    long[] indices = new long[(int) count];
+    int k = 0;
+    for (int c = 0; c < chunks.length && k < indices.length; c++) {
+      IntBuffer chunk = chunks[c];
+      long base = (long) c << chunkShift;
+      int limit = chunk.limit();
+      for (int i = 0; i < limit; i++) {
+        if (chunk.get(i) == n) {
+          indices[k++] = base + i;
+        }
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Adds 1 to each element in place, writing through to the file
+   *
+   * @throws IllegalStateException if the vector is read-only or closed
+   */
+  public void modifyVector() {
+    checkWritable();
+    for (IntBuffer chunk : chunks) {
+      int limit = chunk.limit();
+      for (int i = 0; i < limit; i++) {
+        chunk.put(i, chunk.get(i) + 1);
+      }
+    }
+  }
+
+  /**
+   * Reverses the vector in place by swapping elements from both ends, writing through
+   * to the file
+   *
+   * @throws IllegalStateException if the vector is read-only or closed
+   */
+  public void reverseInPlace() {
+    checkWritable();
+    for (long i = 0, j = size - 1; i < j; i++, j--) {
+      IntBuffer a = chunks[(int) (i >>> chunkShift)];
+      IntBuffer b = chunks[(int) (j >>> chunkShift)];
+      int ia = (int) (i & chunkMask);
+      int ib = (int) (j & chunkMask);
+      int tmp = a.get(ia);
+      a.put(ia, b.get(ib));
+      b.put(ib, tmp);
+    }
+  }
+
+  /**
+   * Writes the elements in ascending order to another file with {@link ExternalSort},
+   * reading this vector's file through the page cache rather than the heap
+   *
+   * @param output  the file to write to; created or truncated
+   * @param tempDir the directory to spill sorted runs to
+   * @return the number of ints sorted
+   * @throws NullPointerException if output or tempDir is null
+   * @throws IllegalArgumentException if output is this vector's file
+   * @throws IllegalStateException if the vector is closed
+   * @throws IOException if an I/O error occurs
+   */
+  public long sortTo(Path output, Path tempDir) throws IOException {
+    chunks();
+    if (output == null) {
+      throw new NullPointerException("Output path cannot be null");
+    }
+    // Truncating the mapped file would fault every later read of the mapping
+    if (Files.exists(output) && Files.isSameFile(output, file)) {
+      throw new IllegalArgumentException("Output cannot be the vector's own file: " + output);
+    }
+    if (writable) {
+      force();
+    }
+    return ExternalSort.sort(file, output, ExternalSort.DEFAULT_RUN_SIZE,
+        ExternalSort.DEFAULT_FAN_IN, tempDir);
+  }
+
+  /**
+   * Sorts the vector in ascending order: {@link ExternalSort} writes the sorted ints to
+   * a temporary file, which is then copied back into the mapping
+   *
+   * @param tempDir the directory for the sorted copy and spilled runs
+   * @throws NullPointerException if tempDir is null
+   * @throws IllegalStateException if the vector is read-only or closed
+   * @throws IOException if an I/O error occurs
+   */
+  public void sortInPlace(Path tempDir) throws IOException {
+    checkWritable();
+    if (tempDir == null) {
+      throw new NullPointerException("Temp directory cannot be null");
+    }
+    Path sorted = Files.createTempFile(tempDir, "sort-mapped-", ".bin");
+    try {
+      sortTo(sorted, tempDir);
+      try (FileChannel in = FileChannel.open(sorted, StandardOpenOption.READ)) {
+        for (MappedByteBuffer map : maps) {
+          ByteBuffer target = map.duplicate();
+          target.clear();
+          while (target.hasRemaining()) {
+            if (in.read(target) < 0) {
+              throw new IOException("Sorted copy is shorter than the input");
+            }
+          }
+        }
+      }
+    } finally {
+      Files.deleteIfExists(sorted);
+    }
+  }
+
+  /**
+   * Flushes writes to the storage device
+   *
+   * @throws IllegalStateException if the vector is closed
+   */
+  public void force() {
+    chunks();
+    for (MappedByteBuffer map : maps) {
+      map.force();
+    }
+  }
+
+  /**
+   * Closes the file. Written pages are flushed by the operating system; call
+   * {@link #force} first to flush them synchronously.
+   */
+  @Override
+  public void close() throws IOException {
+    maps = null;
+    chunks = null;
+    channel.close();
+  }
+
+  private IntBuffer[] chunks() {
+    if (chunks == null) {
+      throw new IllegalStateException("Vector is closed");
+    }
+    return chunks;
+  }
+
+  private void checkIndex(long index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + index + " for size: " + size);
+    }
+  }
+
+  private void checkWritable() {
+    chunks();
+    if (!writable) {
+      throw new IllegalStateException("Vector is read-only");
+    }
+  }
+}
@@ -0,0 +1,268 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A read-only vector of ints compressed with frame-of-reference bit-packing.
+ *
+ * <p>Elements are split into blocks of {@value #BLOCK_SIZE}. Each block stores its
+ * minimum and packs every element as {@code value - min} in just enough bits for the
+ * block's range, so values from {@code GenVector.generateVector(n, m)} take
+ * ceil(log2 m) bits each instead of a 16 byte {@code Integer}, and a block of equal
+ * values takes no bits at all. Subtracting the minimum makes this at least as compact as
+ * plain bit-packing for every input.</p>
+ *
+ * <p>{@link #get} unpacks one element in O(1). {@link #countMatches},
+ * {@link #searchVector} and {@link #sum} scan the packed form block by block without
+ * materializing it, and the search methods skip any block whose range cannot contain
+ * the target.</p>
+ */
+public final class PackedIntVector implements IntSequence {
+  static final int BLOCK_SIZE = 128;
+  private static final int BLOCK_SHIFT = 7;
+
+  private final int size;
+  private final int[] blockMin;
+  private final byte[] blockBits;
+  /** Bit position of each block's first element in words */
+  private final long[] blockStart;
+  private final long[] words;
+
+  private PackedIntVector(int size, int[] blockMin, byte[] blockBits, long[] blockStart,
+      long[] words) {
+    this.size = size;
+    this.blockMin = blockMin;
+    this.blockBits = blockBits;
+    this.blockStart = blockStart;
+    this.words = words;
+  }
+
+  /**
+   * Compresses an array of ints
+   *
+   * @param values the values to compress; not modified
+   * @return a new packed vector with the same elements
+   * @throws NullPointerException if values is null
+   */
+  public static PackedIntVector encode(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    int n = values.length;
+    int blocks = (n + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    int[] blockMin = new int[blocks];
+    byte[] blockBits = new byte[blocks];
+    long[] blockStart = new long[blocks];
+    long totalBits = 0;
+    for (int b = 0; b < blocks; b++) {
+      int from = b << BLOCK_SHIFT;
+      int to = Math.min(from + BLOCK_SIZE, n);
+      int min = values[from];
+      int max = values[from];
+      for (int i = from + 1; i < to; i++) {
+        min = Math.min(min, values[i]);
+        max = Math.max(max, values[i]);
+      }
+      blockMin[b] = min;
+      blockBits[b] = (byte) (Long.SIZE - Long.numberOfLeadingZeros((long) max - min));
+      blockStart[b] = totalBits;
+      totalBits += (long) blockBits[b] * (to - from);
+    }
+    long[] words = new long[(int) ((totalBits + Long.SIZE - 1) >>> 6)];
+    for (int b = 0; b < blocks; b++) {
+      int bits = blockBits[b];
+      if (bits == 0) {
+        continue;
+      }
+      int from = b << BLOCK_SHIFT;
+      int to = Math.min(from + BLOCK_SIZE, n);
+      long pos = blockStart[b];
+      for (int i = from; i < to; i++, pos += bits) {
+        write(words, pos, (long) values[i] - blockMin[b]);
+      }
+    }
+    return new PackedIntVector(n, blockMin, blockBits, blockStart, words);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + index + " for size: " + size);
+    }
+    int b = index >>> BLOCK_SHIFT;
+    int bits = blockBits[b];
+    if (bits == 0) {
+      return blockMin[b];
+    }
+    long pos = blockStart[b] + (long) (index & (BLOCK_SIZE - 1)) * bits;
+    return (int) (blockMin[b] + read(words, pos, bits));
+  }
+
+  /**
+   * Returns the number of blocks
+   */
+  public int blockCount() {
+    return blockMin.length;
+  }
+
+  /**
+   * Unpacks one block
+   *
+   * @param block the block to decode
+   * @param out   the array to write the block's elements to, starting at index 0; must
+   *              hold at least {@value #BLOCK_SIZE} ints
+   * @return the number of elements written
+   * @throws IndexOutOfBoundsException if block is outside [0, blockCount())
+   * @throws NullPointerException if out is null
+   * @throws IllegalArgumentException if out is shorter than {@value #BLOCK_SIZE}
+   */
+  public int decodeBlock(int block, int[] out) {
+    if (block < 0 || block >= blockMin.length) {
+      throw new IndexOutOfBoundsException(
+          "Block out of bounds: " + block + " for count: " + blockMin.length);
+    }
+    if (out == null) {
+      throw new NullPointerException("Output array cannot be null");
+    }
+    if (out.length < BLOCK_SIZE) {
+      throw new IllegalArgumentException("Output array too small, got length: " + out.length);
+    }
+    int length = blockLength(block);
+    int min = blockMin[block];
+    int bits = blockBits[block];
+    if (bits == 0) {
+      Arrays.fill(out, 0, length, min);
+      return length;
+    }
+    long pos = blockStart[block];
+    for (int i = 0; i < length; i++, pos += bits) {
+      out[i] = (int) (min + read(words, pos, bits));
+    }
+    return length;
+  }
+
+  /**
+   * Counts the instances of n, skipping blocks whose range excludes it
+   *
+   * @param n the value to count
+   * @return the number of indices where n was found
+   */
+  public int countMatches(int n) {
+    int count = 0;
+    for (int b = 0; b < blockMin.length; b++) {
+      long target = (long) n - blockMin[b];
+      int bits = blockBits[b];
+      if (target < 0 || target >>> bits != 0) {
+        continue;
+      }
+      int length = blockLength(b);
+      if (bits == 0) {
+        count += length;
+        continue;
+      }
+      long pos = blockStart[b];
+      for (int i = 0; i < length; i++, pos += bits) {
+        count += read(words, pos, bits) == target ? 1 : 0;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Searches the vector for all instances of n, skipping blocks whose range excludes it
+   *
+   * @param n the value to search for
+   * @return An IntVector of all indices where n was found
+   */
+  public IntVector searchVector(int n) {
+    IntVector indices = new IntVector();
+    for (int b = 0; b < blockMin.length; b++) {
+      long target = (long) n - blockMin[b];
+      int bits = blockBits[b];
+      if (target < 0 || target >>> bits != 0) {
+        continue;
+      }
+      int from = b << BLOCK_SHIFT;
+      int length = blockLength(b);
+      long pos = blockStart[b];
+      for (int i = 0; i < length; i++, pos += bits) {
+        if (bits == 0 || read(words, pos, bits) == target) {
+          indices.add(from + i);
+        }
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Returns the sum of the elements, computed per block as
+   * {@code length * min + sum of packed offsets}
+   *
+   * @return the sum as a long
+   */
+  public long sum() {
+    long sum = 0;
+    for (int b = 0; b < blockMin.length; b++) {
+      int length = blockLength(b);
+      int bits = blockBits[b];
+      long offsets = 0;
+      long pos = blockStart[b];
+      for (int i = 0; bits > 0 && i < length; i++, pos += bits) {
+        offsets += read(words, pos, bits);
+      }
+      sum += (long) blockMin[b] * length + offsets;
+    }
+    return sum;
+  }
+
+  @Override
+  public int[] toArray() {
+    int[] ret = new int[size];
+    int[] block = new int[BLOCK_SIZE];
+    for (int b = 0; b < blockMin.length; b++) {
+      int length = decodeBlock(b, block);
+      System.arraycopy(block, 0, ret, b << BLOCK_SHIFT, length);
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the approximate number of bytes used by the compressed data and block
+   * headers
+   */
+  public long compressedBytes() {
+    long header = Integer.BYTES + 1 + Long.BYTES;
+    return (long) words.length * Long.BYTES + blockMin.length * header;
+  }
+
+  private int blockLength(int block) {
+    return Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+  }
+
+  /**
+   * Reads bits (1 to 32) bits starting at bit pos, which may straddle two words
+   */
+  private static long read(long[] words, long pos, int bits) {
+    int w = (int) (pos >>> 6);
+    int shift = (int) pos & 63;
+    long value = words[w] >>> shift;
+    if (shift + bits > Long.SIZE) {
+      value |= words[w + 1] << (Long.SIZE - shift);
+    }
+    return value & ((1L << bits) - 1);
+  }
+
+  private static void write(long[] words, long pos, long value) {
+    int w = (int) (pos >>> 6);
+    int shift = (int) pos & 63;
+    words[w] |= value << shift;
+    if (shift != 0 && (value >>> (Long.SIZE - shift)) != 0) {
+      words[w + 1] |= value >>> (Long.SIZE - shift);
+    }
+  }
+}
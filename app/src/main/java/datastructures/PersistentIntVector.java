@@ -0,0 +1,604 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable vector of ints that shares structure between versions.
+ *
+ * <p>Elements are stored in a relaxed radix-balanced (RRB) tree: leaves hold up to 32
+ * ints, branches hold up to 32 children plus a table of cumulative child sizes, and
+ * every leaf is at the same depth. {@link #set}, {@link #append}, {@link #slice} and
+ * {@link #concat} copy only the O(log n) nodes on the paths they change and share the
+ * rest, so a "copy" costs nothing and old versions stay valid. {@link #get} walks at
+ * most log32(n) levels, guessing each slot by radix and scanning forward past any
+ * undersized children.</p>
+ *
+ * <p>Concatenation rebalances only the nodes along the seam, merging children until
+ * each level has at most two more nodes than the minimum needed to hold its slots,
+ * which keeps lookups within a small constant of a fully packed tree.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads without copying.</p>
+ */
+public final class PersistentIntVector implements IntSequence {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  /** How many nodes above the minimum a level may keep after concatenation */
+  private static final int EXTRAS = 2;
+
+  private static final PersistentIntVector EMPTY =
+      new PersistentIntVector(new Leaf(new int[0]), 0, 0);
+
+  private final Node root;
+  /** The number of branch levels above the leaves */
+  private final int height;
+  private final int size;
+
+  private PersistentIntVector(Node root, int height, int size) {
+    this.root = root;
+    this.height = height;
+    this.size = size;
+  }
+
+  /**
+   * Returns the empty vector
+   */
+  public static PersistentIntVector empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a vector holding a copy of the given values, with every node full
+   *
+   * @param values the initial values
+   * @return a new vector
+   * @throws NullPointerException if values is null
+   */
+  public static PersistentIntVector of(int... values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    int n = values.length;
+    if (n == 0) {
+      return EMPTY;
+    }
+    Node[] level = new Node[(n + WIDTH - 1) / WIDTH];
+    for (int i = 0; i < level.length; i++) {
+      level[i] = new Leaf(Arrays.copyOfRange(values, i * WIDTH, Math.min((i + 1) * WIDTH, n)));
+    }
+    int height = 0;
+    while (level.length > 1) {
+      Node[] parents = new Node[(level.length + WIDTH - 1) / WIDTH];
+      for (int i = 0; i < parents.length; i++) {
+        parents[i] = branch(Arrays.copyOfRange(level, i * WIDTH, Math.min((i + 1) * WIDTH, level.length)));
+      }
+      level = parents;
+      height++;
+    }
+    return new PersistentIntVector(level[0], height, n);
+  }
+
+  /**
+   * Creates a vector holding a copy of a sequence
+   *
+   * @param seq the sequence to copy
+   * @return a new vector with the same elements in the same order
+   * @throws NullPointerException if seq is null
+   */
+  public static PersistentIntVector from(IntSequence seq) {
+    if (seq == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    if (seq instanceof PersistentIntVector) {
+      return (PersistentIntVector) seq;
+    }
+    return of(seq.toArray());
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int get(int index) {
+    checkIndex(index);
+    Node node = root;
+    for (int h = height; h > 0; h--) {
+      Branch b = (Branch) node;
+      int slot = b.slotOf(index, h);
+      if (slot > 0) {
+        index -= b.sizes[slot - 1];
+      }
+      node = b.children[slot];
+    }
+    return ((Leaf) node).values[index];
+  }
+
+  /**
+   * Returns a version with one element replaced
+   *
+   * @param index the index of the element
+   * @param value the new value
+   * @return a new vector sharing every node off the path to index
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   */
+  public PersistentIntVector set(int index, int value) {
+    checkIndex(index);
+    return new PersistentIntVector(set(root, height, index, value), height, size);
+  }
+
+  /**
+   * Returns a version with a value appended
+   *
+   * @param value the value to append
+   * @return a new vector sharing every node off the rightmost path
+   * @throws IllegalArgumentException if the vector already holds Integer.MAX_VALUE elements
+   */
+  public PersistentIntVector append(int value) {
+    if (size == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Vector is full");
+    }
+    Node pushed = pushLast(root, height, value);
+    if (pushed != null) {
+      return new PersistentIntVector(pushed, height, size + 1);
+    }
+    Node grown = branch(new Node[] { root, path(height, value) });
+    return new PersistentIntVector(grown, height + 1, size + 1);
+  }
+
+  /**
+   * Returns the elements in {@code [from, to)} as a vector
+   *
+   * @param from the first index to keep (inclusive)
+   * @param to   the last index to keep (exclusive)
+   * @return a vector sharing every node that lies wholly inside the range
+   * @throws IndexOutOfBoundsException if the range is out of bounds
+   */
+  public PersistentIntVector slice(int from, int to) {
+    if (from < 0 || to > size || from > to) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + from + ", " + to + ") out of bounds for size: " + size);
+    }
+    if (from == to) {
+      return EMPTY;
+    }
+    if (from == 0 && to == size) {
+      return this;
+    }
+    return collapse(slice(root, height, from, to), height, to - from);
+  }
+
+  /**
+   * Returns this vector followed by another, the counterpart of
+   * {@link DsVector#mergeVectors}
+   *
+   * @param other the vector to append
+   * @return a vector sharing every node off the seam between the two trees
+   * @throws NullPointerException if other is null
+   * @throws IllegalArgumentException if the combined size exceeds Integer.MAX_VALUE
+   */
+  public PersistentIntVector concat(PersistentIntVector other) {
+    if (other == null) {
+      throw new NullPointerException("PersistentIntVector cannot be null");
+    }
+    if (other.size == 0) {
+      return this;
+    }
+    if (size == 0) {
+      return other;
+    }
+    if ((long) size + other.size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "Combined size exceeds Integer.MAX_VALUE: " + ((long) size + other.size));
+    }
+    int total = size + other.size;
+    if (height == 0 && other.height == 0 && total <= WIDTH) {
+      int[] values = Arrays.copyOf(((Leaf) root).values, total);
+      System.arraycopy(((Leaf) other.root).values, 0, values, size, other.size);
+      return new PersistentIntVector(new Leaf(values), 0, total);
+    }
+    Node merged = concat(root, height, other.root, other.height);
+    return collapse(merged, Math.max(height, other.height) + 1, total);
+  }
+
+  /**
+   * Returns this vector rotated left by n, the counterpart of
+   * {@link DsVector#rotateVector}, as two slices and a concatenation
+   *
+   * @param n the rotation amount
+   * @return a rotated vector sharing most nodes with this one
+   * @throws IllegalArgumentException if n is negative or n >= size
+   */
+  public PersistentIntVector rotate(int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Rotation amount cannot be negative, got: " + n);
+    }
+    if (size > 0 && n >= size) {
+      throw new IllegalArgumentException(
+          "Rotation amount must be less than size, got: " + n + " for size: " + size);
+    }
+    if (n == 0) {
+      return this;
+    }
+    return slice(n, size).concat(slice(0, n));
+  }
+
+  /**
+   * Passes every element to action, in order
+   *
+   * @param action the consumer of each element
+   * @throws NullPointerException if action is null
+   */
+  public void forEach(IntConsumer action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    forEach(root, height, action);
+  }
+
+  @Override
+  public int[] toArray() {
+    int[] ret = new int[size];
+    copyLeaves(root, height, ret, 0);
+    return ret;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PersistentIntVector)) {
+      return false;
+    }
+    PersistentIntVector other = (PersistentIntVector) o;
+    return size == other.size && Arrays.equals(toArray(), other.toArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toArray());
+  }
+
+  /**
+   * Returns the elements in the same format as {@code ArrayList.toString()}
+   */
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+
+  /**
+   * Returns the number of branch levels above the leaves; for tests
+   */
+  int height() {
+    return height;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + index + " for size: " + size);
+    }
+  }
+
+  /**
+   * Drops single-child branches from the top of a tree
+   */
+  private static PersistentIntVector collapse(Node root, int height, int size) {
+    while (height > 0 && ((Branch) root).children.length == 1) {
+      root = ((Branch) root).children[0];
+      height--;
+    }
+    return new PersistentIntVector(root, height, size);
+  }
+
+  private static Node set(Node node, int h, int index, int value) {
+    if (h == 0) {
+      int[] values = ((Leaf) node).values.clone();
+      values[index] = value;
+      return new Leaf(values);
+    }
+    Branch b = (Branch) node;
+    int slot = b.slotOf(index, h);
+    Node[] children = b.children.clone();
+    children[slot] = set(children[slot], h - 1, slot > 0 ? index - b.sizes[slot - 1] : index, value);
+    return new Branch(children, b.sizes);
+  }
+
+  /**
+   * Appends value to the rightmost leaf under node, or to a new path off its rightmost
+   * spine
+   *
+   * @return the new node, or null if the subtree under node is full
+   */
+  private static Node pushLast(Node node, int h, int value) {
+    if (h == 0) {
+      int[] values = ((Leaf) node).values;
+      if (values.length == WIDTH) {
+        return null;
+      }
+      int[] grown = Arrays.copyOf(values, values.length + 1);
+      grown[values.length] = value;
+      return new Leaf(grown);
+    }
+    Branch b = (Branch) node;
+    int last = b.children.length - 1;
+    Node pushed = pushLast(b.children[last], h - 1, value);
+    if (pushed != null) {
+      Node[] children = b.children.clone();
+      children[last] = pushed;
+      int[] sizes = b.sizes.clone();
+      sizes[last]++;
+      return new Branch(children, sizes);
+    }
+    if (b.children.length == WIDTH) {
+      return null;
+    }
+    Node[] children = Arrays.copyOf(b.children, last + 2);
+    children[last + 1] = path(h - 1, value);
+    int[] sizes = Arrays.copyOf(b.sizes, last + 2);
+    sizes[last + 1] = sizes[last] + 1;
+    return new Branch(children, sizes);
+  }
+
+  /**
+   * Returns a tree of height h holding only value
+   */
+  private static Node path(int h, int value) {
+    Node node = new Leaf(new int[] { value });
+    for (int i = 0; i < h; i++) {
+      node = new Branch(new Node[] { node }, new int[] { 1 });
+    }
+    return node;
+  }
+
+  /**
+   * Returns the elements of node in [from, to) as a tree of the same height; from &lt; to
+   */
+  private static Node slice(Node node, int h, int from, int to) {
+    if (h == 0) {
+      return new Leaf(Arrays.copyOfRange(((Leaf) node).values, from, to));
+    }
+    Branch b = (Branch) node;
+    int first = b.slotOf(from, h);
+    int last = b.slotOf(to - 1, h);
+    Node[] children = new Node[last - first + 1];
+    for (int slot = first; slot <= last; slot++) {
+      int start = slot > 0 ? b.sizes[slot - 1] : 0;
+      int end = b.sizes[slot];
+      int lo = Math.max(from, start) - start;
+      int hi = Math.min(to, end) - start;
+      Node child = b.children[slot];
+      children[slot - first] = lo == 0 && hi == end - start ? child : slice(child, h - 1, lo, hi);
+    }
+    return branch(children);
+  }
+
+  /**
+   * Concatenates two trees, returning a tree one level taller than the taller of the
+   * two whose root has one or two children
+   */
+  private static Branch concat(Node left, int hl, Node right, int hr) {
+    if (hl > hr) {
+      Branch l = (Branch) left;
+      Branch mid = concat(l.children[l.children.length - 1], hl - 1, right, hr);
+      return rebalance(l, mid, null, hl);
+    }
+    if (hl < hr) {
+      Branch r = (Branch) right;
+      Branch mid = concat(left, hl, r.children[0], hr - 1);
+      return rebalance(null, mid, r, hr);
+    }
+    if (hl == 0) {
+      return branch(new Node[] { left, right });
+    }
+    Branch l = (Branch) left;
+    Branch r = (Branch) right;
+    Branch mid = concat(l.children[l.children.length - 1], hl - 1, r.children[0], hr - 1);
+    return rebalance(l, mid, r, hl);
+  }
+
+  /**
+   * Merges the children of left (without its last), mid, and right (without its
+   * first), all of height h - 1, redistributes them so there are at most
+   * {@value #EXTRAS} more than needed, and returns them under a node of height h + 1
+   */
+  private static Branch rebalance(Branch left, Branch mid, Branch right, int h) {
+    int leftCount = left == null ? 0 : left.children.length - 1;
+    int rightCount = right == null ? 0 : right.children.length - 1;
+    Node[] all = new Node[leftCount + mid.children.length + rightCount];
+    if (left != null) {
+      System.arraycopy(left.children, 0, all, 0, leftCount);
+    }
+    System.arraycopy(mid.children, 0, all, leftCount, mid.children.length);
+    if (right != null) {
+      System.arraycopy(right.children, 1, all, leftCount + mid.children.length, rightCount);
+    }
+    Node[] merged = redistribute(all, plan(all), h - 1);
+    if (merged.length <= WIDTH) {
+      return branch(new Node[] { branch(merged) });
+    }
+    return branch(new Node[] {
+        branch(Arrays.copyOfRange(merged, 0, WIDTH)),
+        branch(Arrays.copyOfRange(merged, WIDTH, merged.length)) });
+  }
+
+  /**
+   * Plans new slot counts for a run of sibling nodes. While there are more than
+   * {@value #EXTRAS} nodes above the minimum, the first node that is not nearly full
+   * is emptied into its successors, each topped up to {@value #WIDTH} slots, and
+   * dropped.
+   */
+  private static int[] plan(Node[] all) {
+    int n = all.length;
+    int[] slots = new int[n];
+    int total = 0;
+    for (int i = 0; i < n; i++) {
+      slots[i] = all[i].slots();
+      total += slots[i];
+    }
+    int optimal = (total + WIDTH - 1) / WIDTH;
+    int i = 0;
+    while (n > optimal + EXTRAS) {
+      while (slots[i] > WIDTH - EXTRAS / 2) {
+        i++;
+      }
+      int remaining = slots[i];
+      while (remaining > 0) {
+        int filled = Math.min(remaining + slots[i + 1], WIDTH);
+        remaining += slots[i + 1] - filled;
+        slots[i] = filled;
+        i++;
+      }
+      System.arraycopy(slots, i + 1, slots, i, n - i - 1);
+      n--;
+      i--;
+    }
+    return Arrays.copyOf(slots, n);
+  }
+
+  /**
+   * Repacks the slots of all into nodes with the planned slot counts, reusing any node
+   * whose contents are unchanged
+   */
+  private static Node[] redistribute(Node[] all, int[] plan, int h) {
+    Node[] out = new Node[plan.length];
+    int src = 0;
+    int offset = 0;
+    for (int k = 0; k < plan.length; k++) {
+      int want = plan[k];
+      if (offset == 0 && all[src].slots() == want) {
+        out[k] = all[src++];
+        continue;
+      }
+      if (h == 0) {
+        int[] values = new int[want];
+        for (int filled = 0; filled < want; ) {
+          int[] from = ((Leaf) all[src]).values;
+          int take = Math.min(want - filled, from.length - offset);
+          System.arraycopy(from, offset, values, filled, take);
+          filled += take;
+          offset += take;
+          if (offset == from.length) {
+            src++;
+            offset = 0;
+          }
+        }
+        out[k] = new Leaf(values);
+      } else {
+        Node[] children = new Node[want];
+        for (int filled = 0; filled < want; ) {
+          Node[] from = ((Branch) all[src]).children;
+          int take = Math.min(want - filled, from.length - offset);
+          System.arraycopy(from, offset, children, filled, take);
+          filled += take;
+          offset += take;
+          if (offset == from.length) {
+            src++;
+            offset = 0;
+          }
+        }
+        out[k] = branch(children);
+      }
+    }
+    return out;
+  }
+
+  private static void forEach(Node node, int h, IntConsumer action) {
+    if (h == 0) {
+      for (int value : ((Leaf) node).values) {
+        action.accept(value);
+      }
+      return;
+    }
+    for (Node child : ((Branch) node).children) {
+      forEach(child, h - 1, action);
+    }
+  }
+
+  private static int copyLeaves(Node node, int h, int[] out, int at) {
+    if (h == 0) {
+      int[] values = ((Leaf) node).values;
+      System.arraycopy(values, 0, out, at, values.length);
+      return at + values.length;
+    }
+    for (Node child : ((Branch) node).children) {
+      at = copyLeaves(child, h - 1, out, at);
+    }
+    return at;
+  }
+
+  /**
+   * Creates a branch, computing its cumulative size table
+   */
+  private static Branch branch(Node[] children) {
+    int[] sizes = new int[children.length];
+    int total = 0;
+    for (int i = 0; i < children.length; i++) {
+      total += children[i].size();
+      sizes[i] = total;
+    }
+    return new Branch(children, sizes);
+  }
+
+  private abstract static class Node {
+    /** Returns the number of ints under this node */
+    abstract int size();
+
+    /** Returns the number of values (leaf) or children (branch) held directly */
+    abstract int slots();
+  }
+
+  private static final class Leaf extends Node {
+    final int[] values;
+
+    Leaf(int[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int size() {
+      return values.length;
+    }
+
+    @Override
+    int slots() {
+      return values.length;
+    }
+  }
+
+  private static final class Branch extends Node {
+    final Node[] children;
+    /** sizes[i] is the number of ints under children[0..i] */
+    final int[] sizes;
+
+    Branch(Node[] children, int[] sizes) {
+      this.children = children;
+      this.sizes = sizes;
+    }
+
+    @Override
+    int size() {
+      return sizes[sizes.length - 1];
+    }
+
+    @Override
+    int slots() {
+      return children.length;
+    }
+
+    /**
+     * Returns the child holding index, for a branch at height h. A child holds at most
+     * 32^h ints, so the radix guess is never past the answer.
+     */
+    int slotOf(int index, int h) {
+      int shift = BITS * h;
+      int slot = shift < Integer.SIZE ? Math.min(index >>> shift, children.length - 1) : 0;
+      while (sizes[slot] <= index) {
+        slot++;
+      }
+      return slot;
+    }
+  }
+}
@@ -0,0 +1,811 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * A compressed set of non-negative ints in the style of Roaring bitmaps, for index sets
+ * such as the results of {@code searchVector}.
+ *
+ * <p>Values are grouped by their high 16 bits into chunks of 2<sup>16</sup>, and each
+ * non-empty chunk is stored in whichever container is smallest:</p>
+ * <ul>
+ *   <li>an array of sorted 16-bit values, 2 bytes per value, for sparse chunks;</li>
+ *   <li>a 1024-word bitmap, a fixed 8 KiB, for dense chunks;</li>
+ *   <li>a list of runs, 4 bytes per run of consecutive values, for clustered chunks.</li>
+ * </ul>
+ *
+ * <p>So a million matches that form one run take a few hundred bytes instead of a
+ * million boxed {@code Integer}s. {@link #and}, {@link #or} and
+ * {@link #andCardinality} work chunk by chunk, on 64-bit words where both sides are
+ * dense, and {@link #cardinality} is O(number of chunks). {@link DsVector#searchRoaring}
+ * and {@link DsIntVector#searchRoaring} build the result of a search directly. Not
+ * thread-safe.</p>
+ */
+public final class RoaringBitmap {
+  private static final int CHUNK_BITS = 16;
+  static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int WORDS = CHUNK_SIZE / Long.SIZE;
+  /** Largest cardinality stored as an array; above it a bitmap is smaller */
+  static final int ARRAY_MAX = 4096;
+
+  private int[] keys = new int[4];
+  private Container[] containers = new Container[4];
+  private int size;
+
+  /**
+   * Creates an empty bitmap
+   */
+  public RoaringBitmap() {
+  }
+
+  /**
+   * Creates a bitmap holding the given values
+   *
+   * @param values the values, in any order
+   * @return a new bitmap
+   * @throws NullPointerException if values is null
+   * @throws IllegalArgumentException if any value is negative
+   */
+  public static RoaringBitmap of(int... values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    RoaringBitmap ret = new RoaringBitmap();
+    for (int value : values) {
+      ret.add(value);
+    }
+    return ret;
+  }
+
+  /**
+   * Builds the set of indices in [0, size) where a test passes, a chunk at a time, so
+   * each chunk is scanned into one reused bitmap and stored in its smallest container
+   */
+  static RoaringBitmap collect(int size, IntPredicate test) {
+    RoaringBitmap ret = new RoaringBitmap();
+    long[] words = new long[WORDS];
+    for (int base = 0; base < size; base += CHUNK_SIZE) {
+      int end = Math.min(size - base, CHUNK_SIZE);
+      Arrays.fill(words, 0);
+      for (int j = 0; j < end; j++) {
+        words[j >>> 6] |= (test.test(base + j) ? 1L : 0L) << j;
+      }
+      Container c = Container.fromWords(words);
+      if (c != null) {
+        ret.append(base >>> CHUNK_BITS, c);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Adds a value
+   *
+   * @param value the value to add
+   * @return true if the value was not already present
+   * @throws IllegalArgumentException if value is negative
+   */
+  public boolean add(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value cannot be negative: " + value);
+    }
+    int key = value >>> CHUNK_BITS;
+    char low = (char) (value & CHUNK_MASK);
+    int i = size > 0 && keys[size - 1] == key
+        ? size - 1 : Arrays.binarySearch(keys, 0, size, key);
+    if (i < 0) {
+      insert(-i - 1, key, new ArrayContainer());
+      i = -i - 1;
+    }
+    Container c = containers[i];
+    int before = c.cardinality();
+    containers[i] = c.add(low);
+    return containers[i].cardinality() != before;
+  }
+
+  /**
+   * Returns true if the value is present
+   *
+   * @param value the value to look for
+   * @return true if the value was added
+   */
+  public boolean contains(int value) {
+    if (value < 0) {
+      return false;
+    }
+    int i = Arrays.binarySearch(keys, 0, size, value >>> CHUNK_BITS);
+    return i >= 0 && containers[i].contains((char) (value & CHUNK_MASK));
+  }
+
+  /**
+   * Returns the number of values, summing one stored count per chunk
+   */
+  public int cardinality() {
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      count += containers[i].cardinality();
+    }
+    return count;
+  }
+
+  /**
+   * Returns true if the bitmap has no values
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the values present in both bitmaps
+   *
+   * @param other the bitmap to intersect with
+   * @return a new bitmap
+   * @throws NullPointerException if other is null
+   */
+  public RoaringBitmap and(RoaringBitmap other) {
+    checkOther(other);
+    RoaringBitmap ret = new RoaringBitmap();
+    long[] left = new long[WORDS];
+    long[] right = new long[WORDS];
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        Container c = Container.and(containers[i], other.containers[j], left, right);
+        if (c != null) {
+          ret.append(keys[i], c);
+        }
+        i++;
+        j++;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the values present in either bitmap
+   *
+   * @param other the bitmap to merge with
+   * @return a new bitmap
+   * @throws NullPointerException if other is null
+   */
+  public RoaringBitmap or(RoaringBitmap other) {
+    checkOther(other);
+    RoaringBitmap ret = new RoaringBitmap();
+    long[] words = new long[WORDS];
+    int i = 0;
+    int j = 0;
+    while (i < size || j < other.size) {
+      if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+        ret.append(keys[i], containers[i].copy());
+        i++;
+      } else if (i == size || keys[i] > other.keys[j]) {
+        ret.append(other.keys[j], other.containers[j].copy());
+        j++;
+      } else {
+        ret.append(keys[i], Container.or(containers[i], other.containers[j], words));
+        i++;
+        j++;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Counts the values present in both bitmaps without building the intersection
+   *
+   * @param other the bitmap to intersect with
+   * @return the cardinality of {@code and(other)}
+   * @throws NullPointerException if other is null
+   */
+  public int andCardinality(RoaringBitmap other) {
+    checkOther(other);
+    long[] left = new long[WORDS];
+    long[] right = new long[WORDS];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        count += Container.andCardinality(containers[i], other.containers[j], left, right);
+        i++;
+        j++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Converts each chunk to its smallest container, which after many {@link #add} calls
+   * may be a run container
+   *
+   * @return this bitmap
+   */
+  public RoaringBitmap runOptimize() {
+    long[] words = new long[WORDS];
+    for (int i = 0; i < size; i++) {
+      Arrays.fill(words, 0);
+      containers[i].fillWords(words);
+      containers[i] = Container.fromWords(words);
+    }
+    return this;
+  }
+
+  /**
+   * Returns the approximate number of bytes used by the containers
+   */
+  public long sizeInBytes() {
+    long bytes = (long) size * (Integer.BYTES + 16);
+    for (int i = 0; i < size; i++) {
+      bytes += containers[i].sizeInBytes();
+    }
+    return bytes;
+  }
+
+  /**
+   * Passes every value to action, in ascending order
+   *
+   * @param action the consumer of each value
+   * @throws NullPointerException if action is null
+   */
+  public void forEach(IntConsumer action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    for (int i = 0; i < size; i++) {
+      containers[i].forEach(keys[i] << CHUNK_BITS, action);
+    }
+  }
+
+  /**
+   * Copies the values into a new array
+   *
+   * @return a new array of the values in ascending order
+   */
+  public int[] toArray() {
+    int[] ret = new int[cardinality()];
+    int pos = 0;
+    for (int i = 0; i < size; i++) {
+      pos = containers[i].toArray(keys[i] << CHUNK_BITS, ret, pos);
+    }
+    return ret;
+  }
+
+  /**
+   * Copies the values into a new IntVector, in the form returned by
+   * {@link DsIntVector#searchVector}
+   *
+   * @return a new IntVector of the values in ascending order
+   */
+  public IntVector toIntVector() {
+    int[] values = toArray();
+    return new IntVector(values, values.length);
+  }
+
+  /**
+   * Returns the kind of container holding a chunk, for tests: "array", "bitmap" or
+   * "run", or null if the chunk is empty
+   */
+  String containerType(int key) {
+    int i = Arrays.binarySearch(keys, 0, size, key);
+    return i < 0 ? null : containers[i].type();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof RoaringBitmap)) {
+      return false;
+    }
+    return Arrays.equals(toArray(), ((RoaringBitmap) o).toArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toArray());
+  }
+
+  /**
+   * Returns the values in the same format as {@code ArrayList.toString()}
+   */
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+
+  private void append(int key, Container c) {
+    insert(size, key, c);
+  }
+
+  private void insert(int i, int key, Container c) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      containers = Arrays.copyOf(containers, size * 2);
+    }
+    System.arraycopy(keys, i, keys, i + 1, size - i);
+    System.arraycopy(containers, i, containers, i + 1, size - i);
+    keys[i] = key;
+    containers[i] = c;
+    size++;
+  }
+
+  private static void checkOther(RoaringBitmap other) {
+    if (other == null) {
+      throw new NullPointerException("RoaringBitmap cannot be null");
+    }
+  }
+
+  /**
+   * The low 16 bits of the values in one chunk
+   */
+  private abstract static class Container {
+    abstract int cardinality();
+
+    abstract boolean contains(char low);
+
+    /** Adds low, returning this container or a replacement that holds it */
+    abstract Container add(char low);
+
+    /** Sets this container's bits in a 1024-word bitmap */
+    abstract void fillWords(long[] words);
+
+    abstract void forEach(int high, IntConsumer action);
+
+    /** Writes high | low for each value to out from pos, returning the next pos */
+    abstract int toArray(int high, int[] out, int pos);
+
+    abstract long sizeInBytes();
+
+    abstract Container copy();
+
+    abstract String type();
+
+    /**
+     * Builds the smallest container for a bitmap, or returns null if it is empty. The
+     * words are copied, not kept.
+     */
+    static Container fromWords(long[] words) {
+      int card = 0;
+      int runs = 0;
+      long previous = 0;
+      for (long w : words) {
+        card += Long.bitCount(w);
+        runs += Long.bitCount(w & ~((w << 1) | (previous >>> 63)));
+        previous = w;
+      }
+      if (card == 0) {
+        return null;
+      }
+      long runBytes = 4L * runs;
+      if (runBytes < Math.min(2L * card, (long) WORDS * Long.BYTES)) {
+        return RunContainer.fromWords(words, runs, card);
+      }
+      if (card <= ARRAY_MAX) {
+        return ArrayContainer.fromWords(words, card);
+      }
+      return new BitmapContainer(words.clone(), card);
+    }
+
+    static Container and(Container a, Container b, long[] left, long[] right) {
+      if (b instanceof ArrayContainer) {
+        Container t = a;
+        a = b;
+        b = t;
+      }
+      if (a instanceof ArrayContainer) {
+        ArrayContainer array = (ArrayContainer) a;
+        char[] out = new char[array.card];
+        int k = 0;
+        for (int i = 0; i < array.card; i++) {
+          char v = array.values[i];
+          if (b.contains(v)) {
+            out[k++] = v;
+          }
+        }
+        return k == 0 ? null : new ArrayContainer(out, k);
+      }
+      Arrays.fill(left, 0);
+      Arrays.fill(right, 0);
+      a.fillWords(left);
+      b.fillWords(right);
+      for (int i = 0; i < WORDS; i++) {
+        left[i] &= right[i];
+      }
+      return fromWords(left);
+    }
+
+    static Container or(Container a, Container b, long[] words) {
+      if (a instanceof ArrayContainer && b instanceof ArrayContainer
+          && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+        return ArrayContainer.merge((ArrayContainer) a, (ArrayContainer) b);
+      }
+      Arrays.fill(words, 0);
+      a.fillWords(words);
+      b.fillWords(words);
+      return fromWords(words);
+    }
+
+    static int andCardinality(Container a, Container b, long[] left, long[] right) {
+      if (b instanceof ArrayContainer) {
+        Container t = a;
+        a = b;
+        b = t;
+      }
+      int count = 0;
+      if (a instanceof ArrayContainer) {
+        ArrayContainer array = (ArrayContainer) a;
+        for (int i = 0; i < array.card; i++) {
+          count += b.contains(array.values[i]) ? 1 : 0;
+        }
+        return count;
+      }
+      long[] x = left;
+      long[] y = right;
+      if (a instanceof BitmapContainer) {
+        x = ((BitmapContainer) a).words;
+      } else {
+        Arrays.fill(left, 0);
+        a.fillWords(left);
+      }
+      if (b instanceof BitmapContainer) {
+        y = ((BitmapContainer) b).words;
+      } else {
+        Arrays.fill(right, 0);
+        b.fillWords(right);
+      }
+      for (int i = 0; i < WORDS; i++) {
+        count += Long.bitCount(x[i] & y[i]);
+      }
+      return count;
+    }
+  }
+
+  private static final class ArrayContainer extends Container {
+    char[] values;
+    int card;
+
+    ArrayContainer() {
+      this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] values, int card) {
+      this.values = values;
+      this.card = card;
+    }
+
+    static ArrayContainer fromWords(long[] words, int card) {
+      char[] values = new char[card];
+      int k = 0;
+      for (int i = 0; i < WORDS; i++) {
+        for (long w = words[i]; w != 0; w &= w - 1) {
+          values[k++] = (char) (i * Long.SIZE + Long.numberOfTrailingZeros(w));
+        }
+      }
+      return new ArrayContainer(values, card);
+    }
+
+    static ArrayContainer merge(ArrayContainer a, ArrayContainer b) {
+      char[] out = new char[a.card + b.card];
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      while (i < a.card && j < b.card) {
+        char x = a.values[i];
+        char y = b.values[j];
+        out[k++] = x < y ? x : y;
+        i += x <= y ? 1 : 0;
+        j += y <= x ? 1 : 0;
+      }
+      while (i < a.card) {
+        out[k++] = a.values[i++];
+      }
+      while (j < b.card) {
+        out[k++] = b.values[j++];
+      }
+      return new ArrayContainer(out, k);
+    }
+
+    @Override
+    int cardinality() {
+      return card;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return Arrays.binarySearch(values, 0, card, low) >= 0;
+    }
+
+    @Override
+    Container add(char low) {
+      if (card > 0 && values[card - 1] < low) {
+        if (card == ARRAY_MAX) {
+          return toBitmap().add(low);
+        }
+        if (card == values.length) {
+          values = Arrays.copyOf(values, Math.min(ARRAY_MAX, card * 2));
+        }
+        values[card++] = low;
+        return this;
+      }
+      int i = Arrays.binarySearch(values, 0, card, low);
+      if (i >= 0) {
+        return this;
+      }
+      if (card == ARRAY_MAX) {
+        return toBitmap().add(low);
+      }
+      if (card == values.length) {
+        values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, card * 2)));
+      }
+      i = -i - 1;
+      System.arraycopy(values, i, values, i + 1, card - i);
+      values[i] = low;
+      card++;
+      return this;
+    }
+
+    @Override
+    void fillWords(long[] words) {
+      for (int i = 0; i < card; i++) {
+        char v = values[i];
+        words[v >>> 6] |= 1L << v;
+      }
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (int i = 0; i < card; i++) {
+        action.accept(high | values[i]);
+      }
+    }
+
+    @Override
+    int toArray(int high, int[] out, int pos) {
+      for (int i = 0; i < card; i++) {
+        out[pos++] = high | values[i];
+      }
+      return pos;
+    }
+
+    @Override
+    long sizeInBytes() {
+      return 2L * values.length;
+    }
+
+    @Override
+    Container copy() {
+      return new ArrayContainer(Arrays.copyOf(values, card), card);
+    }
+
+    @Override
+    String type() {
+      return "array";
+    }
+
+    private BitmapContainer toBitmap() {
+      long[] words = new long[WORDS];
+      fillWords(words);
+      return new BitmapContainer(words, card);
+    }
+  }
+
+  private static final class BitmapContainer extends Container {
+    final long[] words;
+    int card;
+
+    BitmapContainer(long[] words, int card) {
+      this.words = words;
+      this.card = card;
+    }
+
+    @Override
+    int cardinality() {
+      return card;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    @Override
+    Container add(char low) {
+      long bit = 1L << low;
+      long w = words[low >>> 6];
+      card += (w & bit) == 0 ? 1 : 0;
+      words[low >>> 6] = w | bit;
+      return this;
+    }
+
+    @Override
+    void fillWords(long[] out) {
+      for (int i = 0; i < WORDS; i++) {
+        out[i] |= words[i];
+      }
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (int i = 0; i < WORDS; i++) {
+        for (long w = words[i]; w != 0; w &= w - 1) {
+          action.accept(high | (i * Long.SIZE + Long.numberOfTrailingZeros(w)));
+        }
+      }
+    }
+
+    @Override
+    int toArray(int high, int[] out, int pos) {
+      for (int i = 0; i < WORDS; i++) {
+        for (long w = words[i]; w != 0; w &= w - 1) {
+          out[pos++] = high | (i * Long.SIZE + Long.numberOfTrailingZeros(w));
+        }
+      }
+      return pos;
+    }
+
+    @Override
+    long sizeInBytes() {
+      return (long) WORDS * Long.BYTES;
+    }
+
+    @Override
+    Container copy() {
+      return new BitmapContainer(words.clone(), card);
+    }
+
+    @Override
+    String type() {
+      return "bitmap";
+    }
+  }
+
+  /**
+   * Runs of consecutive values, each stored as its first value and its length minus
+   * one, so a run can cover the whole chunk
+   */
+  private static final class RunContainer extends Container {
+    final char[] starts;
+    final char[] lengths;
+    final int card;
+
+    RunContainer(char[] starts, char[] lengths, int card) {
+      this.starts = starts;
+      this.lengths = lengths;
+      this.card = card;
+    }
+
+    static RunContainer fromWords(long[] words, int runs, int card) {
+      char[] starts = new char[runs];
+      char[] lengths = new char[runs];
+      int r = 0;
+      int pos = nextBit(words, 0, true);
+      while (pos < CHUNK_SIZE) {
+        int end = nextBit(words, pos, false);
+        starts[r] = (char) pos;
+        lengths[r++] = (char) (end - pos - 1);
+        pos = nextBit(words, end, true);
+      }
+      return new RunContainer(starts, lengths, card);
+    }
+
+    /**
+     * Returns the first index at or after from whose bit equals set, or CHUNK_SIZE
+     */
+    private static int nextBit(long[] words, int from, boolean set) {
+      if (from >= CHUNK_SIZE) {
+        return CHUNK_SIZE;
+      }
+      int i = from >>> 6;
+      long w = (set ? words[i] : ~words[i]) & (-1L << from);
+      while (w == 0) {
+        if (++i == WORDS) {
+          return CHUNK_SIZE;
+        }
+        w = set ? words[i] : ~words[i];
+      }
+      return i * Long.SIZE + Long.numberOfTrailingZeros(w);
+    }
+
+    @Override
+    int cardinality() {
+      return card;
+    }
+
+    @Override
+    boolean contains(char low) {
+      int lo = 0;
+      int hi = starts.length - 1;
+      while (lo <= hi) {
+        int mid = (lo + hi) >>> 1;
+        if (starts[mid] <= low) {
+          if (low <= starts[mid] + lengths[mid]) {
+            return true;
+          }
+          lo = mid + 1;
+        } else {
+          hi = mid - 1;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    Container add(char low) {
+      if (contains(low)) {
+        return this;
+      }
+      long[] words = new long[WORDS];
+      fillWords(words);
+      words[low >>> 6] |= 1L << low;
+      return Container.fromWords(words);
+    }
+
+    @Override
+    void fillWords(long[] words) {
+      for (int r = 0; r < starts.length; r++) {
+        int from = starts[r];
+        int to = from + lengths[r] + 1;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+          words[first] |= (-1L << from) & (-1L >>> (-to & 63));
+          continue;
+        }
+        words[first] |= -1L << from;
+        for (int i = first + 1; i < last; i++) {
+          words[i] = -1L;
+        }
+        words[last] |= -1L >>> (-to & 63);
+      }
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (int r = 0; r < starts.length; r++) {
+        int end = starts[r] + lengths[r];
+        for (int v = starts[r]; v <= end; v++) {
+          action.accept(high | v);
+        }
+      }
+    }
+
+    @Override
+    int toArray(int high, int[] out, int pos) {
+      for (int r = 0; r < starts.length; r++) {
+        int end = starts[r] + lengths[r];
+        for (int v = starts[r]; v <= end; v++) {
+          out[pos++] = high | v;
+        }
+      }
+      return pos;
+    }
+
+    @Override
+    long sizeInBytes() {
+      return 4L * starts.length;
+    }
+
+    @Override
+    Container copy() {
+      return this;
+    }
+
+    @Override
+    String type() {
+      return "run";
+    }
+  }
+}
@@ -0,0 +1,378 @@
+package datastructures;
+
+import algorithms.LoserTree;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A growable vector of ints stored in fixed-size segments, for vectors too large to
+ * grow as one array.
+ *
+ * <p>Each segment holds {@value #SEGMENT_SIZE} ints (256 KiB), so appending never
+ * copies elements: when the last segment is full a new one is allocated, and only the
+ * small array of segment references ever grows. Segments stay below the G1
+ * humongous-object threshold for every region size, so a vector of hundreds of millions
+ * of elements needs no large contiguous allocation. Sizes and indices are longs.</p>
+ *
+ * <p>The operations mirror {@link DsVector}: {@link #modifyVector} works in place, and
+ * the others return new vectors. Not thread-safe.</p>
+ */
+public final class SegmentedIntVector {
+  private static final int SEGMENT_SHIFT = 16;
+  static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+  private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  private int[][] segments = new int[4][];
+  private int segmentCount;
+  private long size;
+
+  /**
+   * Creates an empty vector
+   */
+  public SegmentedIntVector() {
+  }
+
+  /**
+   * Creates a vector holding a copy of the given values
+   *
+   * @param values the initial values
+   * @return a new vector
+   * @throws NullPointerException if values is null
+   */
+  public static SegmentedIntVector of(int... values) {
+    SegmentedIntVector ret = new SegmentedIntVector();
+    ret.addAll(values);
+    return ret;
+  }
+
+  /**
+   * Returns the number of elements
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the vector has no elements
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at an index
+   *
+   * @param index the index of the element
+   * @return the element
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   */
+  public int get(long index) {
+    checkIndex(index);
+    return segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+  }
+
+  /**
+   * Replaces the element at an index
+   *
+   * @param index the index of the element
+   * @param value the new value
+   * @return the previous value
+   * @throws IndexOutOfBoundsException if index is outside [0, size())
+   */
+  public int set(long index, int value) {
+    checkIndex(index);
+    int[] segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+    int offset = (int) index & SEGMENT_MASK;
+    int old = segment[offset];
+    segment[offset] = value;
+    return old;
+  }
+
+  /**
+   * Appends a value in O(1) without copying existing elements
+   *
+   * @param value the value to append
+   */
+  public void add(int value) {
+    int offset = (int) size & SEGMENT_MASK;
+    if (offset == 0) {
+      addSegment();
+    }
+    segments[segmentCount - 1][offset] = value;
+    size++;
+  }
+
+  /**
+   * Appends every value in an array, a segment at a time
+   *
+   * @param values the values to append
+   * @throws NullPointerException if values is null
+   */
+  public void addAll(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    int from = 0;
+    while (from < values.length) {
+      int offset = (int) size & SEGMENT_MASK;
+      if (offset == 0) {
+        addSegment();
+      }
+      int count = Math.min(values.length - from, SEGMENT_SIZE - offset);
+      System.arraycopy(values, from, segments[segmentCount - 1], offset, count);
+      from += count;
+      size += count;
+    }
+  }
+
+  /**
+   * Appends every element of another vector
+   *
+   * @param other the vector to append
+   * @throws NullPointerException if other is null
+   */
+  public void addAll(SegmentedIntVector other) {
+    if (other == null) {
+      throw new NullPointerException("SegmentedIntVector cannot be null");
+    }
+    long otherSize = other.size;
+    for (int s = 0; s < other.segmentCount; s++) {
+      int length = segmentLength(otherSize, s);
+      int from = 0;
+      while (from < length) {
+        int offset = (int) size & SEGMENT_MASK;
+        if (offset == 0) {
+          addSegment();
+        }
+        int count = Math.min(length - from, SEGMENT_SIZE - offset);
+        System.arraycopy(other.segments[s], from, segments[segmentCount - 1], offset, count);
+        from += count;
+        size += count;
+      }
+    }
+  }
+
+  /**
+   * Removes every element and releases the segments
+   */
+  public void clear() {
+    segments = new int[4][];
+    segmentCount = 0;
+    size = 0;
+  }
+
+  /**
+   * Passes every element to action, in order, a segment at a time
+   *
+   * @param action the consumer of each element
+   * @throws NullPointerException if action is null
+   */
+  public void forEach(IntConsumer action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    for (int s = 0; s < segmentCount; s++) {
+      int[] segment = segments[s];
+      int length = segmentLength(size, s);
+      for (int i = 0; i < length; i++) {
+        action.accept(segment[i]);
+      }
+    }
+  }
+
+  /**
+   * Copies the elements into one array
+   *
+   * @return a new array of length {@link #size()}
+   * @throws IllegalStateException if there are more elements than fit in an array
+   */
+  public int[] toArray() {
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Too many elements for an array: " + size);
+    }
+    int[] ret = new int[(int) size];
+    for (int s = 0; s < segmentCount; s++) {
+      System.arraycopy(segments[s], 0, ret, s << SEGMENT_SHIFT, segmentLength(size, s));
+    }
+    return ret;
+  }
+
+  /**
+   * Adds 1 to each element in place
+   *
+   * @return this vector
+   */
+  public SegmentedIntVector modifyVector() {
+    for (int s = 0; s < segmentCount; s++) {
+      int[] segment = segments[s];
+      int length = segmentLength(size, s);
+      for (int i = 0; i < length; i++) {
+        segment[i]++;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Searches the vector for all instances of n
+   *
+   * @param n the value to search for
+   * @return the indices where n was found, in ascending order
+   * @throws IllegalStateException if there are more matches than fit in an array
+   */
+  public long[] searchVector(int n) {
+    long count = 0;
+    for (int s = 0; s < segmentCount; s++) {
+      int[] segment = segments[s];
+      int length = segmentLength(size, s);
+      for (int i = 0; i < length; i++) {
+        count += segment[i] == n ? 1 : 0;
+      }
+    }
+    if (count > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Too many matches for an array: " + count);
+    }
+    long[] indices = new long[(int) count];
+    int k = 0;
+    for (int s = 0; s < segmentCount && k < indices.length; s++) {
+      int[] segment = segments[s];
+      int length = segmentLength(size, s);
+      long base = (long) s << SEGMENT_SHIFT;
+      for (int i = 0; i < length; i++) {
+        if (segment[i] == n) {
+          indices[k++] = base + i;
+        }
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Sorts the vector in ascending order. Segments are sorted in parallel, then merged
+   * through a {@link LoserTree} in O(N log S) for S segments.
+   *
+   * @return a new sorted vector
+   */
+  public SegmentedIntVector sortVector() {
+    int k = segmentCount;
+    int[][] runs = new int[k][];
+    IntStream.range(0, k).parallel().forEach(s -> {
+      runs[s] = Arrays.copyOf(segments[s], segmentLength(size, s));
+      Arrays.sort(runs[s]);
+    });
+    SegmentedIntVector ret = new SegmentedIntVector();
+    if (k <= 1) {
+      if (k == 1) {
+        ret.addAll(runs[0]);
+      }
+      return ret;
+    }
+    int[] positions = new int[k];
+    LoserTree tree = new LoserTree(k);
+    for (int s = 0; s < k; s++) {
+      tree.set(s, runs[s][0]);
+      positions[s] = 1;
+    }
+    tree.build();
+    while (!tree.isEmpty()) {
+      int winner = tree.winner();
+      ret.add(tree.winnerKey());
+      int[] run = runs[winner];
+      if (positions[winner] < run.length) {
+        tree.replaceWinner(run[positions[winner]++]);
+      } else {
+        tree.exhaustWinner();
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Reverses the vector
+   *
+   * @return a new reversed vector
+   */
+  public SegmentedIntVector reverseVector() {
+    SegmentedIntVector ret = new SegmentedIntVector();
+    ret.reserveSegments(segmentCount);
+    for (long i = size - 1; i >= 0; i--) {
+      ret.add(segments[(int) (i >>> SEGMENT_SHIFT)][(int) i & SEGMENT_MASK]);
+    }
+    return ret;
+  }
+
+  /**
+   * Rotates the vector left by n
+   *
+   * @param n the number of times to rotate the vector
+   * @return a new rotated vector
+   * @throws IllegalArgumentException if n is negative or n >= size
+   */
+  public SegmentedIntVector rotateVector(long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Rotation amount cannot be negative, got: " + n);
+    }
+    if (size > 0 && n >= size) {
+      throw new IllegalArgumentException(
+          "Rotation amount must be less than size, got: " + n + " for size: " + size);
+    }
+    SegmentedIntVector ret = new SegmentedIntVector();
+    if (size == 0) {
+      return ret;
+    }
+    ret.reserveSegments(segmentCount);
+    for (long i = n; i < size; i++) {
+      ret.add(segments[(int) (i >>> SEGMENT_SHIFT)][(int) i & SEGMENT_MASK]);
+    }
+    for (long i = 0; i < n; i++) {
+      ret.add(segments[(int) (i >>> SEGMENT_SHIFT)][(int) i & SEGMENT_MASK]);
+    }
+    return ret;
+  }
+
+  /**
+   * Merges this vector with another
+   *
+   * @param other the vector to follow this one
+   * @return a new vector holding this vector followed by other
+   * @throws NullPointerException if other is null
+   */
+  public SegmentedIntVector mergeVectors(SegmentedIntVector other) {
+    if (other == null) {
+      throw new NullPointerException("SegmentedIntVector cannot be null");
+    }
+    SegmentedIntVector ret = new SegmentedIntVector();
+    ret.reserveSegments(segmentCount + other.segmentCount);
+    ret.addAll(this);
+    ret.addAll(other);
+    return ret;
+  }
+
+  /**
+   * Returns the number of used ints in segment s of a vector of the given size
+   */
+  private static int segmentLength(long size, int s) {
+    return (int) Math.min(SEGMENT_SIZE, size - ((long) s << SEGMENT_SHIFT));
+  }
+
+  private void addSegment() {
+    reserveSegments(segmentCount + 1);
+    segments[segmentCount++] = new int[SEGMENT_SIZE];
+  }
+
+  /**
+   * Grows the array of segment references to hold at least count segments
+   */
+  private void reserveSegments(int count) {
+    if (count > segments.length) {
+      segments = Arrays.copyOf(segments, Math.max(count, segments.length * 2));
+    }
+  }
+
+  private void checkIndex(long index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index out of bounds: " + index + " for size: " + size);
+    }
+  }
+}
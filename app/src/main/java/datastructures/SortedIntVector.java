@@ -0,0 +1,288 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only vector of ints known to be in ascending order.
+ *
+ * <p>Sortedness is checked or established once, when the vector is built, and then
+ * used by every query: {@link #searchVector} and {@link #countMatches} binary-search
+ * the range of equal values in O(log n) instead of scanning, {@link #min} and
+ * {@link #max} are O(1), and {@link #union}, {@link #intersection} and
+ * {@link #difference} merge two vectors in one linear pass, or gallop through the
+ * longer one when their lengths differ widely (see {@link IntSetOps}).</p>
+ *
+ * <p>The set operations treat vectors as multisets: a value that occurs a times in
+ * this vector and b times in the other occurs max(a, b) times in the union,
+ * min(a, b) times in the intersection and max(a - b, 0) times in the difference.</p>
+ */
+public final class SortedIntVector implements IntSequence {
+  private static final SortedIntVector EMPTY = new SortedIntVector(new int[0]);
+
+  private final int[] elements;
+
+  private SortedIntVector(int[] elements) {
+    this.elements = elements;
+  }
+
+  /**
+   * Creates a vector holding a sorted copy of the given values
+   *
+   * @param values the values, in any order; not modified
+   * @return a new sorted vector
+   * @throws NullPointerException if values is null
+   */
+  public static SortedIntVector of(int... values) {
+    if (values == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return new SortedIntVector(sorted);
+  }
+
+  /**
+   * Creates a vector holding a sorted copy of a sequence, such as the IntVector to be
+   * searched
+   *
+   * @param seq the values, in any order; not modified
+   * @return a new sorted vector
+   * @throws NullPointerException if seq is null
+   */
+  public static SortedIntVector from(IntSequence seq) {
+    if (seq == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    if (seq instanceof SortedIntVector) {
+      return (SortedIntVector) seq;
+    }
+    int[] sorted = seq.toArray();
+    Arrays.sort(sorted);
+    return new SortedIntVector(sorted);
+  }
+
+  /**
+   * Creates a vector from values that are already sorted, checking the order in O(n)
+   * instead of sorting
+   *
+   * @param sorted the values, in ascending order; copied, not modified
+   * @return a new sorted vector
+   * @throws NullPointerException if sorted is null
+   * @throws IllegalArgumentException if sorted is not in ascending order
+   */
+  public static SortedIntVector fromSorted(int[] sorted) {
+    if (sorted == null) {
+      throw new NullPointerException("Array cannot be null");
+    }
+    for (int i = 1; i < sorted.length; i++) {
+      if (sorted[i] < sorted[i - 1]) {
+        throw new IllegalArgumentException("Array is not sorted at index: " + i);
+      }
+    }
+    return new SortedIntVector(sorted.clone());
+  }
+
+  @Override
+  public int size() {
+    return elements.length;
+  }
+
+  @Override
+  public int get(int index) {
+    if (index < 0 || index >= elements.length) {
+      throw new IndexOutOfBoundsException(
+          "Index out of bounds: " + index + " for size: " + elements.length);
+    }
+    return elements[index];
+  }
+
+  /**
+   * Returns the smallest element in O(1)
+   *
+   * @throws NoSuchElementException if the vector is empty
+   */
+  public int min() {
+    if (elements.length == 0) {
+      throw new NoSuchElementException("Vector is empty");
+    }
+    return elements[0];
+  }
+
+  /**
+   * Returns the largest element in O(1)
+   *
+   * @throws NoSuchElementException if the vector is empty
+   */
+  public int max() {
+    if (elements.length == 0) {
+      throw new NoSuchElementException("Vector is empty");
+    }
+    return elements[elements.length - 1];
+  }
+
+  /**
+   * Returns the index of the first element &gt;= n, or size() if there is none
+   *
+   * @param n the value to look for
+   * @return the insertion point of n
+   */
+  public int lowerBound(int n) {
+    return lowerBound(elements, 0, elements.length, n);
+  }
+
+  /**
+   * Returns the index of the first element &gt; n, or size() if there is none
+   *
+   * @param n the value to look for
+   * @return the index just past the last n
+   */
+  public int upperBound(int n) {
+    return n == Integer.MAX_VALUE ? elements.length
+        : lowerBound(elements, 0, elements.length, n + 1);
+  }
+
+  /**
+   * Counts the instances of n with two binary searches
+   *
+   * @param n the value to count
+   * @return the number of indices where n was found
+   */
+  public int countMatches(int n) {
+    return upperBound(n) - lowerBound(n);
+  }
+
+  /**
+   * Returns true if n is present
+   *
+   * @param n the value to look for
+   * @return true if at least one element equals n
+   */
+  public boolean contains(int n) {
+    int i = lowerBound(n);
+    return i < elements.length && elements[i] == n;
+  }
+
+  /**
+   * Searches the vector for all instances of n by binary-searching the range of equal
+   * values
+   *
+   * @param n the value to search for
+   * @return An IntVector of all indices where n was found, which are consecutive
+   */
+  public IntVector searchVector(int n) {
+    int from = lowerBound(n);
+    int to = upperBound(n);
+    int[] indices = new int[to - from];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = from + i;
+    }
+    return new IntVector(indices, indices.length);
+  }
+
+  /**
+   * Merges this vector with another, keeping each value as many times as it occurs in
+   * whichever vector has more of it
+   *
+   * @param other the vector to merge with
+   * @return a new sorted vector
+   * @throws NullPointerException if other is null
+   */
+  public SortedIntVector union(SortedIntVector other) {
+    checkOther(other);
+    return wrap(IntSetOps.unionSorted(elements, elements.length, other.elements,
+        other.elements.length));
+  }
+
+  /**
+   * Keeps each value as many times as it occurs in both vectors
+   *
+   * @param other the vector to intersect with
+   * @return a new sorted vector
+   * @throws NullPointerException if other is null
+   */
+  public SortedIntVector intersection(SortedIntVector other) {
+    checkOther(other);
+    return wrap(IntSetOps.intersectSorted(elements, elements.length, other.elements,
+        other.elements.length));
+  }
+
+  /**
+   * Removes one occurrence of a value from this vector for each occurrence in other
+   *
+   * @param other the vector of values to remove
+   * @return a new sorted vector
+   * @throws NullPointerException if other is null
+   */
+  public SortedIntVector difference(SortedIntVector other) {
+    checkOther(other);
+    return wrap(IntSetOps.differenceSorted(elements, elements.length, other.elements,
+        other.elements.length));
+  }
+
+  @Override
+  public int[] toArray() {
+    return elements.clone();
+  }
+
+  @Override
+  public IntVector toIntVector() {
+    return new IntVector(elements.clone(), elements.length);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SortedIntVector)) {
+      return false;
+    }
+    return Arrays.equals(elements, ((SortedIntVector) o).elements);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(elements);
+  }
+
+  /**
+   * Returns the elements in the same format as {@code ArrayList.toString()}
+   */
+  @Override
+  public String toString() {
+    return Arrays.toString(elements);
+  }
+
+  /**
+   * Returns the index of the first element of {@code a[from, to)} that is &gt;= key, or
+   * to if there is none
+   */
+  static int lowerBound(int[] a, int from, int to, int key) {
+    int lo = from;
+    int hi = to;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (a[mid] < key) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  private static SortedIntVector wrap(IntVector v) {
+    if (v.isEmpty()) {
+      return EMPTY;
+    }
+    int[] out = v.elements();
+    return new SortedIntVector(v.size() == out.length ? out : Arrays.copyOf(out, v.size()));
+  }
+
+  private static void checkOther(SortedIntVector other) {
+    if (other == null) {
+      throw new NullPointerException("SortedIntVector cannot be null");
+    }
+  }
+}
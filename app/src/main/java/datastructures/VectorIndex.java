@@ -0,0 +1,197 @@
+package datastructures;
+
+import algorithms.Sort;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A value-to-positions index for answering many searchVector queries on one vector.
+ *
+ * <p>The index is stored in compressed sparse row form: the distinct values in
+ * ascending order, an offsets array, and one {@code int[]} of positions grouped by
+ * value, so the positions of {@code keys[i]} are
+ * {@code positions[offsets[i], offsets[i + 1])} in ascending order. Building it costs
+ * one sort; each lookup is then a binary search over the distinct values plus O(k) for
+ * k matches, against an O(n) scan per {@link DsVector#searchVector} call.</p>
+ *
+ * <p>An index built with {@link #forVector} watches its {@link IntVector} and is
+ * rebuilt on the next query after the vector changes. One built with
+ * {@link #snapshot} copies a list and does not see later changes to it. Not
+ * thread-safe.</p>
+ */
+public final class VectorIndex {
+  private static final int[] EMPTY = new int[0];
+
+  /** The watched vector, or null for a snapshot */
+  private final IntVector source;
+  private int builtModCount;
+  private int size;
+  private int[] keys = EMPTY;
+  private int[] offsets = { 0 };
+  private int[] positions = EMPTY;
+
+  private VectorIndex(IntVector source) {
+    this.source = source;
+  }
+
+  /**
+   * Creates an index over an IntVector that stays in sync with it
+   *
+   * @param v the vector to index
+   * @return a new index, built on its first query
+   * @throws NullPointerException if v is null
+   */
+  public static VectorIndex forVector(IntVector v) {
+    if (v == null) {
+      throw new NullPointerException("IntVector cannot be null");
+    }
+    VectorIndex index = new VectorIndex(v);
+    index.builtModCount = v.modCount() - 1;
+    return index;
+  }
+
+  /**
+   * Creates an index over the current contents of a list
+   *
+   * @param v the list to index; later changes to it are not reflected
+   * @return a new index
+   * @throws NullPointerException if v or any element is null
+   */
+  public static VectorIndex snapshot(List<Integer> v) {
+    if (v == null) {
+      throw new NullPointerException("List cannot be null");
+    }
+    VectorIndex index = new VectorIndex(null);
+    index.build(IntVector.fromList(v).elements(), v.size());
+    return index;
+  }
+
+  /**
+   * Returns the number of indexed elements
+   */
+  public int size() {
+    ensureCurrent();
+    return size;
+  }
+
+  /**
+   * Returns the number of distinct indexed values
+   */
+  public int distinctCount() {
+    ensureCurrent();
+    return keys.length;
+  }
+
+  /**
+   * Returns the positions of every instance of n, in ascending order
+   *
+   * @param n the value to search for
+   * @return a new IntVector with the same contents as {@code searchVector(v, n)}
+   */
+  public IntVector search(int n) {
+    int k = find(n);
+    if (k < 0) {
+      return new IntVector(0);
+    }
+    int from = offsets[k];
+    int to = offsets[k + 1];
+    return new IntVector(Arrays.copyOfRange(positions, from, to), to - from);
+  }
+
+  /**
+   * Returns the number of instances of n
+   *
+   * @param n the value to count
+   * @return the number of matching positions
+   */
+  public int count(int n) {
+    int k = find(n);
+    return k < 0 ? 0 : offsets[k + 1] - offsets[k];
+  }
+
+  /**
+   * Returns true if n is present
+   *
+   * @param n the value to look for
+   * @return true if at least one element equals n
+   */
+  public boolean contains(int n) {
+    return find(n) >= 0;
+  }
+
+  /**
+   * Returns the position of the first instance of n
+   *
+   * @param n the value to look for
+   * @return the smallest matching position, or -1 if n is absent
+   */
+  public int firstIndex(int n) {
+    int k = find(n);
+    return k < 0 ? -1 : positions[offsets[k]];
+  }
+
+  /**
+   * Passes every position of n to action, in ascending order
+   *
+   * @param n      the value to search for
+   * @param action the consumer of each position
+   * @throws NullPointerException if action is null
+   */
+  public void forEachPosition(int n, IntConsumer action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    int k = find(n);
+    if (k < 0) {
+      return;
+    }
+    for (int i = offsets[k]; i < offsets[k + 1]; i++) {
+      action.accept(positions[i]);
+    }
+  }
+
+  /**
+   * Returns the slot of n in keys, or a negative value if it is absent
+   */
+  private int find(int n) {
+    ensureCurrent();
+    return Arrays.binarySearch(keys, n);
+  }
+
+  private void ensureCurrent() {
+    if (source != null && source.modCount() != builtModCount) {
+      build(source.elements(), source.size());
+      builtModCount = source.modCount();
+    }
+  }
+
+  /**
+   * Rebuilds the index from {@code a[0, size)}. The stable argsort leaves equal values
+   * grouped and in ascending position order, so one pass splits the permutation into
+   * rows.
+   */
+  private void build(int[] a, int size) {
+    int[] perm = Sort.argsort(Arrays.copyOf(a, size));
+    int distinct = 0;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || a[perm[i]] != a[perm[i - 1]]) {
+        distinct++;
+      }
+    }
+    int[] newKeys = new int[distinct];
+    int[] newOffsets = new int[distinct + 1];
+    int k = -1;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || a[perm[i]] != a[perm[i - 1]]) {
+        newKeys[++k] = a[perm[i]];
+        newOffsets[k] = i;
+      }
+    }
+    newOffsets[distinct] = size;
+    this.size = size;
+    this.keys = newKeys;
+    this.offsets = newOffsets;
+    this.positions = perm;
+  }
+}
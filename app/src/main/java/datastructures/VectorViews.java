@@ -0,0 +1,309 @@
+package datastructures;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * O(1) read-only views matching {@link DsVector#reverseVector},
+ * {@link DsVector#rotateVector} and {@link DsVector#mergeVectors}.
+ *
+ * <p>Each view maps an index onto its backing vectors instead of copying them, so a
+ * chain such as {@code reversed(concat(a, rotated(b, 3)))} costs nothing until it is
+ * read, and each read costs one index computation per level. Copy a view into an
+ * {@code ArrayList} (or call {@link IntSequence#toIntVector()}) to materialize it.</p>
+ *
+ * <p>Views show later changes to the elements of their backing vectors. Their
+ * behavior is unspecified if a backing vector changes size. A list view implements
+ * {@link RandomAccess}, and {@code get} is O(1), only if every backing list does.</p>
+ */
+public final class VectorViews {
+  private VectorViews() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Returns a reversed view of a list
+   *
+   * @param v the list to view
+   * @return a read-only list whose element i is {@code v.get(v.size() - 1 - i)}
+   * @throws NullPointerException if v is null
+   */
+  public static List<Integer> reversed(List<Integer> v) {
+    if (v == null) {
+      throw new NullPointerException("List cannot be null");
+    }
+    if (v instanceof ReversedList) {
+      return Collections.unmodifiableList(((ReversedList) v).backing);
+    }
+    return v instanceof RandomAccess ? new RandomAccessReversedList(v) : new ReversedList(v);
+  }
+
+  /**
+   * Returns a view of a list rotated left by n
+   *
+   * @param v the list to view
+   * @param n the rotation amount
+   * @return a read-only list with the same elements as {@code rotateVector(v, n)}
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if n is negative or n >= size
+   */
+  public static List<Integer> rotated(List<Integer> v, int n) {
+    if (v == null) {
+      throw new NullPointerException("List cannot be null");
+    }
+    checkRotation(n, v.size());
+    return v instanceof RandomAccess ? new RandomAccessRotatedList(v, n) : new RotatedList(v, n);
+  }
+
+  /**
+   * Returns a view of one list followed by another
+   *
+   * @param v1 the first list
+   * @param v2 the second list
+   * @return a read-only list with the same elements as {@code mergeVectors(v1, v2)}
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static List<Integer> concat(List<Integer> v1, List<Integer> v2) {
+    if (v1 == null) {
+      throw new NullPointerException("First List cannot be null");
+    }
+    if (v2 == null) {
+      throw new NullPointerException("Second List cannot be null");
+    }
+    if (v1 instanceof RandomAccess && v2 instanceof RandomAccess) {
+      return new RandomAccessConcatList(v1, v2);
+    }
+    return new ConcatList(v1, v2);
+  }
+
+  /**
+   * Returns a reversed view of a sequence
+   *
+   * @param v the sequence to view
+   * @return a sequence whose element i is {@code v.get(v.size() - 1 - i)}
+   * @throws NullPointerException if v is null
+   */
+  public static IntSequence reversed(IntSequence v) {
+    if (v == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    if (v instanceof ReversedSequence) {
+      return new ReadOnlySequence(((ReversedSequence) v).backing);
+    }
+    return new ReversedSequence(v);
+  }
+
+  /**
+   * Returns a view of a sequence rotated left by n
+   *
+   * @param v the sequence to view
+   * @param n the rotation amount
+   * @return a sequence with the same elements as {@code rotateVector(v, n)}
+   * @throws NullPointerException if v is null
+   * @throws IllegalArgumentException if n is negative or n >= size
+   */
+  public static IntSequence rotated(IntSequence v, int n) {
+    if (v == null) {
+      throw new NullPointerException("IntSequence cannot be null");
+    }
+    checkRotation(n, v.size());
+    return new RotatedSequence(v, n);
+  }
+
+  /**
+   * Returns a view of one sequence followed by another
+   *
+   * @param v1 the first sequence
+   * @param v2 the second sequence
+   * @return a sequence with the same elements as {@code mergeVectors(v1, v2)}
+   * @throws NullPointerException if v1 or v2 is null
+   */
+  public static IntSequence concat(IntSequence v1, IntSequence v2) {
+    if (v1 == null) {
+      throw new NullPointerException("First IntSequence cannot be null");
+    }
+    if (v2 == null) {
+      throw new NullPointerException("Second IntSequence cannot be null");
+    }
+    return new ConcatSequence(v1, v2);
+  }
+
+  /**
+   * Applies the same rules as {@link DsVector#rotateVector}
+   */
+  private static void checkRotation(int n, int size) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Rotation amount cannot be negative, got: " + n);
+    }
+    if (size > 0 && n >= size) {
+      throw new IllegalArgumentException(
+          "Rotation amount must be less than size, got: " + n + " for size: " + size);
+    }
+  }
+
+  private static class ReversedList extends AbstractList<Integer> {
+    private final List<Integer> backing;
+
+    ReversedList(List<Integer> backing) {
+      this.backing = backing;
+    }
+
+    @Override
+    public Integer get(int index) {
+      int size = backing.size();
+      return backing.get(size - 1 - Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public int size() {
+      return backing.size();
+    }
+  }
+
+  private static final class RandomAccessReversedList extends ReversedList implements RandomAccess {
+    RandomAccessReversedList(List<Integer> backing) {
+      super(backing);
+    }
+  }
+
+  private static class RotatedList extends AbstractList<Integer> {
+    private final List<Integer> backing;
+    private final int offset;
+
+    RotatedList(List<Integer> backing, int offset) {
+      this.backing = backing;
+      this.offset = offset;
+    }
+
+    @Override
+    public Integer get(int index) {
+      int size = backing.size();
+      int i = Objects.checkIndex(index, size) + offset;
+      return backing.get(i < size ? i : i - size);
+    }
+
+    @Override
+    public int size() {
+      return backing.size();
+    }
+  }
+
+  private static final class RandomAccessRotatedList extends RotatedList implements RandomAccess {
+    RandomAccessRotatedList(List<Integer> backing, int offset) {
+      super(backing, offset);
+    }
+  }
+
+  private static class ConcatList extends AbstractList<Integer> {
+    private final List<Integer> first;
+    private final List<Integer> second;
+
+    ConcatList(List<Integer> first, List<Integer> second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public Integer get(int index) {
+      int split = first.size();
+      Objects.checkIndex(index, size());
+      return index < split ? first.get(index) : second.get(index - split);
+    }
+
+    @Override
+    public int size() {
+      return first.size() + second.size();
+    }
+  }
+
+  private static final class RandomAccessConcatList extends ConcatList implements RandomAccess {
+    RandomAccessConcatList(List<Integer> first, List<Integer> second) {
+      super(first, second);
+    }
+  }
+
+  /** Hides a possibly mutable backing sequence, such as an IntVector, behind IntSequence */
+  private static final class ReadOnlySequence implements IntSequence {
+    private final IntSequence backing;
+
+    ReadOnlySequence(IntSequence backing) {
+      this.backing = backing;
+    }
+
+    @Override
+    public int get(int index) {
+      return backing.get(index);
+    }
+
+    @Override
+    public int size() {
+      return backing.size();
+    }
+  }
+
+  private static final class ReversedSequence implements IntSequence {
+    private final IntSequence backing;
+
+    ReversedSequence(IntSequence backing) {
+      this.backing = backing;
+    }
+
+    @Override
+    public int get(int index) {
+      int size = backing.size();
+      return backing.get(size - 1 - Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public int size() {
+      return backing.size();
+    }
+  }
+
+  private static final class RotatedSequence implements IntSequence {
+    private final IntSequence backing;
+    private final int offset;
+
+    RotatedSequence(IntSequence backing, int offset) {
+      this.backing = backing;
+      this.offset = offset;
+    }
+
+    @Override
+    public int get(int index) {
+      int size = backing.size();
+      int i = Objects.checkIndex(index, size) + offset;
+      return backing.get(i < size ? i : i - size);
+    }
+
+    @Override
+    public int size() {
+      return backing.size();
+    }
+  }
+
+  private static final class ConcatSequence implements IntSequence {
+    private final IntSequence first;
+    private final IntSequence second;
+
+    ConcatSequence(IntSequence first, IntSequence second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public int get(int index) {
+      int split = first.size();
+      Objects.checkIndex(index, size());
+      return index < split ? first.get(index) : second.get(index - split);
+    }
+
+    @Override
+    public int size() {
+      return first.size() + second.size();
+    }
+  }
+}
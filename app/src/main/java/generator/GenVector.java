@@ -1,4 +1,8 @@
 package generator;
+import datastructures.IntVectorFormat;
+import datastructures.SegmentedIntVector;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -33,5 +37,60 @@ public final class GenVector {
 
     return ret;
   }
+
+  /**
+   * Generates a random segmented vector of integers, length n, without copying
+   * elements or allocating one huge array as the vector grows
+   *
+   * @param n The length of the vector
+   * @param m The maximum value of any element in the vector (non-inclusive)
+   * @return A SegmentedIntVector of length n
+   * @throws IllegalArgumentException if n is negative or m is non-positive
+   */
+  public static SegmentedIntVector generateSegmentedVector(long n, int m) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Length n cannot be negative: " + n);
+    }
+    if (m <= 0) {
+      throw new IllegalArgumentException("Maximum value m must be positive: " + m);
+    }
+
+    SegmentedIntVector ret = new SegmentedIntVector();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (long i = 0; i < n; i++) {
+      ret.add(random.nextInt(m));
+    }
+
+    return ret;
+  }
+
+  /**
+   * Writes a random vector of integers, length n, to a channel as one
+   * {@link IntVectorFormat} record, streaming it without holding the vector in memory
+   *
+   * @param out The channel to write to; not closed
+   * @param n The length of the vector
+   * @param m The maximum value of any element in the vector (non-inclusive)
+   * @param encoding The payload encoding
+   * @throws NullPointerException if out or encoding is null
+   * @throws IllegalArgumentException if n is negative or m is non-positive
+   * @throws IOException if an I/O error occurs
+   */
+  public static void writeVector(WritableByteChannel out, int n, int m,
+      IntVectorFormat.Encoding encoding) throws IOException {
+    if (n < 0) {
+      throw new IllegalArgumentException("Length n cannot be negative: " + n);
+    }
+    if (m <= 0) {
+      throw new IllegalArgumentException("Maximum value m must be positive: " + m);
+    }
+
+    IntVectorFormat.Writer writer = IntVectorFormat.writer(out, n, encoding);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < n; i++) {
+      writer.add(random.nextInt(m));
+    }
+    writer.finish();
+  }
 }
 
@@ -0,0 +1,175 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExternalSortTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static byte[] toBytes(int[] values) {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES);
+    buffer.asIntBuffer().put(values);
+    return buffer.array();
+  }
+
+  private static int[] toInts(byte[] bytes) {
+    IntBuffer buffer = ByteBuffer.wrap(bytes).asIntBuffer();
+    int[] values = new int[buffer.remaining()];
+    buffer.get(values);
+    return values;
+  }
+
+  private static int[] randomInts(int n, long seed) {
+    Random random = new Random(seed);
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = random.nextInt();
+    }
+    return values;
+  }
+
+  private long countRunFiles() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.filter(p -> p.getFileName().toString().startsWith("sort-run-")).count();
+    }
+  }
+
+  @Nested
+  @DisplayName("Argument checks")
+  class ArgumentTests {
+
+    @Test
+    @DisplayName("Exception: null input should throw NullPointerException")
+    public void testNullInput() {
+      NullPointerException exception = assertThrows(NullPointerException.class, () -> {
+        ExternalSort.sort(null, tempDir.resolve("out.bin"));
+      }, "sort(null, out) should throw NullPointerException");
+      assertTrue(exception.getMessage().contains("null"), "Exception message should mention 'null'");
+    }
+
+    @Test
+    @DisplayName("Exception: invalid run size or fan-in should throw IllegalArgumentException")
+    public void testInvalidConfiguration() {
+      Path in = tempDir.resolve("in.bin");
+      Path out = tempDir.resolve("out.bin");
+      assertThrows(IllegalArgumentException.class, () -> ExternalSort.sort(in, out, 0, 4, tempDir),
+          "Run size of 0 should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> ExternalSort.sort(in, out, 16, 1, tempDir),
+          "Fan-in of 1 should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Exception: input with trailing bytes should throw IOException")
+    public void testTrailingBytes() throws IOException {
+      Path in = tempDir.resolve("in.bin");
+      Files.write(in, new byte[] { 0, 0, 0, 1, 0, 0 });
+      IOException exception = assertThrows(IOException.class, () -> {
+        ExternalSort.sort(in, tempDir.resolve("out.bin"), 16, 4, tempDir);
+      }, "Input with a partial int should throw IOException");
+      assertTrue(exception.getMessage().contains("multiple of 4"), "Exception message should mention the length");
+      assertEquals(0, countRunFiles(), "No run files should be left behind");
+    }
+  }
+
+  @Nested
+  @DisplayName("Sort tests")
+  class SortTests {
+
+    @Test
+    @DisplayName("Empty input should produce empty output")
+    public void testEmpty() throws IOException {
+      Path in = tempDir.resolve("in.bin");
+      Path out = tempDir.resolve("out.bin");
+      Files.write(in, new byte[0]);
+      assertEquals(0, ExternalSort.sort(in, out, 16, 4, tempDir), "Empty input should sort 0 ints");
+      assertEquals(0, Files.size(out), "Output should be empty");
+    }
+
+    @Test
+    @DisplayName("Input fitting in one run should be sorted without spilling")
+    public void testSingleRun() throws IOException {
+      int[] values = { 5, -3, 9, 0, 5, Integer.MIN_VALUE, Integer.MAX_VALUE };
+      Path in = tempDir.resolve("in.bin");
+      Path out = tempDir.resolve("out.bin");
+      Files.write(in, toBytes(values));
+      assertEquals(values.length, ExternalSort.sort(in, out), "Every int should be sorted");
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      assertArrayEquals(expected, toInts(Files.readAllBytes(out)), "Output should be sorted");
+    }
+
+    @Test
+    @DisplayName("Many runs with a small fan-in should need several merge passes")
+    public void testMultiPass() throws IOException {
+      int[] values = randomInts(10_007, 11);
+      Path in = tempDir.resolve("in.bin");
+      Path out = tempDir.resolve("out.bin");
+      Files.write(in, toBytes(values));
+      // 100-int runs give 101 runs; fan-in 3 needs five merge passes
+      assertEquals(values.length, ExternalSort.sort(in, out, 100, 3, tempDir), "Every int should be sorted");
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      assertArrayEquals(expected, toInts(Files.readAllBytes(out)), "Output should be sorted");
+      assertEquals(0, countRunFiles(), "Run files should be deleted");
+    }
+
+    @Test
+    @DisplayName("Run size dividing the input exactly should not produce an empty run")
+    public void testExactRuns() throws IOException {
+      int[] values = randomInts(400, 12);
+      Path in = tempDir.resolve("in.bin");
+      Path out = tempDir.resolve("out.bin");
+      Files.write(in, toBytes(values));
+      ExternalSort.sort(in, out, 100, 4, tempDir);
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      assertArrayEquals(expected, toInts(Files.readAllBytes(out)), "Output should be sorted");
+    }
+
+    @Test
+    @DisplayName("Sorting a file onto itself should work")
+    public void testInPlace() throws IOException {
+      int[] values = randomInts(1_000, 13);
+      Path file = tempDir.resolve("data.bin");
+      Files.write(file, toBytes(values));
+      ExternalSort.sort(file, file, 64, 8, tempDir);
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      assertArrayEquals(expected, toInts(Files.readAllBytes(file)), "File should be sorted in place");
+    }
+
+    @Test
+    @DisplayName("Channel input and output should be supported")
+    public void testChannels() throws IOException {
+      int[] values = randomInts(5_000, 14);
+      ByteArrayOutputStream sink = new ByteArrayOutputStream();
+      long count = ExternalSort.sort(Channels.newChannel(new ByteArrayInputStream(toBytes(values))),
+          Channels.newChannel(sink), 256, 4, tempDir);
+      assertEquals(values.length, count, "Every int should be sorted");
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      assertArrayEquals(expected, toInts(sink.toByteArray()), "Channel output should be sorted");
+    }
+  }
+}
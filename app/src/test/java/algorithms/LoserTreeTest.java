@@ -0,0 +1,143 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class LoserTreeTest {
+
+  /**
+   * Merges sorted runs through a loser tree, recording the winning source of each key
+   */
+  private static int[][] merge(int[][] runs) {
+    int total = 0;
+    for (int[] run : runs) {
+      total += run.length;
+    }
+    int[] keys = new int[total];
+    int[] sources = new int[total];
+    int[] positions = new int[runs.length];
+    LoserTree tree = new LoserTree(runs.length);
+    for (int i = 0; i < runs.length; i++) {
+      if (runs[i].length > 0) {
+        tree.set(i, runs[i][0]);
+        positions[i] = 1;
+      }
+    }
+    tree.build();
+    int n = 0;
+    while (!tree.isEmpty()) {
+      int winner = tree.winner();
+      keys[n] = tree.winnerKey();
+      sources[n++] = winner;
+      if (positions[winner] < runs[winner].length) {
+        tree.replaceWinner(runs[winner][positions[winner]++]);
+      } else {
+        tree.exhaustWinner();
+      }
+    }
+    assertEquals(total, n, "Every key should be emitted exactly once");
+    return new int[][] { keys, sources };
+  }
+
+  @Nested
+  @DisplayName("Argument and state checks")
+  class StateTests {
+
+    @Test
+    @DisplayName("Exception: non-positive k should throw IllegalArgumentException")
+    public void testNonPositiveK() {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        new LoserTree(0);
+      }, "LoserTree(0) should throw IllegalArgumentException");
+      assertTrue(exception.getMessage().contains("positive"), "Exception message should mention 'positive'");
+    }
+
+    @Test
+    @DisplayName("Exception: source index out of bounds should throw IndexOutOfBoundsException")
+    public void testSetOutOfBounds() {
+      LoserTree tree = new LoserTree(2);
+      assertThrows(IndexOutOfBoundsException.class, () -> tree.set(2, 0),
+          "set with source >= k should throw IndexOutOfBoundsException");
+    }
+
+    @Test
+    @DisplayName("Exception: using the tree before build should throw IllegalStateException")
+    public void testNotBuilt() {
+      LoserTree tree = new LoserTree(2);
+      assertThrows(IllegalStateException.class, tree::isEmpty,
+          "isEmpty before build should throw IllegalStateException");
+    }
+
+    @Test
+    @DisplayName("Exception: reading an empty tree should throw IllegalStateException")
+    public void testEmpty() {
+      LoserTree tree = new LoserTree(3);
+      tree.build();
+      assertTrue(tree.isEmpty(), "Tree with no sources set should be empty");
+      assertThrows(IllegalStateException.class, tree::winnerKey,
+          "winnerKey on an empty tree should throw IllegalStateException");
+    }
+  }
+
+  @Nested
+  @DisplayName("Merge tests")
+  class MergeTests {
+
+    @Test
+    @DisplayName("Single source should be emitted unchanged")
+    public void testSingleSource() {
+      int[][] result = merge(new int[][] { { 1, 2, 2, 5 } });
+      assertArrayEquals(new int[] { 1, 2, 2, 5 }, result[0], "Single source should pass through");
+    }
+
+    @Test
+    @DisplayName("Empty sources should be skipped")
+    public void testEmptySources() {
+      int[][] result = merge(new int[][] { {}, { 3, 4 }, {}, { 1 }, {} });
+      assertArrayEquals(new int[] { 1, 3, 4 }, result[0], "Empty sources should not affect the merge");
+    }
+
+    @Test
+    @DisplayName("Equal keys should be emitted in source order")
+    public void testStableTies() {
+      int[][] result = merge(new int[][] { { 1, 5 }, { 1, 5 }, { 5 } });
+      assertArrayEquals(new int[] { 1, 1, 5, 5, 5 }, result[0], "Keys should be merged in order");
+      assertArrayEquals(new int[] { 0, 1, 0, 1, 2 }, result[1], "Ties should go to the lower source first");
+    }
+
+    @Test
+    @DisplayName("Random runs with non-power-of-two k should merge into sorted order")
+    public void testRandomRuns() {
+      Random random = new Random(3);
+      for (int k = 1; k <= 13; k++) {
+        int[][] runs = new int[k][];
+        int total = 0;
+        for (int i = 0; i < k; i++) {
+          runs[i] = new int[random.nextInt(50)];
+          for (int j = 0; j < runs[i].length; j++) {
+            runs[i][j] = random.nextInt(100) - 50;
+          }
+          Arrays.sort(runs[i]);
+          total += runs[i].length;
+        }
+        int[] expected = new int[total];
+        int n = 0;
+        for (int[] run : runs) {
+          System.arraycopy(run, 0, expected, n, run.length);
+          n += run.length;
+        }
+        Arrays.sort(expected);
+        assertArrayEquals(expected, merge(runs)[0], "Merge of " + k + " runs should be sorted");
+      }
+    }
+  }
+}
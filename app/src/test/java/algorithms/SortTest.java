@@ -1,11 +1,13 @@
 package algorithms;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -359,4 +361,334 @@ public class SortTest {
       assertEquals(expected, result, "MaxN from identical values should return n copies");
     }
   }
+
+  @Nested
+  @DisplayName("MaxNParallel tests")
+  class MaxNParallelTests {
+
+    @Test
+    @DisplayName("Exception: null ArrayList should throw NullPointerException")
+    public void testMaxNParallelNull() {
+      NullPointerException exception = assertThrows(NullPointerException.class, () -> {
+        Sort.maxNParallel((ArrayList<Integer>) null, 3);
+      }, "maxNParallel(null, 3) should throw NullPointerException");
+      assertTrue(exception.getMessage().contains("null"), "Exception message should mention 'null'");
+    }
+
+    @Test
+    @DisplayName("Exception: invalid n should be rejected like maxN")
+    public void testMaxNParallelInvalidN() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2, 3));
+      assertThrows(IllegalArgumentException.class, () -> Sort.maxNParallel(v, -1),
+          "maxNParallel with negative n should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.maxNParallel(v, 0),
+          "maxNParallel with n=0 should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.maxNParallel(new int[] { 1, 2 }, 3),
+          "maxNParallel with n > length should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Small vector should match maxN")
+    public void testMaxNParallelSmall() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(3, 1, 4, 1, 5, 9, 2, 6));
+      assertEquals(Sort.maxN(v, 3), Sort.maxNParallel(v, 3), "maxNParallel should match maxN");
+    }
+
+    @Test
+    @DisplayName("Large vector spanning several chunks should match maxN")
+    public void testMaxNParallelLarge() {
+      Random random = new Random(42);
+      int size = 300_000;
+      ArrayList<Integer> v = new ArrayList<>(size);
+      int[] a = new int[size];
+      for (int i = 0; i < size; i++) {
+        a[i] = random.nextInt(1000) - 500;
+        v.add(a[i]);
+      }
+      ArrayList<Integer> expected = Sort.maxN(v, 100);
+      assertEquals(expected, Sort.maxNParallel(v, 100), "maxNParallel should match maxN on a large vector");
+
+      int[] result = Sort.maxNParallel(a, 100);
+      assertEquals(100, result.length, "Result should have 100 elements");
+      for (int i = 0; i < result.length; i++) {
+        assertEquals(expected.get(i), result[i], "Array result should match maxN at index " + i);
+      }
+    }
+
+    @Test
+    @DisplayName("n larger than a chunk should still match maxN")
+    public void testMaxNParallelLargeN() {
+      Random random = new Random(7);
+      int[] a = new int[200_000];
+      for (int i = 0; i < a.length; i++) {
+        a[i] = random.nextInt();
+      }
+      ArrayList<Integer> v = new ArrayList<>(a.length);
+      for (int value : a) {
+        v.add(value);
+      }
+      ArrayList<Integer> expected = Sort.maxN(v, 150_000);
+      int[] result = Sort.maxNParallel(a, 150_000);
+      for (int i = 0; i < result.length; i++) {
+        assertEquals(expected.get(i), result[i], "Array result should match maxN at index " + i);
+      }
+      assertEquals(expected, Sort.maxNParallel(v, 150_000),
+          "maxNParallel should match maxN when n exceeds the chunk size");
+    }
+  }
+
+  @Nested
+  @DisplayName("Argsort and applyPermutation tests")
+  class ArgsortTests {
+
+    @Test
+    @DisplayName("Exception: null inputs should throw NullPointerException")
+    public void testArgsortNull() {
+      assertThrows(NullPointerException.class, () -> Sort.argsort((int[]) null),
+          "argsort(null) should throw NullPointerException");
+      assertThrows(NullPointerException.class, () -> Sort.argsort((ArrayList<Integer>) null),
+          "argsort(null) should throw NullPointerException");
+      assertThrows(NullPointerException.class, () -> Sort.applyPermutation(null, new int[0]),
+          "applyPermutation with null permutation should throw NullPointerException");
+    }
+
+    @Test
+    @DisplayName("Exception: permutation length mismatch should throw IllegalArgumentException")
+    public void testApplyPermutationLengthMismatch() {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        Sort.applyPermutation(new int[] { 0, 1 }, new long[] { 5 });
+      }, "applyPermutation with mismatched lengths should throw IllegalArgumentException");
+      assertTrue(exception.getMessage().contains("match"), "Exception message should mention the mismatch");
+    }
+
+    @Test
+    @DisplayName("Edge case: empty array should give empty permutation")
+    public void testArgsortEmpty() {
+      assertArrayEquals(new int[0], Sort.argsort(new int[0]), "Empty array should give empty permutation");
+    }
+
+    @Test
+    @DisplayName("Permutation should sort keys, keeping equal keys in original order")
+    public void testArgsortStable() {
+      int[] keys = { 3, -1, 3, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, 0 };
+      int[] perm = Sort.argsort(keys);
+      assertArrayEquals(new int[] { 3, 1, 4, 6, 0, 2, 5 }, perm, "Permutation should be stable for equal keys");
+      assertArrayEquals(new int[] { Integer.MIN_VALUE, -1, -1, 0, 3, 3, Integer.MAX_VALUE },
+          Sort.applyPermutation(perm, keys), "Applying the permutation should sort the keys");
+    }
+
+    @Test
+    @DisplayName("ArrayList argsort should match array argsort")
+    public void testArgsortArrayList() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(5, 2, 8, 2, 1));
+      assertArrayEquals(new int[] { 4, 1, 3, 0, 2 }, Sort.argsort(v), "ArrayList argsort should sort by key");
+      assertEquals(new ArrayList<>(Arrays.asList(5, 2, 8, 2, 1)), v, "Input vector should not be modified");
+    }
+
+    @Test
+    @DisplayName("Permutation should reorder related columns")
+    public void testApplyPermutationColumns() {
+      int[] ages = { 40, 25, 33 };
+      long[] ids = { 1000L, 2000L, 3000L };
+      String[] names = { "ann", "bob", "cy" };
+      int[] perm = Sort.argsort(ages);
+      assertArrayEquals(new long[] { 2000L, 3000L, 1000L }, Sort.applyPermutation(perm, ids),
+          "Long column should follow the permutation");
+      assertArrayEquals(new String[] { "bob", "cy", "ann" }, Sort.applyPermutation(perm, names),
+          "Object column should follow the permutation");
+    }
+  }
+
+  @Nested
+  @DisplayName("Selection and percentile tests")
+  class SelectionTests {
+
+    private int[] randomArray(int n, int bound, long seed) {
+      Random random = new Random(seed);
+      int[] a = new int[n];
+      for (int i = 0; i < n; i++) {
+        a[i] = random.nextInt(bound) - bound / 2;
+      }
+      return a;
+    }
+
+    @Test
+    @DisplayName("Exception: null inputs should throw NullPointerException")
+    public void testSelectionNull() {
+      assertThrows(NullPointerException.class, () -> Sort.kthSmallest((int[]) null, 0),
+          "kthSmallest(null, 0) should throw NullPointerException");
+      assertThrows(NullPointerException.class, () -> Sort.median((ArrayList<Integer>) null),
+          "median(null) should throw NullPointerException");
+      assertThrows(NullPointerException.class, () -> Sort.percentiles(new int[] { 1 }, (double[]) null),
+          "percentiles with null percentiles should throw NullPointerException");
+    }
+
+    @Test
+    @DisplayName("Exception: invalid ranks and percentiles should throw IllegalArgumentException")
+    public void testSelectionInvalidArguments() {
+      int[] a = { 1, 2, 3 };
+      assertThrows(IllegalArgumentException.class, () -> Sort.kthSmallest(a, 3),
+          "kthSmallest with k == length should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.kthSmallest(a, -1),
+          "kthSmallest with negative k should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.median(new int[0]),
+          "median of an empty array should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.percentile(a, 100.5),
+          "percentile above 100 should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.percentile(a, Double.NaN),
+          "NaN percentile should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("kthSmallest should match the sorted array at every rank")
+    public void testKthSmallestEveryRank() {
+      int[] a = randomArray(200, 50, 21);
+      int[] sorted = a.clone();
+      Arrays.sort(sorted);
+      for (int k = 0; k < a.length; k++) {
+        assertEquals(sorted[k], Sort.kthSmallest(a, k), "kthSmallest should match sorted order at rank " + k);
+      }
+    }
+
+    @Test
+    @DisplayName("kthSmallest should not modify the input")
+    public void testKthSmallestInputUnchanged() {
+      int[] a = { 9, 1, 8, 2, 7, 3 };
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(9, 1, 8, 2, 7, 3));
+      assertEquals(3, Sort.kthSmallest(a, 2), "Third smallest should be 3");
+      assertEquals(8, Sort.kthSmallest(v, 4), "Fifth smallest should be 8");
+      assertArrayEquals(new int[] { 9, 1, 8, 2, 7, 3 }, a, "Array should not be modified");
+      assertEquals(new ArrayList<>(Arrays.asList(9, 1, 8, 2, 7, 3)), v, "Vector should not be modified");
+    }
+
+    @Test
+    @DisplayName("Median of odd and even lengths")
+    public void testMedian() {
+      assertEquals(5.0, Sort.median(new int[] { 9, 5, 1 }), "Median of odd length should be the middle element");
+      assertEquals(4.5, Sort.median(new ArrayList<>(Arrays.asList(1, 9, 4, 5))),
+          "Median of even length should be the mean of the middle elements");
+      assertEquals((double) Integer.MAX_VALUE, Sort.median(new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE }),
+          "Median should not overflow");
+    }
+
+    @Test
+    @DisplayName("Percentiles should use the nearest-rank method")
+    public void testPercentilesNearestRank() {
+      int[] a = new int[100];
+      for (int i = 0; i < a.length; i++) {
+        a[i] = 100 - i; // 100 down to 1
+      }
+      assertArrayEquals(new int[] { 99, 50, 1, 100, 90 }, Sort.percentiles(a, 99, 50, 0, 100, 90),
+          "Percentiles should be returned in the order requested");
+      assertEquals(99, Sort.percentile(a, 99), "p99 of 1..100 should be 99");
+    }
+
+    @Test
+    @DisplayName("Multi-percentile selection should match a full sort on large inputs with duplicates")
+    public void testPercentilesMatchSort() {
+      int[] a = randomArray(100_000, 1_000, 22);
+      int[] sorted = a.clone();
+      Arrays.sort(sorted);
+      double[] ps = { 1, 25, 50, 75, 90, 99, 99.9 };
+      int[] result = Sort.percentiles(a, ps);
+      for (int i = 0; i < ps.length; i++) {
+        int rank = Math.max(0, (int) Math.ceil(ps[i] * a.length / 100) - 1);
+        assertEquals(sorted[rank], result[i], "Percentile " + ps[i] + " should match the sorted array");
+      }
+      ArrayList<Integer> v = new ArrayList<>();
+      for (int value : a) {
+        v.add(value);
+      }
+      assertArrayEquals(result, Sort.percentiles(v, ps), "Vector percentiles should match array percentiles");
+    }
+
+    @Test
+    @DisplayName("Selection on adversarial inputs should stay correct")
+    public void testSelectionAdversarial() {
+      int n = 50_000;
+      int[] ascending = new int[n];
+      int[] constant = new int[n];
+      int[] organPipe = new int[n];
+      for (int i = 0; i < n; i++) {
+        ascending[i] = i;
+        constant[i] = 7;
+        organPipe[i] = i < n / 2 ? i : n - i;
+      }
+      assertEquals(n / 3, Sort.kthSmallest(ascending, n / 3), "Selection on sorted input should be correct");
+      assertEquals(7, Sort.kthSmallest(constant, n - 1), "Selection on constant input should be correct");
+      int[] sorted = organPipe.clone();
+      Arrays.sort(sorted);
+      assertEquals(sorted[n / 2], Sort.kthSmallest(organPipe, n / 2), "Selection on organ-pipe input should be correct");
+    }
+  }
+
+  @Nested
+  @DisplayName("PartialSort tests")
+  class PartialSortTests {
+
+    @Test
+    @DisplayName("Exception: null input should throw NullPointerException")
+    public void testPartialSortNull() {
+      NullPointerException exception = assertThrows(NullPointerException.class, () -> {
+        Sort.partialSort((ArrayList<Integer>) null, 1);
+      }, "partialSort(null, 1) should throw NullPointerException");
+      assertTrue(exception.getMessage().contains("null"), "Exception message should mention 'null'");
+    }
+
+    @Test
+    @DisplayName("Exception: k outside [0, size] should throw IllegalArgumentException")
+    public void testPartialSortInvalidK() {
+      assertThrows(IllegalArgumentException.class, () -> Sort.partialSort(new int[] { 1, 2 }, 3),
+          "partialSort with k > length should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> Sort.partialSort(new int[] { 1, 2 }, -1),
+          "partialSort with negative k should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Edge case: k=0 should leave the array unchanged")
+    public void testPartialSortZero() {
+      int[] a = { 3, 1, 2 };
+      Sort.partialSort(a, 0);
+      assertArrayEquals(new int[] { 3, 1, 2 }, a, "k=0 should not move any element");
+    }
+
+    @Test
+    @DisplayName("Edge case: k=size should fully sort")
+    public void testPartialSortFull() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(5, -1, 3, 3, 0));
+      Sort.partialSort(v, v.size());
+      assertEquals(new ArrayList<>(Arrays.asList(-1, 0, 3, 3, 5)), v, "k=size should fully sort the vector");
+    }
+
+    @Test
+    @DisplayName("First k positions should match a full sort and the rest should be a permutation")
+    public void testPartialSortPrefix() {
+      Random random = new Random(32);
+      int[] a = new int[10_000];
+      for (int i = 0; i < a.length; i++) {
+        a[i] = random.nextInt(500);
+      }
+      int[] sorted = a.clone();
+      Arrays.sort(sorted);
+      int k = 25;
+      Sort.partialSort(a, k);
+      assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(a, k), "First k positions should be sorted");
+      for (int i = k; i < a.length; i++) {
+        assertTrue(a[i] >= a[k - 1], "Element at " + i + " should not be smaller than the kth smallest");
+      }
+      int[] all = a.clone();
+      Arrays.sort(all);
+      assertArrayEquals(sorted, all, "Partial sort should be a permutation of the input");
+    }
+
+    @Test
+    @DisplayName("Vector partial sort should place the first page in order")
+    public void testPartialSortVector() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(9, 4, 7, 1, 8, 2, 6, 3, 5));
+      Sort.partialSort(v, 3);
+      assertEquals(new ArrayList<>(Arrays.asList(1, 2, 3)), new ArrayList<>(v.subList(0, 3)),
+          "First three positions should hold the three smallest in order");
+      assertEquals(9, v.size(), "Vector size should not change");
+    }
+  }
 }
@@ -0,0 +1,197 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class SortedIntMultisetTest {
+
+  @Nested
+  @DisplayName("Basic operation tests")
+  class BasicTests {
+
+    @Test
+    @DisplayName("Empty multiset should report no values")
+    public void testEmpty() {
+      SortedIntMultiset set = new SortedIntMultiset();
+      assertTrue(set.isEmpty(), "New multiset should be empty");
+      assertEquals(0, set.rank(5), "Rank in an empty multiset should be 0");
+      assertFalse(set.contains(5), "Empty multiset should contain nothing");
+      assertFalse(set.remove(5), "Removing from an empty multiset should return false");
+      assertThrows(NoSuchElementException.class, set::min, "min of an empty multiset should throw");
+      assertThrows(IndexOutOfBoundsException.class, () -> set.select(0), "select on an empty multiset should throw");
+    }
+
+    @Test
+    @DisplayName("Inserted values should be ordered with duplicates counted")
+    public void testAddRankSelect() {
+      SortedIntMultiset set = new SortedIntMultiset();
+      for (int value : new int[] { 5, 1, 5, -3, 9, 5 }) {
+        set.add(value);
+      }
+      assertArrayEquals(new int[] { -3, 1, 5, 5, 5, 9 }, set.toArray(), "Values should be sorted");
+      assertEquals(2, set.rank(5), "Two values are smaller than 5");
+      assertEquals(3, set.count(5), "5 was added three times");
+      assertEquals(5, set.select(3), "Position 3 should hold 5");
+      assertEquals(-3, set.min(), "Minimum should be -3");
+      assertEquals(9, set.max(), "Maximum should be 9");
+    }
+
+    @Test
+    @DisplayName("Remove should drop a single occurrence")
+    public void testRemove() {
+      SortedIntMultiset set = new SortedIntMultiset(new int[] { 2, 2, 4 });
+      assertTrue(set.remove(2), "Removing a present value should return true");
+      assertEquals(1, set.count(2), "One occurrence of 2 should remain");
+      assertFalse(set.remove(3), "Removing an absent value should return false");
+      assertEquals(2, set.size(), "Size should drop by one");
+    }
+
+    @Test
+    @DisplayName("Range queries should be inclusive on both ends")
+    public void testRange() {
+      SortedIntMultiset set = new SortedIntMultiset(new int[] { 1, 3, 3, 5, 7, Integer.MAX_VALUE });
+      assertEquals(4, set.countInRange(3, 7), "Range [3, 7] should hold four values");
+      assertEquals(2, set.countInRange(7, Integer.MAX_VALUE), "Range up to MAX_VALUE should be inclusive");
+      assertEquals(0, set.countInRange(5, 4), "Empty range should hold no values");
+      ArrayList<Integer> visited = new ArrayList<>();
+      set.forEachInRange(2, 5, visited::add);
+      assertEquals(new ArrayList<>(Arrays.asList(3, 3, 5)), visited, "Range iteration should be ascending");
+    }
+
+    @Test
+    @DisplayName("maxN and toArrayList should match Sort.maxN and Sort.sortVector")
+    public void testMatchesSort() {
+      Random random = new Random(33);
+      ArrayList<Integer> v = new ArrayList<>();
+      SortedIntMultiset set = new SortedIntMultiset();
+      for (int i = 0; i < 3_000; i++) {
+        int value = random.nextInt(100);
+        v.add(value);
+        set.add(value);
+      }
+      assertEquals(Sort.maxN(v, 10), set.maxN(10), "maxN should match Sort.maxN");
+      Sort.sortVector(v);
+      assertEquals(v, set.toArrayList(), "toArrayList should match Sort.sortVector");
+      assertThrows(IllegalArgumentException.class, () -> set.maxN(0), "maxN(0) should be rejected like Sort.maxN");
+    }
+  }
+
+  @Nested
+  @DisplayName("Randomized model tests")
+  class ModelTests {
+
+    @Test
+    @DisplayName("Random inserts and deletes should match a sorted list model")
+    public void testAgainstModel() {
+      Random random = new Random(34);
+      SortedIntMultiset set = new SortedIntMultiset();
+      ArrayList<Integer> model = new ArrayList<>();
+      for (int step = 0; step < 20_000; step++) {
+        int value = random.nextInt(2_000) - 1_000;
+        if (random.nextInt(3) == 0) {
+          boolean removed = model.remove(Integer.valueOf(value));
+          assertEquals(removed, set.remove(value), "remove(" + value + ") should match the model");
+        } else {
+          int pos = Collections.binarySearch(model, value);
+          model.add(pos < 0 ? -pos - 1 : pos, value);
+          set.add(value);
+        }
+      }
+      assertEquals(model.size(), set.size(), "Size should match the model");
+      for (int probe = -1_010; probe <= 1_010; probe += 7) {
+        int expectedRank = 0;
+        while (expectedRank < model.size() && model.get(expectedRank) < probe) {
+          expectedRank++;
+        }
+        assertEquals(expectedRank, set.rank(probe), "rank(" + probe + ") should match the model");
+      }
+      for (int k = 0; k < model.size(); k += 13) {
+        assertEquals(model.get(k), set.select(k), "select(" + k + ") should match the model");
+      }
+      PrimitiveIterator.OfInt it = set.iterator();
+      for (int expected : model) {
+        assertEquals(expected, it.nextInt(), "Iteration should match the model");
+      }
+      assertFalse(it.hasNext(), "Iteration should end with the model");
+    }
+
+    @Test
+    @DisplayName("Bulk addAll should match one-by-one inserts")
+    public void testAddAllBulk() {
+      Random random = new Random(35);
+      int[] first = new int[5_000];
+      int[] second = new int[7_000];
+      for (int i = 0; i < first.length; i++) {
+        first[i] = random.nextInt();
+      }
+      for (int i = 0; i < second.length; i++) {
+        second[i] = random.nextInt();
+      }
+      SortedIntMultiset bulk = new SortedIntMultiset(first);
+      bulk.addAll(second);
+      SortedIntMultiset single = new SortedIntMultiset();
+      for (int value : first) {
+        single.add(value);
+      }
+      for (int value : second) {
+        single.add(value);
+      }
+      assertArrayEquals(single.toArray(), bulk.toArray(), "Bulk and single inserts should agree");
+      assertEquals(single.select(6_000), bulk.select(6_000), "select should agree after bulk insert");
+    }
+
+    @Test
+    @DisplayName("A full-block batch into a much larger multiset should be inserted in place")
+    public void testAddAllSmallRelativeBatch() {
+      Random random = new Random(36);
+      int[] base = new int[200_000];
+      for (int i = 0; i < base.length; i++) {
+        base[i] = random.nextInt();
+      }
+      int[] batch = new int[SortedIntMultiset.BLOCK_CAPACITY];
+      for (int i = 0; i < batch.length; i++) {
+        batch[i] = random.nextInt();
+      }
+      assertFalse(SortedIntMultiset.mergesBatch(batch.length, base.length),
+          "A batch this small relative to the multiset should not trigger a rebuild");
+      assertTrue(SortedIntMultiset.mergesBatch(base.length / 2, base.length),
+          "A batch half the size of the multiset should be merged");
+      SortedIntMultiset set = new SortedIntMultiset(base);
+      set.addAll(batch);
+      int[] expected = Arrays.copyOf(base, base.length + batch.length);
+      System.arraycopy(batch, 0, expected, base.length, batch.length);
+      Arrays.sort(expected);
+      assertArrayEquals(expected, set.toArray(), "Batch should be inserted in order");
+      assertEquals(expected[100_000], set.select(100_000), "select should agree after the batch");
+    }
+
+    @Test
+    @DisplayName("Removing everything should leave an empty, reusable multiset")
+    public void testDrain() {
+      SortedIntMultiset set = new SortedIntMultiset();
+      for (int i = 0; i < 5_000; i++) {
+        set.add(i % 97);
+      }
+      for (int i = 0; i < 5_000; i++) {
+        assertTrue(set.remove(i % 97), "Every inserted value should be removable");
+      }
+      assertTrue(set.isEmpty(), "Multiset should be empty after removing everything");
+      set.add(42);
+      assertEquals(42, set.select(0), "Multiset should be reusable after draining");
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class TopNTest {
+
+  @Nested
+  @DisplayName("Construction and argument checks")
+  class ArgumentTests {
+
+    @Test
+    @DisplayName("Exception: non-positive n should throw IllegalArgumentException")
+    public void testNonPositiveN() {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        new TopN(0);
+      }, "TopN(0) should throw IllegalArgumentException");
+      assertTrue(exception.getMessage().contains("positive"), "Exception message should mention 'positive'");
+    }
+
+    @Test
+    @DisplayName("Exception: null batch should throw NullPointerException")
+    public void testAddAllNull() {
+      TopN top = new TopN(3);
+      assertThrows(NullPointerException.class, () -> top.addAll(null),
+          "addAll(null) should throw NullPointerException");
+    }
+
+    @Test
+    @DisplayName("Exception: out of range batch should throw IndexOutOfBoundsException")
+    public void testAddAllOutOfRange() {
+      TopN top = new TopN(3);
+      assertThrows(IndexOutOfBoundsException.class, () -> top.addAll(new int[] { 1, 2 }, 1, 3),
+          "addAll with end past the array should throw IndexOutOfBoundsException");
+    }
+
+    @Test
+    @DisplayName("Exception: merging into itself should throw IllegalArgumentException")
+    public void testMergeSelf() {
+      TopN top = new TopN(3);
+      assertThrows(IllegalArgumentException.class, () -> top.merge(top),
+          "merge(this) should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Exception: merging an accumulator with a different n should throw IllegalArgumentException")
+    public void testMergeDifferentN() {
+      TopN top = new TopN(3);
+      assertThrows(IllegalArgumentException.class, () -> top.merge(new TopN(2)),
+          "merge of a smaller n should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> top.merge(new TopN(4)),
+          "merge of a larger n should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Exception: threshold of an empty accumulator should throw IllegalStateException")
+    public void testThresholdEmpty() {
+      assertThrows(IllegalStateException.class, () -> new TopN(3).threshold(),
+          "threshold() with no values should throw IllegalStateException");
+    }
+  }
+
+  @Nested
+  @DisplayName("Accumulation tests")
+  class AccumulationTests {
+
+    @Test
+    @DisplayName("Fewer values than n should all be kept")
+    public void testFewerThanN() {
+      TopN top = new TopN(5);
+      top.add(3);
+      top.add(1);
+      assertEquals(2, top.size(), "Size should be the number of values offered");
+      assertArrayEquals(new int[] { 3, 1 }, top.snapshot(), "Snapshot should hold every value in descending order");
+    }
+
+    @Test
+    @DisplayName("Stream should keep the largest n values in descending order")
+    public void testKeepsLargest() {
+      TopN top = new TopN(3);
+      top.addAll(new int[] { 3, 1, 4, 1, 5 });
+      top.add(9);
+      top.addAll(new int[] { 2, 6 });
+      assertArrayEquals(new int[] { 9, 6, 5 }, top.snapshot(), "Snapshot should hold the top 3 values");
+      assertEquals(5, top.threshold(), "Threshold should be the smallest retained value");
+      assertEquals(8, top.count(), "Count should include every offered value");
+    }
+
+    @Test
+    @DisplayName("Snapshot should not disturb further accumulation")
+    public void testSnapshotMidStream() {
+      TopN top = new TopN(2);
+      top.addAll(new int[] { 1, 2 });
+      assertArrayEquals(new int[] { 2, 1 }, top.snapshot(), "First snapshot should hold the first values");
+      top.add(10);
+      assertArrayEquals(new int[] { 10, 2 }, top.snapshot(), "Later snapshot should reflect new values");
+    }
+
+    @Test
+    @DisplayName("Result should match Sort.maxN over the same values")
+    public void testMatchesMaxN() {
+      Random random = new Random(1);
+      ArrayList<Integer> v = new ArrayList<>();
+      TopN top = new TopN(20);
+      for (int i = 0; i < 10_000; i++) {
+        int value = random.nextInt(500);
+        v.add(value);
+        top.add(value);
+      }
+      assertEquals(Sort.maxN(v, 20), top.toArrayList(), "TopN should match Sort.maxN");
+    }
+
+    @Test
+    @DisplayName("Merged shards should match a single accumulator")
+    public void testMergeShards() {
+      Random random = new Random(2);
+      int[] values = new int[5_000];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = random.nextInt();
+      }
+      TopN whole = new TopN(50);
+      whole.addAll(values);
+
+      TopN first = new TopN(50);
+      TopN second = new TopN(50);
+      first.addAll(values, 0, 1_234);
+      second.addAll(values, 1_234, values.length);
+      first.merge(second);
+
+      assertArrayEquals(whole.snapshot(), first.snapshot(), "Merged shards should match a single pass");
+      assertEquals(values.length, first.count(), "Merged count should cover both shards");
+      assertEquals(values.length - 1_234, second.count(), "Merged shard should be left unchanged");
+    }
+
+    @Test
+    @DisplayName("Clear should discard every value")
+    public void testClear() {
+      TopN top = new TopN(2);
+      top.addAll(new int[] { 7, 8, 9 });
+      top.clear();
+      assertEquals(0, top.size(), "Size should be zero after clear");
+      assertEquals(0, top.count(), "Count should be zero after clear");
+      assertEquals(2, top.n(), "n should survive clear");
+      assertEquals(new ArrayList<Integer>(), top.toArrayList(), "Cleared accumulator should be empty");
+    }
+  }
+}
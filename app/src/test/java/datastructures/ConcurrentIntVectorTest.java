@@ -0,0 +1,132 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentIntVectorTest {
+
+  @Nested
+  @DisplayName("Single-thread tests")
+  class SingleThreadTests {
+
+    @Test
+    @DisplayName("Appends should be sealed in order")
+    public void testAppendAndSeal() {
+      ConcurrentIntVector v = new ConcurrentIntVector(100, 4);
+      for (int i = 0; i < 10; i++) {
+        v.add(i);
+      }
+      v.addAll(new int[] {10, 11, 12});
+      IntVector sealed = v.seal();
+      assertEquals(IntVector.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12), sealed,
+          "Sealed vector should hold every element in order");
+      assertTrue(v.isSealed(), "Vector should report sealed");
+    }
+
+    @Test
+    @DisplayName("Gaps in partly filled blocks should be closed when sealing")
+    public void testCompaction() throws InterruptedException {
+      ConcurrentIntVector v = new ConcurrentIntVector(30, 8);
+      v.add(1);
+      Thread other = new Thread(() -> {
+        v.add(2);
+        v.add(3);
+      });
+      other.start();
+      other.join();
+      v.addAll(new int[] {4, 5, 6, 7, 8, 9, 10, 11, 12});
+      assertEquals(IntVector.of(1, 4, 5, 6, 7, 8, 9, 10, 2, 3, 11, 12), v.seal(),
+          "Gaps between blocks should be closed in reservation order");
+    }
+
+    @Test
+    @DisplayName("Exception: full and sealed vectors should reject appends")
+    public void testFullAndSealed() {
+      ConcurrentIntVector v = new ConcurrentIntVector(3, 2);
+      v.add(1);
+      v.add(2);
+      v.add(3);
+      assertThrows(IllegalStateException.class, () -> v.add(4), "Append past capacity should throw");
+      assertThrows(IllegalStateException.class, () -> v.addAll(new int[] {4}), "Bulk append past capacity should throw");
+      assertEquals(IntVector.of(1, 2, 3), v.seal(), "Full vector should seal");
+      assertThrows(IllegalStateException.class, v::seal, "Second seal should throw");
+      assertThrows(IllegalStateException.class, () -> v.add(4), "Append after seal should throw");
+      assertThrows(IllegalArgumentException.class, () -> new ConcurrentIntVector(-1), "Negative capacity should throw");
+    }
+
+    @Test
+    @DisplayName("Exception: appends into a partly filled block after seal should throw")
+    public void testAppendIntoOpenBlockAfterSeal() throws InterruptedException {
+      ConcurrentIntVector v = new ConcurrentIntVector(100, 8);
+      v.add(1);
+      Thread other = new Thread(() -> v.add(2));
+      other.start();
+      other.join();
+      IntVector sealed = v.seal();
+      assertThrows(IllegalStateException.class, () -> v.add(3), "add with free block slots should throw");
+      assertThrows(IllegalStateException.class, () -> v.addAll(new int[] {3}),
+          "addAll with free block slots should throw");
+      assertEquals(IntVector.of(1, 2), sealed, "Sealed vector should be unchanged by rejected appends");
+    }
+  }
+
+  @Nested
+  @DisplayName("Multi-thread tests")
+  class MultiThreadTests {
+
+    @Test
+    @DisplayName("Concurrent producers should lose no elements and keep their own order")
+    public void testConcurrentProducers() throws InterruptedException {
+      int threads = 8;
+      int perThread = 50_000;
+      ConcurrentIntVector v = new ConcurrentIntVector(threads * (perThread + 64), 64);
+      List<Thread> producers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int base = t * perThread;
+        producers.add(new Thread(() -> {
+          for (int i = 0; i < perThread; i += 10) {
+            if (i % 20 == 0) {
+              v.addAll(new int[] {base + i, base + i + 1, base + i + 2, base + i + 3, base + i + 4,
+                  base + i + 5, base + i + 6, base + i + 7, base + i + 8, base + i + 9});
+            } else {
+              for (int j = 0; j < 10; j++) {
+                v.add(base + i + j);
+              }
+            }
+          }
+        }));
+      }
+      for (Thread producer : producers) {
+        producer.start();
+      }
+      for (Thread producer : producers) {
+        producer.join();
+      }
+      IntVector sealed = v.seal();
+      assertEquals(threads * perThread, sealed.size(), "Every element should be present");
+      int[] last = new int[threads];
+      Arrays.fill(last, -1);
+      for (int i = 0; i < sealed.size(); i++) {
+        int value = sealed.get(i);
+        int t = value / perThread;
+        assertTrue(value > last[t], "Each producer's elements should stay in order");
+        last[t] = value;
+      }
+      int[] expected = new int[threads * perThread];
+      for (int i = 0; i < expected.length; i++) {
+        expected[i] = i;
+      }
+      assertArrayEquals(expected, DsIntVector.sortVector(sealed).toArray(), "Sorted result should be every value once");
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class DeltaIntVectorTest {
+
+  private static int[] sortedInts(int n, int bound, long seed) {
+    Random random = new Random(seed);
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = random.nextInt(bound);
+    }
+    Arrays.sort(values);
+    return values;
+  }
+
+  @Nested
+  @DisplayName("Encoding tests")
+  class EncodingTests {
+
+    @Test
+    @DisplayName("get and toArray should round-trip sorted values in about a byte each")
+    public void testRoundTrip() {
+      int[] values = sortedInts(10_000, 100_000, 46);
+      DeltaIntVector v = DeltaIntVector.encode(values);
+      assertArrayEquals(values, v.toArray(), "toArray should round-trip");
+      for (int i = 0; i < values.length; i += 31) {
+        assertEquals(values[i], v.get(i), "get(" + i + ")");
+      }
+      assertTrue(v.compressedBytes() < 2L * values.length, "Dense sorted data should take under two bytes each");
+    }
+
+    @Test
+    @DisplayName("Full-range gaps should round-trip")
+    public void testExtremes() {
+      int[] values = { Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE };
+      assertArrayEquals(values, DeltaIntVector.encode(values).toArray(), "Largest gaps should round-trip");
+      assertEquals(0, DeltaIntVector.encode(new int[0]).size(), "Empty input should give an empty vector");
+    }
+
+    @Test
+    @DisplayName("Exception: unsorted input should throw IllegalArgumentException")
+    public void testUnsorted() {
+      assertThrows(IllegalArgumentException.class, () -> DeltaIntVector.encode(new int[] { 1, 3, 2 }),
+          "Unsorted input should be rejected");
+      assertThrows(NullPointerException.class, () -> DeltaIntVector.encode(null), "encode(null)");
+    }
+
+    @Test
+    @DisplayName("Exception: a drop at a block boundary should throw IllegalArgumentException")
+    public void testUnsortedAtBlockBoundary() {
+      int[] values = new int[DeltaIntVector.BLOCK_SIZE + 72];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = i < DeltaIntVector.BLOCK_SIZE ? 1000 + i : i - DeltaIntVector.BLOCK_SIZE;
+      }
+      IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+          () -> DeltaIntVector.encode(values), "Drop from one block to the next should be rejected");
+      assertEquals("Array is not sorted at index: 128", e.getMessage(), "Message should name the first block start");
+    }
+  }
+
+  @Nested
+  @DisplayName("Search tests")
+  class SearchTests {
+
+    @Test
+    @DisplayName("countMatches, searchVector and sum should match the uncompressed data")
+    public void testScans() {
+      int[] values = sortedInts(20_000, 300, 47);
+      DeltaIntVector v = DeltaIntVector.encode(values);
+      IntVector plain = IntVector.of(values);
+      for (int n = -1; n <= 300; n += 13) {
+        assertEquals(DsIntVector.countMatches(plain, n), v.countMatches(n), "countMatches(" + n + ")");
+        assertArrayEquals(DsIntVector.searchVector(plain, n).toArray(), v.searchVector(n).toArray(),
+            "searchVector(" + n + ")");
+      }
+      assertEquals(Arrays.stream(values).asLongStream().sum(), v.sum(), "sum should match");
+    }
+
+    @Test
+    @DisplayName("Runs spanning blocks and the largest int should be found")
+    public void testBoundaries() {
+      int[] values = new int[1_000];
+      Arrays.fill(values, 100, 900, 5);
+      Arrays.fill(values, 900, 999, 7);
+      values[999] = Integer.MAX_VALUE;
+      DeltaIntVector v = DeltaIntVector.encode(values);
+      assertEquals(800, v.countMatches(5), "Run of 5 spans several blocks");
+      assertEquals(100, v.searchVector(5).get(0), "Run of 5 starts at 100");
+      assertTrue(v.contains(Integer.MAX_VALUE), "Largest int should be found");
+      assertFalse(v.contains(6), "Absent value should not be found");
+    }
+  }
+}
@@ -0,0 +1,317 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class DsIntVectorTest {
+
+  @Nested
+  @DisplayName("Operation tests")
+  class OperationTests {
+
+    @Test
+    @DisplayName("modifyVector should increment in place")
+    public void testModifyVector() {
+      IntVector v = IntVector.of(-5, 0, 10);
+      IntVector result = DsIntVector.modifyVector(v);
+      assertSame(v, result, "modifyVector should return the same vector");
+      assertArrayEquals(new int[] { -4, 1, 11 }, result.toArray(), "Each element should be incremented");
+    }
+
+    @Test
+    @DisplayName("searchVector should return every matching index")
+    public void testSearchVector() {
+      IntVector v = IntVector.of(5, 1, 5, 2, 5);
+      assertArrayEquals(new int[] { 0, 2, 4 }, DsIntVector.searchVector(v, 5).toArray(), "All indices of 5");
+      assertEquals(0, DsIntVector.searchVector(v, 7).size(), "Missing value should give no indices");
+    }
+
+    @Test
+    @DisplayName("sortVector should return a sorted copy")
+    public void testSortVector() {
+      IntVector v = IntVector.of(3, 1, 2);
+      IntVector result = DsIntVector.sortVector(v);
+      assertArrayEquals(new int[] { 1, 2, 3 }, result.toArray(), "Result should be sorted");
+      assertArrayEquals(new int[] { 3, 1, 2 }, v.toArray(), "Input should not be modified");
+    }
+
+    @Test
+    @DisplayName("reverseVector should return a reversed copy")
+    public void testReverseVector() {
+      assertArrayEquals(new int[] { 3, 2, 1 }, DsIntVector.reverseVector(IntVector.of(1, 2, 3)).toArray(),
+          "Result should be reversed");
+      assertEquals(0, DsIntVector.reverseVector(new IntVector()).size(), "Empty vector should stay empty");
+    }
+
+    @Test
+    @DisplayName("rotateVector should rotate left by n")
+    public void testRotateVector() {
+      assertArrayEquals(new int[] { 3, 4, 5, 1, 2 },
+          DsIntVector.rotateVector(IntVector.of(1, 2, 3, 4, 5), 2).toArray(), "Rotation by 2");
+      assertEquals(0, DsIntVector.rotateVector(new IntVector(), 5).size(), "Empty vector should stay empty");
+      assertThrows(IllegalArgumentException.class, () -> DsIntVector.rotateVector(IntVector.of(1, 2), 2),
+          "Rotation by size should throw IllegalArgumentException");
+      assertThrows(IllegalArgumentException.class, () -> DsIntVector.rotateVector(IntVector.of(1, 2), -1),
+          "Negative rotation should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("mergeVectors should concatenate")
+    public void testMergeVectors() {
+      IntVector result = DsIntVector.mergeVectors(IntVector.of(1, 2), IntVector.of(3));
+      assertArrayEquals(new int[] { 1, 2, 3 }, result.toArray(), "Result should be v1 followed by v2");
+    }
+
+    @Test
+    @DisplayName("Exception: null vectors should throw NullPointerException")
+    public void testNulls() {
+      assertThrows(NullPointerException.class, () -> DsIntVector.modifyVector(null), "modifyVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.searchVector(null, 1), "searchVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.sortVector(null), "sortVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.reverseVector(null), "reverseVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.rotateVector(null, 0), "rotateVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.mergeVectors(IntVector.of(), null),
+          "mergeVectors(v, null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("Search result mode tests")
+  class SearchModeTests {
+
+    @Test
+    @DisplayName("countMatches, searchFirst and searchBitmap should agree with searchVector")
+    public void testMatchesSearchVector() {
+      Random random = new Random(37);
+      IntVector v = new IntVector();
+      for (int i = 0; i < 1_000; i++) {
+        v.add(random.nextInt(4));
+      }
+      IntVector all = DsIntVector.searchVector(v, 3);
+      assertEquals(all.size(), DsIntVector.countMatches(v, 3), "countMatches should match searchVector");
+      assertArrayEquals(Arrays.copyOf(all.toArray(), 5), DsIntVector.searchFirst(v, 3, 5).toArray(),
+          "searchFirst should return the first 5 matches");
+      long[] bits = new long[16];
+      assertEquals(all.size(), DsIntVector.searchBitmap(v, 3, bits), "searchBitmap should count matches");
+      assertArrayEquals(all.toArray(), BitSet.valueOf(bits).stream().toArray(),
+          "Bitmap should mark exactly the matching indices");
+    }
+
+    @Test
+    @DisplayName("Invalid arguments should be rejected")
+    public void testInvalidArguments() {
+      IntVector v = IntVector.of(1, 2, 3);
+      assertThrows(IllegalArgumentException.class, () -> DsIntVector.searchFirst(v, 1, -1), "Negative k");
+      assertThrows(IllegalArgumentException.class, () -> DsIntVector.searchBitmap(v, 1, new long[0]),
+          "Bitmap without room for three elements");
+      assertThrows(NullPointerException.class, () -> DsIntVector.countMatches(null, 1), "countMatches(null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("In-place reverse and rotate tests")
+  class InPlaceTests {
+
+    @Test
+    @DisplayName("reverseInPlace and rotateInPlace should match the copying operations")
+    public void testMatchesCopying() {
+      for (int size = 0; size <= 12; size++) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+          values[i] = i * 7 - 20;
+        }
+        IntVector v = IntVector.of(values);
+        assertSame(v, DsIntVector.reverseInPlace(v), "reverseInPlace should return the same vector");
+        assertArrayEquals(DsIntVector.reverseVector(IntVector.of(values)).toArray(), v.toArray(),
+            "reverseInPlace of size " + size);
+        for (int n = 0; n < size; n++) {
+          IntVector w = IntVector.of(values);
+          DsIntVector.rotateInPlace(w, n);
+          assertArrayEquals(DsIntVector.rotateVector(IntVector.of(values), n).toArray(), w.toArray(),
+              "rotateInPlace by " + n + " of size " + size);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("Negative and oversized amounts should be normalized")
+    public void testNormalization() {
+      IntVector v = IntVector.of(1, 2, 3, 4);
+      DsIntVector.rotateInPlace(v, -1);
+      assertArrayEquals(new int[] { 4, 1, 2, 3 }, v.toArray(), "-1 should rotate right by one");
+      DsIntVector.rotateInPlace(v, 4_000_000_001L);
+      assertArrayEquals(new int[] { 1, 2, 3, 4 }, v.toArray(), "Amount should be taken modulo size");
+      assertThrows(NullPointerException.class, () -> DsIntVector.rotateInPlace(null, 1), "rotateInPlace(null)");
+    }
+
+    @Test
+    @DisplayName("shuffleInPlace should permute reproducibly for a given seed")
+    public void testShuffleInPlace() {
+      int[] values = new int[1000];
+      Arrays.setAll(values, i -> i);
+      IntVector v = IntVector.of(values);
+      assertSame(v, DsIntVector.shuffleInPlace(v, new SplittableRandom(5)), "shuffleInPlace should return v");
+      int[] shuffled = v.toArray();
+      Arrays.sort(shuffled);
+      assertArrayEquals(values, shuffled, "Shuffled vector should be a permutation");
+      IntVector w = DsIntVector.shuffleInPlace(IntVector.of(values), new SplittableRandom(5));
+      assertEquals(v, w, "Same seed should give the same order");
+      assertThrows(NullPointerException.class,
+          () -> DsIntVector.shuffleInPlace(null, new SplittableRandom(1)), "shuffleInPlace(null, r)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.shuffleInPlace(v, null),
+          "shuffleInPlace(v, null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("Bulk transform tests")
+  class BulkTransformTests {
+
+    @Test
+    @DisplayName("addToVector and multiplyVector should wrap like int arithmetic")
+    public void testAddAndMultiply() {
+      IntVector v = IntVector.of(1, -2, Integer.MAX_VALUE);
+      assertSame(v, DsIntVector.addToVector(v, 3), "addToVector should return the same vector");
+      assertArrayEquals(new int[] { 4, 1, Integer.MIN_VALUE + 2 }, v.toArray(), "Each element should gain 3");
+      assertSame(v, DsIntVector.multiplyVector(v, -2), "multiplyVector should return the same vector");
+      assertArrayEquals(new int[] { -8, -2, -4 }, v.toArray(), "Each element should be doubled and negated");
+    }
+
+    @Test
+    @DisplayName("clampVector should bound every element")
+    public void testClamp() {
+      IntVector v = IntVector.of(-10, 0, 5, 10, 15);
+      DsIntVector.clampVector(v, 0, 10);
+      assertArrayEquals(new int[] { 0, 0, 5, 10, 10 }, v.toArray(), "Elements should be clamped into [0, 10]");
+      assertThrows(IllegalArgumentException.class, () -> DsIntVector.clampVector(v, 5, 4),
+          "min > max should throw IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("mapVector should apply the operator to every element")
+    public void testMap() {
+      IntVector v = IntVector.of(1, 2, 3);
+      DsIntVector.mapVector(v, x -> x * x - 1);
+      assertArrayEquals(new int[] { 0, 3, 8 }, v.toArray(), "Each element should be mapped");
+      assertThrows(NullPointerException.class, () -> DsIntVector.mapVector(v, null),
+          "Null operator should throw NullPointerException");
+    }
+
+    @Test
+    @DisplayName("Large vectors should be transformed in parallel with the same result")
+    public void testLargeVector() {
+      Random random = new Random(35);
+      IntVector v = new IntVector();
+      for (int i = 0; i < 700_001; i++) {
+        v.add(random.nextInt());
+      }
+      int[] expected = v.toArray();
+      for (int i = 0; i < expected.length; i++) {
+        expected[i] = Math.min(Math.max((expected[i] + 7) * 3, -1_000), 1_000) ^ 1;
+      }
+      DsIntVector.addToVector(v, 7);
+      DsIntVector.multiplyVector(v, 3);
+      DsIntVector.clampVector(v, -1_000, 1_000);
+      DsIntVector.mapVector(v, x -> x ^ 1);
+      assertArrayEquals(expected, v.toArray(), "Parallel transforms should match a sequential loop");
+    }
+
+    @Test
+    @DisplayName("Empty vectors and null vectors")
+    public void testEdgeCases() {
+      IntVector empty = new IntVector();
+      assertEquals(0, DsIntVector.addToVector(empty, 1).size(), "Empty vector should stay empty");
+      assertThrows(NullPointerException.class, () -> DsIntVector.addToVector(null, 1), "addToVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.multiplyVector(null, 1), "multiplyVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.clampVector(null, 0, 1), "clampVector(null)");
+      assertThrows(NullPointerException.class, () -> DsIntVector.mapVector(null, x -> x), "mapVector(null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("Equivalence with DsVector")
+  class EquivalenceTests {
+
+    @Test
+    @DisplayName("Every operation should match its DsVector counterpart")
+    public void testMatchesDsVector() {
+      Random random = new Random(34);
+      ArrayList<Integer> list = new ArrayList<>();
+      ArrayList<Integer> list2 = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        list.add(random.nextInt(20));
+        list2.add(random.nextInt(20));
+      }
+      IntVector v = IntVector.fromList(list);
+      IntVector v2 = IntVector.fromList(list2);
+
+      assertEquals(DsVector.modifyVector(list), DsIntVector.modifyVector(v).toArrayList(), "modifyVector");
+      assertEquals(DsVector.searchVector(list, 5), DsIntVector.searchVector(v, 5).toArrayList(), "searchVector");
+      assertEquals(DsVector.sortVector(list), DsIntVector.sortVector(v).toArrayList(), "sortVector");
+      assertEquals(DsVector.reverseVector(list), DsIntVector.reverseVector(v).toArrayList(), "reverseVector");
+      assertEquals(DsVector.rotateVector(list, 17), DsIntVector.rotateVector(v, 17).toArrayList(), "rotateVector");
+      assertEquals(DsVector.mergeVectors(list, list2), DsIntVector.mergeVectors(v, v2).toArrayList(),
+          "mergeVectors");
+    }
+  }
+
+  @Nested
+  @DisplayName("Set operation tests")
+  class SetOperationTests {
+
+    @Test
+    @DisplayName("Sorted set operations should match SortedIntVector")
+    public void testSortedMatchesSortedIntVector() {
+      Random random = new Random(48);
+      for (int round = 0; round < 10; round++) {
+        IntVector v1 = IntVector.of(random.ints(100 + round * 50, 0, 60).toArray());
+        IntVector v2 = IntVector.of(random.ints(round == 0 ? 3 : 400, 0, 60).toArray());
+        SortedIntVector s1 = SortedIntVector.from(v1);
+        SortedIntVector s2 = SortedIntVector.from(v2);
+        IntVector a = s1.toIntVector();
+        IntVector b = s2.toIntVector();
+        assertEquals(s1.union(s2).toIntVector(), DsIntVector.unionSortedVectors(a, b), "unionSortedVectors");
+        assertEquals(s1.intersection(s2).toIntVector(), DsIntVector.intersectSortedVectors(a, b),
+            "intersectSortedVectors");
+        assertEquals(s1.difference(s2).toIntVector(), DsIntVector.differenceSortedVectors(a, b),
+            "differenceSortedVectors");
+      }
+    }
+
+    @Test
+    @DisplayName("Hashed set operations should match the ArrayList versions")
+    public void testHashedMatchesDsVector() {
+      Random random = new Random(49);
+      int[] x = random.ints(2000, -100, 100).toArray();
+      int[] y = random.ints(500, -100, 100).toArray();
+      ArrayList<Integer> l1 = IntVector.of(x).toArrayList();
+      ArrayList<Integer> l2 = IntVector.of(y).toArrayList();
+      assertEquals(DsVector.unionVectors(l1, l2),
+          DsIntVector.unionVectors(IntVector.of(x), IntVector.of(y)).toArrayList(), "unionVectors");
+      assertEquals(DsVector.intersectVectors(l1, l2),
+          DsIntVector.intersectVectors(IntVector.of(x), IntVector.of(y)).toArrayList(), "intersectVectors");
+      assertEquals(DsVector.differenceVectors(l1, l2),
+          DsIntVector.differenceVectors(IntVector.of(x), IntVector.of(y)).toArrayList(), "differenceVectors");
+    }
+
+    @Test
+    @DisplayName("Exception: null inputs should throw")
+    public void testNullInputs() {
+      IntVector v = IntVector.of(1, 2);
+      assertThrows(NullPointerException.class, () -> DsIntVector.unionSortedVectors(null, v), "Null first vector");
+      assertThrows(NullPointerException.class, () -> DsIntVector.intersectVectors(v, null), "Null second vector");
+    }
+  }
+}
@@ -2,12 +2,14 @@ package datastructures;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -198,6 +200,57 @@ public class DsLinkedListTest {
     }
   }
 
+  // ==================== shuffleInPlace Tests ====================
+
+  @Nested
+  @DisplayName("shuffleInPlace(LinkedList<Integer> l, SplittableRandom random) tests")
+  class ShuffleInPlaceTests {
+
+    private LinkedList<Integer> range(int n) {
+      LinkedList<Integer> list = new LinkedList<>();
+      for (int i = 0; i < n; i++) {
+        list.add(i);
+      }
+      return list;
+    }
+
+    @Test
+    @DisplayName("Same list instance should be returned")
+    public void testShuffleInPlace_ReturnsSameList() {
+      LinkedList<Integer> list = range(10);
+      assertSame(list, DsLinkedList.shuffleInPlace(list, new SplittableRandom(1)));
+      LinkedList<Integer> empty = new LinkedList<>();
+      assertSame(empty, DsLinkedList.shuffleInPlace(empty, new SplittableRandom(1)));
+      assertEquals(0, empty.size());
+    }
+
+    @Test
+    @DisplayName("Shuffled list should be a permutation of the original")
+    public void testShuffleInPlace_ValidPermutation() {
+      LinkedList<Integer> list = range(1000);
+      DsLinkedList.shuffleInPlace(list, new SplittableRandom(7));
+      assertEquals(1000, list.size());
+      assertEquals(new HashSet<>(range(1000)), new HashSet<>(list));
+      assertTrue(!list.equals(range(1000)), "1000 elements should not stay in order");
+    }
+
+    @Test
+    @DisplayName("Same seed should give the same order")
+    public void testShuffleInPlace_Reproducible() {
+      LinkedList<Integer> first = DsLinkedList.shuffleInPlace(range(100), new SplittableRandom(42));
+      LinkedList<Integer> second = DsLinkedList.shuffleInPlace(range(100), new SplittableRandom(42));
+      assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Exception: null list or random should throw NullPointerException")
+    public void testShuffleInPlace_NullArguments() {
+      assertThrows(NullPointerException.class,
+          () -> DsLinkedList.shuffleInPlace(null, new SplittableRandom(1)));
+      assertThrows(NullPointerException.class, () -> DsLinkedList.shuffleInPlace(range(3), null));
+    }
+  }
+
   // ==================== slice Tests ====================
 
   @Nested
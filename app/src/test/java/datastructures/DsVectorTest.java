@@ -1,11 +1,16 @@
 package datastructures;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class DsVectorTest {
@@ -410,6 +415,58 @@ public class DsVectorTest {
     assertEquals(3, v.get(2));
   }
 
+  // ==================== In-place reverse/rotate Tests ====================
+
+  @Test
+  public void testReverseInPlace_MatchesReverseVector() {
+    ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+    ArrayList<Integer> expected = DsVector.reverseVector(v);
+    assertSame(v, DsVector.reverseInPlace(v));
+    assertEquals(expected, v);
+  }
+
+  @Test
+  public void testReverseInPlace_EmptyVector() {
+    assertEquals(0, DsVector.reverseInPlace(new ArrayList<>()).size());
+  }
+
+  @Test
+  public void testRotateInPlace_MatchesRotateVector() {
+    for (int size = 1; size <= 9; size++) {
+      for (int n = 0; n < size; n++) {
+        ArrayList<Integer> v = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+          v.add(i * 10);
+        }
+        ArrayList<Integer> expected = DsVector.rotateVector(v, n);
+        assertSame(v, DsVector.rotateInPlace(v, n));
+        assertEquals(expected, v);
+      }
+    }
+  }
+
+  @Test
+  public void testRotateInPlace_NormalizesAmount() {
+    ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+    DsVector.rotateInPlace(v, -1);
+    assertEquals(Arrays.asList(5, 1, 2, 3, 4), v);
+    DsVector.rotateInPlace(v, 12);
+    assertEquals(Arrays.asList(2, 3, 4, 5, 1), v);
+    DsVector.rotateInPlace(v, Long.MIN_VALUE);
+    assertEquals(Arrays.asList(4, 5, 1, 2, 3), v);
+  }
+
+  @Test
+  public void testRotateInPlace_EmptyVector() {
+    assertEquals(0, DsVector.rotateInPlace(new ArrayList<>(), 3).size());
+  }
+
+  @Test
+  public void testRotateInPlace_NullVector_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> DsVector.rotateInPlace(null, 1));
+    assertThrows(NullPointerException.class, () -> DsVector.reverseInPlace(null));
+  }
+
   // ==================== mergeVectors Tests ====================
 
   @Test
@@ -517,6 +574,189 @@ public class DsVectorTest {
     assertEquals(99, result.get(1));
   }
 
+  // ==================== mergeSorted Tests ====================
+
+  @Test
+  public void testMergeSortedVectors_InterleavedRuns() {
+    List<ArrayList<Integer>> runs = new ArrayList<>();
+    runs.add(new ArrayList<>(Arrays.asList(1, 4, 7)));
+    runs.add(new ArrayList<>(Arrays.asList(2, 5, 8)));
+    runs.add(new ArrayList<>(Arrays.asList(3, 6, 9)));
+    ArrayList<Integer> result = DsVector.mergeSortedVectors(runs, false);
+    assertEquals(new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9)), result);
+  }
+
+  @Test
+  public void testMergeSortedVectors_Dedup() {
+    List<ArrayList<Integer>> runs = new ArrayList<>();
+    runs.add(new ArrayList<>(Arrays.asList(1, 1, 3, 5)));
+    runs.add(new ArrayList<>());
+    runs.add(new ArrayList<>(Arrays.asList(1, 3, 3, 6)));
+    assertEquals(new ArrayList<>(Arrays.asList(1, 1, 1, 3, 3, 3, 5, 6)),
+        DsVector.mergeSortedVectors(runs, false));
+    assertEquals(new ArrayList<>(Arrays.asList(1, 3, 5, 6)),
+        DsVector.mergeSortedVectors(runs, true));
+  }
+
+  @Test
+  public void testMergeSortedVectors_NoRuns() {
+    ArrayList<Integer> result = DsVector.mergeSortedVectors(new ArrayList<>(), true);
+    assertEquals(0, result.size());
+  }
+
+  @Test
+  public void testMergeSorted_ArraysWithNegatives() {
+    int[][] runs = { { -5, 0, 10 }, {}, { -7, -5, 20 }, { 0 } };
+    assertArrayEquals(new int[] { -7, -5, -5, 0, 0, 10, 20 }, DsVector.mergeSorted(runs, false));
+    assertArrayEquals(new int[] { -7, -5, 0, 10, 20 }, DsVector.mergeSorted(runs, true));
+  }
+
+  @Test
+  public void testMergeSorted_IntoPresizedOutput() {
+    int[][] runs = { { 1, 2, 2 }, { 2, 3 } };
+    int[] out = new int[8];
+    int n = DsVector.mergeSorted(runs, out, true);
+    assertEquals(3, n);
+    assertArrayEquals(new int[] { 1, 2, 3 }, Arrays.copyOf(out, n));
+  }
+
+  @Test
+  public void testMergeSorted_MatchesConcatenateAndSort() {
+    Random random = new Random(31);
+    int[][] runs = new int[10][];
+    ArrayList<Integer> all = new ArrayList<>();
+    for (int i = 0; i < runs.length; i++) {
+      runs[i] = new int[random.nextInt(200)];
+      for (int j = 0; j < runs[i].length; j++) {
+        runs[i][j] = random.nextInt(1000);
+        all.add(runs[i][j]);
+      }
+      Arrays.sort(runs[i]);
+    }
+    ArrayList<Integer> expected = DsVector.sortVector(all);
+    int[] result = DsVector.mergeSorted(runs, false);
+    assertEquals(expected.size(), result.length);
+    for (int i = 0; i < result.length; i++) {
+      assertEquals(expected.get(i), result[i]);
+    }
+  }
+
+  @Test
+  public void testMergeSorted_whenOutputTooSmall_throwsIllegalArgumentException() {
+    int[][] runs = { { 1, 2 }, { 3 } };
+    assertThrows(IllegalArgumentException.class, () -> {
+      DsVector.mergeSorted(runs, new int[2], false);
+    });
+  }
+
+  @Test
+  public void testMergeSorted_whenRunNull_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> {
+      DsVector.mergeSorted(new int[][] { { 1 }, null }, false);
+    });
+    List<ArrayList<Integer>> runs = new ArrayList<>();
+    runs.add(null);
+    assertThrows(NullPointerException.class, () -> {
+      DsVector.mergeSortedVectors(runs, false);
+    });
+  }
+
+  @Test
+  public void testMergeSortedVectors_whenTotalOverflowsInt_throwsIllegalArgumentException() {
+    // Three runs of 1.5 billion sum to a value that wraps to a positive int
+    List<ArrayList<Integer>> runs = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      runs.add(new ArrayList<Integer>() {
+        @Override
+        public int size() {
+          return 1_500_000_000;
+        }
+      });
+    }
+    assertThrows(IllegalArgumentException.class, () -> {
+      DsVector.mergeSortedVectors(runs, false);
+    });
+  }
+
+  // ==================== Search Result Mode Tests ====================
+
+  @Test
+  public void testCountMatches_MatchesSearchVector() {
+    ArrayList<Integer> v = new ArrayList<>(Arrays.asList(5, 1, 5, 2, 5));
+    assertEquals(3, DsVector.countMatches(v, 5));
+    assertEquals(0, DsVector.countMatches(v, 7));
+    assertEquals(0, DsVector.countMatches(new ArrayList<>(), 5));
+  }
+
+  @Test
+  public void testSearchFirst_StopsAfterK() {
+    ArrayList<Integer> v = new ArrayList<>(Arrays.asList(5, 1, 5, 2, 5));
+    assertEquals(Arrays.asList(0, 2), DsVector.searchFirst(v, 5, 2));
+    assertEquals(Arrays.asList(0, 2, 4), DsVector.searchFirst(v, 5, 10));
+    assertEquals(0, DsVector.searchFirst(v, 5, 0).size());
+  }
+
+  @Test
+  public void testSearchFirst_NegativeK_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class,
+        () -> DsVector.searchFirst(new ArrayList<>(), 5, -1));
+  }
+
+  @Test
+  public void testSearchBitmap_MatchesSearchVector() {
+    Random random = new Random(37);
+    ArrayList<Integer> v = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      v.add(random.nextInt(4));
+    }
+    long[] bits = new long[16];
+    Arrays.fill(bits, -1L);
+    int count = DsVector.searchBitmap(v, 2, bits);
+    ArrayList<Integer> expected = DsVector.searchVector(v, 2);
+    assertEquals(expected.size(), count);
+    ArrayList<Integer> fromBits = new ArrayList<>();
+    BitSet.valueOf(Arrays.copyOf(bits, 16)).stream().forEach(fromBits::add);
+    assertEquals(expected, fromBits);
+  }
+
+  @Test
+  public void testSearchBitmap_LeavesTrailingWordsUntouched() {
+    ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2, 1));
+    long[] bits = { -1L, 42L };
+    assertEquals(2, DsVector.searchBitmap(v, 1, bits));
+    assertArrayEquals(new long[] { 0b101L, 42L }, bits);
+  }
+
+  @Test
+  public void testSearchBitmap_SmallBitmap_throwsIllegalArgumentException() {
+    ArrayList<Integer> v = new ArrayList<>();
+    for (int i = 0; i < 65; i++) {
+      v.add(i);
+    }
+    assertThrows(IllegalArgumentException.class, () -> DsVector.searchBitmap(v, 1, new long[1]));
+    assertThrows(NullPointerException.class, () -> DsVector.searchBitmap(v, 1, null));
+  }
+
+  // ==================== Set Operation Tests ====================
+
+  @Test
+  public void testSetOperations_DistinctInFirstAppearanceOrder() {
+    ArrayList<Integer> v1 = new ArrayList<>(Arrays.asList(4, 1, 4, 0, 7, 1));
+    ArrayList<Integer> v2 = new ArrayList<>(Arrays.asList(7, 9, 0, 0, 2));
+    assertEquals(Arrays.asList(4, 1, 0, 7, 9, 2), DsVector.unionVectors(v1, v2));
+    assertEquals(Arrays.asList(0, 7), DsVector.intersectVectors(v1, v2));
+    assertEquals(Arrays.asList(4, 1), DsVector.differenceVectors(v1, v2));
+    assertEquals(0, DsVector.intersectVectors(v1, new ArrayList<>()).size());
+  }
+
+  @Test
+  public void testSetOperations_NullInput_throwsNullPointerException() {
+    ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2));
+    assertThrows(NullPointerException.class, () -> DsVector.unionVectors(null, v));
+    assertThrows(NullPointerException.class, () -> DsVector.intersectVectors(v, null));
+    assertThrows(NullPointerException.class, () -> DsVector.differenceVectors(null, v));
+  }
+
   // ==================== Error Handling Tests ====================
 
   @Test
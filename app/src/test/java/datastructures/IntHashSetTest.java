@@ -0,0 +1,44 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IntHashSetTest {
+
+  @Test
+  @DisplayName("Set should match HashSet through several resizes")
+  public void testMatchesHashSet() {
+    Random random = new Random(48);
+    IntHashSet set = new IntHashSet(1);
+    HashSet<Integer> expected = new HashSet<>();
+    for (int i = 0; i < 20_000; i++) {
+      int key = random.nextInt(5_000) - 2_500;
+      assertEquals(expected.add(key), set.add(key), "add should report whether " + key + " is new");
+    }
+    assertEquals(expected.size(), set.size(), "size should count distinct keys");
+    for (int key = -3_000; key < 3_000; key++) {
+      assertEquals(expected.contains(key), set.contains(key), "contains should match for " + key);
+    }
+  }
+
+  @Test
+  @DisplayName("Zero and extreme keys should be stored like any other")
+  public void testSpecialKeys() {
+    IntHashSet set = new IntHashSet(4);
+    assertFalse(set.contains(0), "Empty set should not contain 0");
+    assertTrue(set.add(0), "0 should be added");
+    assertFalse(set.add(0), "0 should not be added twice");
+    assertTrue(set.add(Integer.MIN_VALUE), "MIN_VALUE should be added");
+    assertTrue(set.add(Integer.MAX_VALUE), "MAX_VALUE should be added");
+    assertTrue(set.contains(0) && set.contains(Integer.MIN_VALUE) && set.contains(Integer.MAX_VALUE),
+        "All keys should be found");
+    assertEquals(3, set.size(), "size should include 0");
+  }
+}
@@ -0,0 +1,183 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class IntPipelineTest {
+
+  private static int[] randomArray(int n, int bound, long seed) {
+    Random random = new Random(seed);
+    int[] a = new int[n];
+    for (int i = 0; i < n; i++) {
+      a[i] = random.nextInt(bound);
+    }
+    return a;
+  }
+
+  private static ArrayList<Integer> toList(int[] a) {
+    ArrayList<Integer> list = new ArrayList<>();
+    for (int x : a) {
+      list.add(x);
+    }
+    return list;
+  }
+
+  @Nested
+  @DisplayName("DsVector equivalence tests")
+  class EquivalenceTests {
+
+    @Test
+    @DisplayName("Single stages should match the DsVector operations")
+    public void testSingleStages() {
+      int[] a = randomArray(500, 20, 44);
+      ArrayList<Integer> v = toList(a);
+      assertEquals(DsVector.modifyVector(toList(a)), IntPipeline.of(a).map(x -> x + 1).toArrayList(),
+          "map(x + 1) should match modifyVector");
+      assertEquals(DsVector.searchVector(v, 5), IntPipeline.of(a).filter(x -> x == 5).indices().toArrayList(),
+          "filter then indices should match searchVector");
+      assertEquals(DsVector.sortVector(v), IntPipeline.of(a).sorted().toArrayList(),
+          "sorted should match sortVector");
+      assertEquals(DsVector.reverseVector(v), IntPipeline.of(a).reversed().toArrayList(),
+          "reversed should match reverseVector");
+      assertEquals(DsVector.rotateVector(v, 123), IntPipeline.of(a).rotated(123).toArrayList(),
+          "rotated should match rotateVector");
+      assertEquals(DsVector.mergeVectors(v, v), IntPipeline.of(a).concat(IntVector.of(a)).toArrayList(),
+          "concat should match mergeVectors");
+      assertEquals(DsVector.countMatches(v, 7), IntPipeline.of(a).filter(x -> x == 7).count(),
+          "filter then count should match countMatches");
+    }
+
+    @Test
+    @DisplayName("Chained stages should match the chained DsVector operations")
+    public void testChain() {
+      int[] a = randomArray(1000, 50, 45);
+      ArrayList<Integer> expected = DsVector.rotateVector(
+          DsVector.reverseVector(DsVector.sortVector(DsVector.modifyVector(toList(a)))), 10);
+      ArrayList<Integer> actual = IntPipeline.fromList(toList(a))
+          .map(x -> x + 1).sorted().reversed().rotated(10).toArrayList();
+      assertEquals(expected, actual, "Chained pipeline should match chained operations");
+    }
+
+    @Test
+    @DisplayName("indices should count positions from the last reordering stage")
+    public void testIndicesAfterBarrier() {
+      int[] a = {3, 1, 2, 1};
+      assertArrayEquals(new int[] {0, 1}, IntPipeline.of(a).sorted().filter(x -> x == 1).indices().toArray(),
+          "Indices should refer to the sorted order");
+      assertArrayEquals(new int[] {1, 3}, IntPipeline.of(a).filter(x -> x == 1).indices().toArray(),
+          "Indices should refer to the source order");
+    }
+
+    @Test
+    @DisplayName("take should keep a prefix and sum should total the results")
+    public void testTakeAndSum() {
+      int[] a = {5, 6, 7, 8, 9};
+      assertArrayEquals(new int[] {6, 8}, IntPipeline.of(a).filter(x -> x % 2 == 0).take(2).toArray(),
+          "take should stop after k results");
+      assertArrayEquals(new int[] {5, 6}, IntPipeline.of(a).take(3).take(2).toArray(),
+          "Consecutive takes should keep the smaller prefix");
+      assertEquals(35, IntPipeline.of(a).sum(), "sum should total every element");
+      assertEquals(0, IntPipeline.of(a).take(0).count(), "take(0) should be empty");
+    }
+  }
+
+  @Nested
+  @DisplayName("Rewrite tests")
+  class RewriteTests {
+
+    @Test
+    @DisplayName("Rewritten stage pairs should give the same results as running them in turn")
+    public void testRewrites() {
+      int[] a = randomArray(2000, 1000, 46);
+      int[] ascending = a.clone();
+      Arrays.sort(ascending);
+      int[] descending = new int[a.length];
+      for (int i = 0; i < a.length; i++) {
+        descending[i] = ascending[a.length - 1 - i];
+      }
+      assertArrayEquals(a, IntPipeline.of(a).reversed().reversed().toArray(),
+          "Double reversal should cancel");
+      assertArrayEquals(descending, IntPipeline.of(a).sorted().reversed().toArray(),
+          "sorted then reversed should sort descending");
+      assertArrayEquals(ascending, IntPipeline.of(a).sortedDescending().reversed().toArray(),
+          "sortedDescending then reversed should sort ascending");
+      assertArrayEquals(ascending, IntPipeline.of(a).reversed().rotated(5).sortedDescending().sorted().toArray(),
+          "Stages before a sort should not change its result");
+      assertArrayEquals(Arrays.copyOf(ascending, 10), IntPipeline.of(a).sorted().take(10).toArray(),
+          "sorted then take should give the smallest k in order");
+      assertArrayEquals(Arrays.copyOf(descending, 10), IntPipeline.of(a).sorted().reversed().take(10).toArray(),
+          "sorted, reversed then take should give the largest k in order");
+      assertArrayEquals(ascending, IntPipeline.of(a).sorted().take(5000).toArray(),
+          "take past the end should keep everything");
+      assertEquals(0, IntPipeline.of(a).sortedDescending().take(0).count(), "Top 0 should be empty");
+    }
+  }
+
+  @Nested
+  @DisplayName("Execution tests")
+  class ExecutionTests {
+
+    @Test
+    @DisplayName("Parallel pipelines should match sequential ones")
+    public void testParallel() {
+      int[] a = randomArray(300_000, 100, 47);
+      IntPipeline p = IntPipeline.of(a).map(x -> x * 3).filter(x -> x % 2 == 0);
+      assertArrayEquals(p.toArray(), p.parallel().toArray(), "Parallel fused pass should keep order");
+      assertArrayEquals(p.indices().take(70_000).toArray(), p.parallel().indices().take(70_000).toArray(),
+          "Parallel indices and take should match");
+      assertArrayEquals(p.sorted().toArray(), p.parallel().sorted().toArray(), "Parallel sort should match");
+    }
+
+    @Test
+    @DisplayName("Pipelines should be lazy, reusable and leave their source unchanged")
+    public void testSourceUnchanged() {
+      int[] a = {4, 2, 3, 1};
+      IntVector v = IntVector.of(a);
+      IntPipeline p = IntPipeline.of(v).reversed();
+      v.set(0, 9);
+      assertArrayEquals(new int[] {1, 3, 2, 9}, p.toArray(), "Source should be read when the pipeline runs");
+      assertArrayEquals(new int[] {1, 2, 3, 4}, IntPipeline.of(a).sorted().toArray(), "sorted should sort");
+      assertArrayEquals(new int[] {4, 2, 3, 1}, a, "Source array should not be modified");
+      assertEquals(IntVector.of(9, 2, 3, 1), v, "Source vector should not be modified");
+      assertArrayEquals(p.toArray(), p.toArray(), "Running twice should give the same result");
+    }
+
+    @Test
+    @DisplayName("Results of plans with no copying stage should not share the source")
+    public void testResultsDoNotAliasSource() {
+      int[] a = {4, -1};
+      IntVector v = IntVector.of(5, 6, 7);
+      for (IntPipeline p : new IntPipeline[] {IntPipeline.of(a), IntPipeline.of(a).reversed().reversed()}) {
+        p.toArray()[0] = 99;
+        p.toIntVector().set(0, 99);
+      }
+      for (IntPipeline p : new IntPipeline[] {IntPipeline.of(v), IntPipeline.of(v).reversed().reversed()}) {
+        p.toArray()[0] = 99;
+        p.toIntVector().set(0, 99);
+      }
+      assertArrayEquals(new int[] {4, -1}, a, "Source array should not be modified through a result");
+      assertEquals(IntVector.of(5, 6, 7), v, "Source vector should not be modified through a result");
+    }
+
+    @Test
+    @DisplayName("Exception: invalid arguments should be rejected")
+    public void testInvalidArguments() {
+      assertThrows(NullPointerException.class, () -> IntPipeline.of((int[]) null), "Null array should throw");
+      assertThrows(NullPointerException.class, () -> IntPipeline.of(1).map(null), "Null mapper should throw");
+      assertThrows(IllegalArgumentException.class, () -> IntPipeline.of(1).take(-1), "Negative take should throw");
+      assertThrows(IllegalArgumentException.class, () -> IntPipeline.of(1).rotated(-1),
+          "Negative rotation should throw");
+      assertThrows(IllegalArgumentException.class, () -> IntPipeline.of(1, 2).rotated(2).toArray(),
+          "Rotation by the size should throw when run");
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class IntSetOpsTest {
+
+  private static int[] sortedArray(Random random, int n, int bound) {
+    int[] a = random.ints(n, 0, bound).toArray();
+    Arrays.sort(a);
+    return a;
+  }
+
+  private static TreeMap<Integer, Integer> counts(int[] a) {
+    TreeMap<Integer, Integer> counts = new TreeMap<>();
+    for (int x : a) {
+      counts.merge(x, 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  private static int[] expand(TreeMap<Integer, Integer> counts) {
+    ArrayList<Integer> out = new ArrayList<>();
+    counts.forEach((value, count) -> {
+      for (int i = 0; i < count; i++) {
+        out.add(value);
+      }
+    });
+    return out.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  @Nested
+  @DisplayName("Sorted kernel tests")
+  class SortedTests {
+
+    @Test
+    @DisplayName("Merge and galloping paths should match a count-based model")
+    public void testAgainstModel() {
+      Random random = new Random(48);
+      int[][] sizes = {{0, 0}, {0, 50}, {1, 1000}, {10, 5000}, {300, 400}, {5000, 20}, {2000, 2000}};
+      for (int[] size : sizes) {
+        for (int bound : new int[] {10, 1000, 100_000}) {
+          int[] a = sortedArray(random, size[0], bound);
+          int[] b = sortedArray(random, size[1], bound);
+          TreeMap<Integer, Integer> ca = counts(a);
+          TreeMap<Integer, Integer> cb = counts(b);
+          TreeMap<Integer, Integer> union = new TreeMap<>(ca);
+          TreeMap<Integer, Integer> inter = new TreeMap<>();
+          TreeMap<Integer, Integer> diff = new TreeMap<>();
+          cb.forEach((k, c) -> union.merge(k, c, Math::max));
+          ca.forEach((k, c) -> {
+            int other = cb.getOrDefault(k, 0);
+            if (Math.min(c, other) > 0) {
+              inter.put(k, Math.min(c, other));
+            }
+            if (c > other) {
+              diff.put(k, c - other);
+            }
+          });
+          String label = size[0] + "x" + size[1] + " below " + bound;
+          assertArrayEquals(expand(union), IntSetOps.unionSorted(a, a.length, b, b.length).toArray(),
+              "Union should match the model for " + label);
+          assertArrayEquals(expand(inter), IntSetOps.intersectSorted(a, a.length, b, b.length).toArray(),
+              "Intersection should match the model for " + label);
+          assertArrayEquals(expand(diff), IntSetOps.differenceSorted(a, a.length, b, b.length).toArray(),
+              "Difference should match the model for " + label);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("gallop should find the first element not less than the key")
+    public void testGallop() {
+      int[] a = {1, 3, 3, 5, 8, 13, 21, 34, 55, 89};
+      for (int key = 0; key <= 90; key++) {
+        for (int from = 0; from <= a.length; from++) {
+          int expected = SortedIntVector.lowerBound(a, from, a.length, key);
+          assertEquals(expected, IntSetOps.gallop(a, from, a.length, key), "gallop from " + from + " for " + key);
+        }
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Hash kernel tests")
+  class HashTests {
+
+    @Test
+    @DisplayName("Hashed operations should match LinkedHashSet")
+    public void testAgainstLinkedHashSet() {
+      Random random = new Random(49);
+      int[] a = random.ints(3000, -500, 500).toArray();
+      int[] b = random.ints(1000, -500, 500).toArray();
+      a[0] = 0;
+      b[0] = 0;
+      LinkedHashSet<Integer> union = new LinkedHashSet<>();
+      LinkedHashSet<Integer> inter = new LinkedHashSet<>();
+      LinkedHashSet<Integer> diff = new LinkedHashSet<>();
+      LinkedHashSet<Integer> setB = new LinkedHashSet<>();
+      for (int y : b) {
+        setB.add(y);
+      }
+      for (int x : a) {
+        union.add(x);
+        (setB.contains(x) ? inter : diff).add(x);
+      }
+      union.addAll(setB);
+      assertArrayEquals(union.stream().mapToInt(Integer::intValue).toArray(),
+          IntSetOps.unionHashed(a, a.length, b, b.length).toArray(), "Union should match");
+      assertArrayEquals(inter.stream().mapToInt(Integer::intValue).toArray(),
+          IntSetOps.intersectHashed(a, a.length, b, b.length).toArray(), "Intersection should match");
+      assertArrayEquals(diff.stream().mapToInt(Integer::intValue).toArray(),
+          IntSetOps.differenceHashed(a, a.length, b, b.length).toArray(), "Difference should match");
+    }
+  }
+}
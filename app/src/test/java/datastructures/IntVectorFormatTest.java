@@ -0,0 +1,147 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IntVectorFormatTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static int[] randomArray(int n, long seed) {
+    Random random = new Random(seed);
+    int[] a = new int[n];
+    for (int i = 0; i < n; i++) {
+      a[i] = random.nextInt();
+    }
+    return a;
+  }
+
+  @Nested
+  @DisplayName("Round trip tests")
+  class RoundTripTests {
+
+    @Test
+    @DisplayName("Both encodings should round-trip extreme and random values")
+    public void testRoundTrip() throws IOException {
+      int[] values = randomArray(5000, 47);
+      values[0] = Integer.MIN_VALUE;
+      values[1] = Integer.MAX_VALUE;
+      values[2] = Integer.MIN_VALUE;
+      for (IntVectorFormat.Encoding encoding : IntVectorFormat.Encoding.values()) {
+        ByteBuffer buf = IntVectorFormat.encode(IntVector.of(values), encoding);
+        assertArrayEquals(values, IntVectorFormat.read(buf).toArray(), encoding + " should round-trip");
+        assertEquals(buf.limit(), buf.position(), encoding + " read should consume the record");
+        assertEquals(0, IntVectorFormat.read(IntVectorFormat.encode(IntVector.of(), encoding)).size(),
+            encoding + " should round-trip an empty vector");
+      }
+    }
+
+    @Test
+    @DisplayName("Delta encoding should be compact for sorted data")
+    public void testDeltaIsCompact() throws IOException {
+      int[] sorted = new int[10_000];
+      for (int i = 0; i < sorted.length; i++) {
+        sorted[i] = 1_000_000 + i * 3;
+      }
+      ByteBuffer raw = IntVectorFormat.encode(IntVector.of(sorted), IntVectorFormat.Encoding.RAW);
+      ByteBuffer delta = IntVectorFormat.encode(IntVector.of(sorted), IntVectorFormat.Encoding.DELTA);
+      assertEquals(12 + 4 * sorted.length + 4, raw.remaining(), "Raw record should be 4 bytes per int");
+      assertTrue(delta.remaining() < sorted.length + 20, "Delta record should be about 1 byte per int");
+      assertArrayEquals(sorted, IntVectorFormat.read(delta).toArray(), "Delta record should decode");
+    }
+
+    @Test
+    @DisplayName("Streamed records should match encoded ones and read back in sequence")
+    public void testWriterAndConcatenatedRecords() throws IOException {
+      int[] first = randomArray(100_000, 48);
+      int[] second = {5, 4, 3};
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      WritableByteChannel out = Channels.newChannel(bytes);
+      IntVectorFormat.Writer writer = IntVectorFormat.writer(out, first.length, IntVectorFormat.Encoding.DELTA);
+      IntVector.of(first).forEach(writer);
+      writer.finish();
+      IntVectorFormat.write(IntVector.of(second), IntVectorFormat.Encoding.RAW, out);
+      ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+      ByteBuffer expected = IntVectorFormat.encode(IntVector.of(first), IntVectorFormat.Encoding.DELTA);
+      assertEquals(expected, buf.slice(0, expected.remaining()), "Streamed record should match encode");
+      assertArrayEquals(first, IntVectorFormat.read(buf).toArray(), "First record should read back");
+      assertArrayEquals(second, IntVectorFormat.read(buf).toArray(), "Second record should read back");
+      assertEquals(0, buf.remaining(), "Both records should be consumed");
+    }
+
+    @Test
+    @DisplayName("Mapped files should be read as a view")
+    public void testMap() throws IOException {
+      int[] values = randomArray(3000, 49);
+      Path file = tempDir.resolve("vector.bin");
+      try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+        IntVectorFormat.write(IntVector.of(values), IntVectorFormat.Encoding.RAW, out);
+      }
+      IntSequence seq = IntVectorFormat.map(file);
+      assertEquals(values.length, seq.size(), "Mapped view should have every int");
+      assertEquals(values[1234], seq.get(1234), "Mapped view should read in place");
+      assertEquals(IntVector.of(values), seq.toIntVector(), "Mapped view should copy into an IntVector");
+    }
+  }
+
+  @Nested
+  @DisplayName("Validation tests")
+  class ValidationTests {
+
+    @Test
+    @DisplayName("Exception: corrupt or truncated records should be rejected")
+    public void testCorruptRecords() {
+      ByteBuffer good = IntVectorFormat.encode(IntVector.of(1, 2, 3), IntVectorFormat.Encoding.RAW);
+      byte[] flipped = good.array().clone();
+      flipped[14] ^= 1;
+      assertThrows(IOException.class, () -> IntVectorFormat.read(ByteBuffer.wrap(flipped)),
+          "Changed payload should fail the checksum");
+      byte[] magic = good.array().clone();
+      magic[0] = 'X';
+      assertThrows(IOException.class, () -> IntVectorFormat.read(ByteBuffer.wrap(magic)), "Bad magic should throw");
+      assertThrows(IOException.class, () -> IntVectorFormat.read(good.slice(0, good.remaining() - 1)),
+          "Truncated record should throw");
+      ByteBuffer delta = IntVectorFormat.encode(IntVector.of(1000, -1000), IntVectorFormat.Encoding.DELTA);
+      assertThrows(IOException.class, () -> IntVectorFormat.read(delta.slice(0, 14)),
+          "Truncated delta payload should throw");
+      ByteBuffer huge = ByteBuffer.allocate(17).order(ByteOrder.LITTLE_ENDIAN);
+      huge.put(IntVectorFormat.encode(IntVector.of(), IntVectorFormat.Encoding.DELTA).array(), 0, 8);
+      huge.putInt(Integer.MAX_VALUE - 16).put((byte) 0).putInt(0).flip();
+      assertThrows(IOException.class, () -> IntVectorFormat.read(huge),
+          "Delta length larger than the payload should throw before allocating");
+    }
+
+    @Test
+    @DisplayName("Exception: writers should enforce the declared length")
+    public void testWriterLength() throws IOException {
+      WritableByteChannel out = Channels.newChannel(new ByteArrayOutputStream());
+      IntVectorFormat.Writer writer = IntVectorFormat.writer(out, 1, IntVectorFormat.Encoding.RAW);
+      assertThrows(IllegalStateException.class, writer::finish, "Finishing early should throw");
+      writer.add(1);
+      assertThrows(IllegalStateException.class, () -> writer.add(2), "Adding past the length should throw");
+      writer.finish();
+      assertThrows(IllegalStateException.class, () -> writer.add(3), "Adding after finish should throw");
+      assertThrows(IllegalArgumentException.class,
+          () -> IntVectorFormat.writer(out, -1, IntVectorFormat.Encoding.RAW), "Negative length should throw");
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class IntVectorTest {
+
+  @Nested
+  @DisplayName("Construction and conversion tests")
+  class ConversionTests {
+
+    @Test
+    @DisplayName("Exception: negative capacity should throw IllegalArgumentException")
+    public void testNegativeCapacity() {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        new IntVector(-1);
+      }, "new IntVector(-1) should throw IllegalArgumentException");
+      assertTrue(exception.getMessage().contains("negative"), "Exception message should mention 'negative'");
+    }
+
+    @Test
+    @DisplayName("Exception: null inputs should throw NullPointerException")
+    public void testNullInputs() {
+      assertThrows(NullPointerException.class, () -> IntVector.fromList(null),
+          "fromList(null) should throw NullPointerException");
+      assertThrows(NullPointerException.class, () -> IntVector.of((int[]) null),
+          "of(null) should throw NullPointerException");
+    }
+
+    @Test
+    @DisplayName("Round trip through ArrayList should preserve elements")
+    public void testArrayListRoundTrip() {
+      ArrayList<Integer> list = new ArrayList<>(Arrays.asList(3, -1, 1000, 0));
+      IntVector v = IntVector.fromList(list);
+      assertEquals(4, v.size(), "Size should match the list");
+      assertEquals(list, v.toArrayList(), "Round trip should preserve elements");
+      assertEquals(list.toString(), v.toString(), "toString should match ArrayList.toString");
+    }
+
+    @Test
+    @DisplayName("of() should copy its argument")
+    public void testOfCopies() {
+      int[] values = { 1, 2, 3 };
+      IntVector v = IntVector.of(values);
+      values[0] = 99;
+      assertEquals(1, v.get(0), "Vector should not see later changes to the source array");
+    }
+  }
+
+  @Nested
+  @DisplayName("Element access and growth tests")
+  class AccessTests {
+
+    @Test
+    @DisplayName("Exception: index out of range should throw IndexOutOfBoundsException")
+    public void testIndexOutOfBounds() {
+      IntVector v = IntVector.of(1, 2);
+      assertThrows(IndexOutOfBoundsException.class, () -> v.get(2), "get(size) should throw");
+      assertThrows(IndexOutOfBoundsException.class, () -> v.set(-1, 0), "set(-1) should throw");
+    }
+
+    @Test
+    @DisplayName("Appends should grow past the initial capacity")
+    public void testGrowth() {
+      IntVector v = new IntVector(0);
+      for (int i = 0; i < 1_000; i++) {
+        v.add(i * 2);
+      }
+      assertEquals(1_000, v.size(), "All appends should be kept");
+      assertEquals(1_998, v.get(999), "Last element should be the last appended");
+      assertTrue(v.capacity() >= 1_000, "Capacity should cover the size");
+      v.trimToSize();
+      assertEquals(1_000, v.capacity(), "trimToSize should shrink capacity to size");
+    }
+
+    @Test
+    @DisplayName("Set should replace and return the previous value")
+    public void testSet() {
+      IntVector v = IntVector.of(5, 6);
+      assertEquals(6, v.set(1, 7), "set should return the previous value");
+      assertEquals(7, v.get(1), "set should store the new value");
+    }
+
+    @Test
+    @DisplayName("Bulk appends should add ranges and other vectors")
+    public void testAddAll() {
+      IntVector v = new IntVector();
+      v.addAll(new int[] { 1, 2, 3, 4 }, 1, 3);
+      v.addAll(IntVector.of(9, 8));
+      assertArrayEquals(new int[] { 2, 3, 9, 8 }, v.toArray(), "Bulk appends should be in order");
+      assertThrows(IndexOutOfBoundsException.class, () -> v.addAll(new int[2], 1, 3),
+          "Out of range bulk append should throw IndexOutOfBoundsException");
+    }
+
+    @Test
+    @DisplayName("Clear should empty the vector and copy should be independent")
+    public void testClearAndCopy() {
+      IntVector v = IntVector.of(1, 2, 3);
+      IntVector copy = v.copy();
+      v.clear();
+      assertTrue(v.isEmpty(), "Cleared vector should be empty");
+      assertEquals(3, copy.size(), "Copy should not be affected by clear");
+    }
+
+    @Test
+    @DisplayName("Equality should depend only on size and elements")
+    public void testEquals() {
+      IntVector a = new IntVector(100);
+      a.addAll(new int[] { 1, 2, 3 });
+      IntVector b = IntVector.of(1, 2, 3);
+      assertEquals(a, b, "Vectors with the same elements should be equal");
+      assertEquals(a.hashCode(), b.hashCode(), "Equal vectors should have equal hash codes");
+      assertEquals(new ArrayList<>(Arrays.asList(1, 2, 3)).hashCode(), a.hashCode(),
+          "Hash code should match List.hashCode of the same elements");
+      assertNotEquals(a, IntVector.of(1, 2), "Vectors of different sizes should differ");
+      assertFalse(a.equals(null), "Vector should not equal null");
+    }
+  }
+}
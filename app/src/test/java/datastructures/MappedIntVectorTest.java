@@ -0,0 +1,158 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedIntVectorTest {
+
+  /** Small chunks so a few thousand ints span several mappings */
+  private static final int CHUNK_INTS = 1 << 10;
+
+  @TempDir
+  Path tempDir;
+
+  private Path writeInts(String name, int[] values) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES);
+    buffer.asIntBuffer().put(values);
+    Path file = tempDir.resolve(name);
+    Files.write(file, buffer.array());
+    return file;
+  }
+
+  private static int[] readInts(Path file) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    int[] values = new int[buffer.remaining() / Integer.BYTES];
+    buffer.asIntBuffer().get(values);
+    return values;
+  }
+
+  private static int[] randomInts(int n, long seed) {
+    Random random = new Random(seed);
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = random.nextInt(100);
+    }
+    return values;
+  }
+
+  @Nested
+  @DisplayName("Access tests")
+  class AccessTests {
+
+    @Test
+    @DisplayName("get should read big-endian ints across chunk boundaries")
+    public void testGet() throws IOException {
+      int[] values = randomInts(5_000, 41);
+      try (MappedIntVector v = MappedIntVector.open(writeInts("in.bin", values), false, CHUNK_INTS)) {
+        assertEquals(5_000L, v.size(), "Size should be the number of ints");
+        for (int i = 0; i < values.length; i++) {
+          assertEquals(values[i], v.get(i), "get(" + i + ")");
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> v.get(5_000L), "Index past the end should throw");
+        assertThrows(IllegalStateException.class, () -> v.set(0, 1), "Read-only vector should reject set");
+      }
+    }
+
+    @Test
+    @DisplayName("set should write through to the file")
+    public void testSetWritesThrough() throws IOException {
+      Path file = tempDir.resolve("new.bin");
+      try (MappedIntVector v = MappedIntVector.create(file, 3_000, CHUNK_INTS)) {
+        assertEquals(0, v.set(2_047, 7), "New file should hold zeros");
+        v.set(2_048, -8);
+        v.force();
+      }
+      int[] stored = readInts(file);
+      assertEquals(7, stored[2_047], "Write before the chunk boundary should reach the file");
+      assertEquals(-8, stored[2_048], "Write after the chunk boundary should reach the file");
+    }
+
+    @Test
+    @DisplayName("Exception: bad files and closed vectors should be rejected")
+    public void testErrors() throws IOException {
+      Path odd = tempDir.resolve("odd.bin");
+      Files.write(odd, new byte[] { 1, 2, 3 });
+      assertThrows(IOException.class, () -> MappedIntVector.openReadOnly(odd), "Length not a multiple of 4");
+      MappedIntVector v = MappedIntVector.create(tempDir.resolve("closed.bin"), 4);
+      v.close();
+      assertThrows(IllegalStateException.class, () -> v.get(0), "Closed vector should throw");
+    }
+  }
+
+  @Nested
+  @DisplayName("Operation tests")
+  class OperationTests {
+
+    @Test
+    @DisplayName("searchVector and countMatches should match DsIntVector")
+    public void testSearch() throws IOException {
+      int[] values = randomInts(4_000, 42);
+      try (MappedIntVector v = MappedIntVector.open(writeInts("in.bin", values), false, CHUNK_INTS)) {
+        int[] expected = DsIntVector.searchVector(IntVector.of(values), 17).toArray();
+        assertArrayEquals(Arrays.stream(expected).asLongStream().toArray(), v.searchVector(17),
+            "searchVector should return every matching index");
+        assertEquals(expected.length, v.countMatches(17), "countMatches should count every match");
+      }
+    }
+
+    @Test
+    @DisplayName("modifyVector and reverseInPlace should rewrite the file")
+    public void testModifyAndReverse() throws IOException {
+      int[] values = randomInts(3_001, 43);
+      Path file = writeInts("in.bin", values);
+      try (MappedIntVector v = MappedIntVector.open(file, true, CHUNK_INTS)) {
+        v.modifyVector();
+        v.reverseInPlace();
+      }
+      IntVector expected = DsIntVector.reverseVector(DsIntVector.modifyVector(IntVector.of(values)));
+      assertArrayEquals(expected.toArray(), readInts(file), "File should hold the incremented, reversed ints");
+    }
+
+    @Test
+    @DisplayName("sortTo and sortInPlace should sort through ExternalSort")
+    public void testSort() throws IOException {
+      int[] values = randomInts(6_000, 44);
+      int[] expected = values.clone();
+      Arrays.sort(expected);
+      Path file = writeInts("in.bin", values);
+      Path out = tempDir.resolve("sorted.bin");
+      try (MappedIntVector v = MappedIntVector.open(file, true, CHUNK_INTS)) {
+        assertEquals(6_000L, v.sortTo(out, tempDir), "sortTo should report every int");
+        assertArrayEquals(expected, readInts(out), "sortTo should write sorted ints");
+        v.sortInPlace(tempDir);
+        assertEquals(expected[5_999], v.get(5_999), "Mapping should see the sorted ints");
+      }
+      assertArrayEquals(expected, readInts(file), "sortInPlace should sort the file itself");
+      try (var files = Files.list(tempDir)) {
+        assertEquals(2L, files.count(), "Temporary files should be deleted");
+      }
+    }
+
+    @Test
+    @DisplayName("Exception: sortTo should refuse to overwrite the vector's own file")
+    public void testSortToOwnFile() throws IOException {
+      int[] values = randomInts(3_000, 45);
+      Path file = writeInts("self.bin", values);
+      try (MappedIntVector v = MappedIntVector.open(file, false, CHUNK_INTS)) {
+        assertThrows(IllegalArgumentException.class, () -> v.sortTo(file, tempDir), "Same path should throw");
+        assertThrows(IllegalArgumentException.class,
+            () -> v.sortTo(tempDir.resolve(".").resolve("self.bin"), tempDir), "Equivalent path should throw");
+        assertEquals(values[2_999], v.get(2_999), "Mapping should still be readable");
+      }
+      assertArrayEquals(values, readInts(file), "File should be unchanged");
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class PackedIntVectorTest {
+
+  private static int[] randomInts(int n, int bound, long seed) {
+    Random random = new Random(seed);
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = random.nextInt(bound);
+    }
+    return values;
+  }
+
+  @Nested
+  @DisplayName("Encoding tests")
+  class EncodingTests {
+
+    @Test
+    @DisplayName("get and toArray should round-trip small-range values")
+    public void testRoundTrip() {
+      int[] values = randomInts(10_000, 10, 43);
+      PackedIntVector v = PackedIntVector.encode(values);
+      assertArrayEquals(values, v.toArray(), "toArray should round-trip");
+      for (int i = 0; i < values.length; i += 37) {
+        assertEquals(values[i], v.get(i), "get(" + i + ")");
+      }
+      assertTrue(v.compressedBytes() < values.length, "Values below 10 should take under a byte each");
+    }
+
+    @Test
+    @DisplayName("Extreme and constant values should round-trip")
+    public void testExtremes() {
+      int[] values = new int[300];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = i % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+      }
+      Arrays.fill(values, 256, 300, 42);
+      PackedIntVector v = PackedIntVector.encode(values);
+      assertArrayEquals(values, v.toArray(), "Full 32-bit ranges and constant blocks should round-trip");
+      assertEquals(0, PackedIntVector.encode(new int[0]).size(), "Empty input should give an empty vector");
+    }
+
+    @Test
+    @DisplayName("decodeBlock should decode one block at a time")
+    public void testDecodeBlock() {
+      int[] values = randomInts(300, 1_000, 44);
+      PackedIntVector v = PackedIntVector.encode(values);
+      int[] block = new int[PackedIntVector.BLOCK_SIZE];
+      assertEquals(3, v.blockCount(), "300 values should make three blocks");
+      assertEquals(44, v.decodeBlock(2, block), "Last block should hold the remainder");
+      assertArrayEquals(Arrays.copyOfRange(values, 256, 300), Arrays.copyOf(block, 44), "Last block contents");
+      assertThrows(IllegalArgumentException.class, () -> v.decodeBlock(0, new int[10]), "Short output");
+      assertThrows(IndexOutOfBoundsException.class, () -> v.decodeBlock(3, block), "Block past the end");
+    }
+  }
+
+  @Nested
+  @DisplayName("Compressed scan tests")
+  class ScanTests {
+
+    @Test
+    @DisplayName("countMatches, searchVector and sum should match the uncompressed data")
+    public void testScans() {
+      int[] values = randomInts(20_000, 50, 45);
+      for (int i = 5_000; i < 6_000; i++) {
+        values[i] = 1_000_000 + i;
+      }
+      PackedIntVector v = PackedIntVector.encode(values);
+      IntVector plain = IntVector.of(values);
+      for (int n : new int[] { 0, 7, 49, 50, -1, 1_005_500 }) {
+        assertEquals(DsIntVector.countMatches(plain, n), v.countMatches(n), "countMatches(" + n + ")");
+        assertArrayEquals(DsIntVector.searchVector(plain, n).toArray(), v.searchVector(n).toArray(),
+            "searchVector(" + n + ")");
+      }
+      assertEquals(Arrays.stream(values).asLongStream().sum(), v.sum(), "sum should match");
+    }
+  }
+}
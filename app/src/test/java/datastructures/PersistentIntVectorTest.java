@@ -0,0 +1,143 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class PersistentIntVectorTest {
+
+  private static int[] range(int from, int to) {
+    int[] ret = new int[to - from];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = from + i;
+    }
+    return ret;
+  }
+
+  private static int[] concat(int[] a, int[] b) {
+    int[] ret = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, ret, a.length, b.length);
+    return ret;
+  }
+
+  @Nested
+  @DisplayName("Update tests")
+  class UpdateTests {
+
+    @Test
+    @DisplayName("set should return a new version and leave the old one unchanged")
+    public void testSet() {
+      PersistentIntVector v = PersistentIntVector.of(range(0, 2_000));
+      PersistentIntVector w = v.set(1_234, -1);
+      assertEquals(-1, w.get(1_234), "New version should hold the new value");
+      assertEquals(1_234, v.get(1_234), "Old version should be unchanged");
+      assertThrows(IndexOutOfBoundsException.class, () -> v.set(2_000, 0), "Index past the end should throw");
+    }
+
+    @Test
+    @DisplayName("append should grow the tree one element at a time")
+    public void testAppend() {
+      PersistentIntVector v = PersistentIntVector.empty();
+      PersistentIntVector[] versions = new PersistentIntVector[40_000];
+      for (int i = 0; i < versions.length; i++) {
+        v = v.append(i);
+        versions[i] = v;
+      }
+      assertArrayEquals(range(0, 40_000), v.toArray(), "Appended values should be in order");
+      assertEquals(1_001, versions[1_000].size(), "Earlier versions should keep their size");
+      assertEquals(1_000, versions[1_000].get(1_000), "Earlier versions should keep their values");
+    }
+
+    @Test
+    @DisplayName("of and from should copy their input")
+    public void testFactories() {
+      int[] values = { 1, 2, 3 };
+      PersistentIntVector v = PersistentIntVector.of(values);
+      values[0] = 9;
+      assertEquals(1, v.get(0), "of should copy the array");
+      assertSame(v, PersistentIntVector.from(v), "from should return a persistent vector unchanged");
+      assertEquals(v, PersistentIntVector.from(IntVector.of(1, 2, 3)), "from should copy an IntVector");
+      assertThrows(NullPointerException.class, () -> PersistentIntVector.of((int[]) null), "of(null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("Slice and concat tests")
+  class SliceConcatTests {
+
+    @Test
+    @DisplayName("slice should return the requested range")
+    public void testSlice() {
+      PersistentIntVector v = PersistentIntVector.of(range(0, 100_000));
+      assertArrayEquals(range(31, 33_000), v.slice(31, 33_000).toArray(), "Slice across many leaves");
+      assertArrayEquals(range(500, 501), v.slice(500, 501).toArray(), "Single-element slice");
+      assertEquals(0, v.slice(7, 7).size(), "Empty slice");
+      assertSame(v, v.slice(0, 100_000), "Full slice should return the same vector");
+      assertThrows(IndexOutOfBoundsException.class, () -> v.slice(5, 4), "Reversed range should throw");
+    }
+
+    @Test
+    @DisplayName("concat should match mergeVectors and keep the tree shallow")
+    public void testConcat() {
+      PersistentIntVector a = PersistentIntVector.of(range(0, 1_000));
+      PersistentIntVector b = PersistentIntVector.of(range(1_000, 50_000));
+      assertArrayEquals(range(0, 50_000), a.concat(b).toArray(), "concat should join in order");
+      assertArrayEquals(range(0, 50_000), b.slice(0, 0).concat(a).concat(b).toArray(), "Empty left side");
+
+      PersistentIntVector acc = PersistentIntVector.empty();
+      for (int i = 0; i < 5_000; i += 3) {
+        acc = acc.concat(PersistentIntVector.of(range(i, Math.min(i + 3, 5_000))));
+      }
+      assertArrayEquals(range(0, 5_000), acc.toArray(), "Many small concatenations should stay in order");
+      assertTrue(acc.height() <= 3, "Rebalancing should keep the tree shallow, was " + acc.height());
+    }
+
+    @Test
+    @DisplayName("Random slices, concats and updates should match an array model")
+    public void testAgainstModel() {
+      Random random = new Random(40);
+      PersistentIntVector v = PersistentIntVector.of(range(0, 3_000));
+      int[] model = range(0, 3_000);
+      for (int step = 0; step < 300; step++) {
+        int from = random.nextInt(model.length + 1);
+        int to = from + random.nextInt(model.length - from + 1);
+        PersistentIntVector piece = v.slice(from, to);
+        int[] pieceModel = Arrays.copyOfRange(model, from, to);
+        boolean pieceFirst = random.nextBoolean();
+        v = pieceFirst ? piece.concat(v) : v.concat(piece);
+        model = pieceFirst ? concat(pieceModel, model) : concat(model, pieceModel);
+        if (model.length > 20_000) {
+          v = v.slice(0, 20_000);
+          model = Arrays.copyOf(model, 20_000);
+        }
+        if (model.length > 0) {
+          int index = random.nextInt(model.length);
+          v = v.set(index, step);
+          model[index] = step;
+        }
+        for (int i = 0; i < model.length; i += 17) {
+          assertEquals(model[i], v.get(i), "get(" + i + ") at step " + step);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("rotate should match rotateVector")
+    public void testRotate() {
+      int[] values = range(0, 1_000);
+      PersistentIntVector v = PersistentIntVector.of(values);
+      assertArrayEquals(DsIntVector.rotateVector(IntVector.of(values), 333).toArray(), v.rotate(333).toArray(),
+          "rotate should match DsIntVector.rotateVector");
+      assertThrows(IllegalArgumentException.class, () -> v.rotate(1_000), "Rotation by size should throw");
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class RoaringBitmapTest {
+
+  /**
+   * Builds a set mixing sparse chunks, dense chunks and long runs
+   */
+  private static TreeSet<Integer> mixedSet(long seed) {
+    Random random = new Random(seed);
+    TreeSet<Integer> set = new TreeSet<>();
+    for (int i = 0; i < 2_000; i++) {
+      set.add(random.nextInt(1 << 22));
+    }
+    for (int i = 0; i < 30_000; i++) {
+      set.add((3 << 16) + random.nextInt(1 << 16));
+    }
+    int start = (5 << 16) + random.nextInt(1000);
+    for (int i = 0; i < 100_000; i++) {
+      set.add(start + i);
+    }
+    return set;
+  }
+
+  private static RoaringBitmap toBitmap(TreeSet<Integer> set) {
+    RoaringBitmap bitmap = new RoaringBitmap();
+    for (int value : set) {
+      bitmap.add(value);
+    }
+    return bitmap;
+  }
+
+  private static int[] toArray(TreeSet<Integer> set) {
+    return set.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  @Nested
+  @DisplayName("Set tests")
+  class SetTests {
+
+    @Test
+    @DisplayName("add and contains should match TreeSet across container types")
+    public void testMatchesTreeSet() {
+      TreeSet<Integer> expected = mixedSet(49);
+      RoaringBitmap bitmap = new RoaringBitmap();
+      Random random = new Random(50);
+      ArrayList<Integer> shuffled = new ArrayList<>(expected);
+      Collections.shuffle(shuffled, random);
+      for (int value : shuffled) {
+        assertTrue(bitmap.add(value), "First add of " + value + " should report new");
+      }
+      assertFalse(bitmap.add(shuffled.get(0)), "Repeated add should report present");
+      assertEquals(expected.size(), bitmap.cardinality(), "cardinality should count every value");
+      assertArrayEquals(toArray(expected), bitmap.toArray(), "toArray should list values in order");
+      for (int i = 0; i < 10_000; i++) {
+        int probe = random.nextInt(1 << 22);
+        assertEquals(expected.contains(probe), bitmap.contains(probe), "contains should match for " + probe);
+      }
+      RoaringBitmap optimized = toBitmap(expected).runOptimize();
+      assertEquals(bitmap, optimized, "runOptimize should not change the values");
+      assertArrayEquals(toArray(expected), optimized.toArray(), "Optimized bitmap should list the same values");
+    }
+
+    @Test
+    @DisplayName("Each chunk should use its smallest container")
+    public void testContainerChoice() {
+      RoaringBitmap bitmap = toBitmap(mixedSet(51)).runOptimize();
+      assertEquals("array", bitmap.containerType(0), "Sparse chunk should be an array");
+      assertEquals("bitmap", bitmap.containerType(3), "Dense random chunk should be a bitmap");
+      assertEquals("run", bitmap.containerType(6), "Chunk inside one run should be a run");
+      assertTrue(bitmap.sizeInBytes() < 40_000, "Runs should keep the bitmap small");
+    }
+
+    @Test
+    @DisplayName("and, or and andCardinality should match TreeSet")
+    public void testAndOr() {
+      for (long seed = 0; seed < 4; seed++) {
+        TreeSet<Integer> x = mixedSet(60 + seed);
+        TreeSet<Integer> y = mixedSet(70 + seed);
+        RoaringBitmap bx = toBitmap(x);
+        RoaringBitmap by = toBitmap(y);
+        if (seed % 2 == 0) {
+          bx.runOptimize();
+        }
+        TreeSet<Integer> and = new TreeSet<>(x);
+        and.retainAll(y);
+        TreeSet<Integer> or = new TreeSet<>(x);
+        or.addAll(y);
+        assertArrayEquals(toArray(and), bx.and(by).toArray(), "and should match for seed " + seed);
+        assertArrayEquals(toArray(or), bx.or(by).toArray(), "or should match for seed " + seed);
+        assertEquals(and.size(), bx.andCardinality(by), "andCardinality should match for seed " + seed);
+        assertEquals(or.size(), bx.or(by).cardinality(), "or cardinality should match for seed " + seed);
+      }
+    }
+
+    @Test
+    @DisplayName("Exception: negative values should be rejected")
+    public void testNegative() {
+      RoaringBitmap bitmap = new RoaringBitmap();
+      assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1), "Negative add should throw");
+      assertFalse(bitmap.contains(-1), "Negative values are never present");
+      assertThrows(NullPointerException.class, () -> bitmap.and(null), "Null other should throw");
+    }
+  }
+
+  @Nested
+  @DisplayName("Search tests")
+  class SearchTests {
+
+    @Test
+    @DisplayName("searchRoaring should match searchVector")
+    public void testSearchRoaring() {
+      Random random = new Random(52);
+      int[] values = new int[300_000];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = i >= 70_000 && i < 200_000 ? 7 : random.nextInt(8);
+      }
+      IntVector v = IntVector.of(values);
+      for (int n = 0; n < 9; n++) {
+        RoaringBitmap bitmap = DsIntVector.searchRoaring(v, n);
+        assertEquals(DsIntVector.searchVector(v, n), bitmap.toIntVector(), "searchRoaring should match for " + n);
+      }
+      ArrayList<Integer> list = v.toArrayList();
+      assertEquals(DsIntVector.searchRoaring(v, 3), DsVector.searchRoaring(list, 3),
+          "ArrayList and IntVector searches should match");
+      RoaringBitmap sevens = DsIntVector.searchRoaring(v, 7);
+      RoaringBitmap ones = DsIntVector.searchRoaring(v, 1);
+      assertEquals(0, sevens.andCardinality(ones), "Searches for different values should not overlap");
+      assertEquals(sevens.cardinality() + ones.cardinality(), sevens.or(ones).cardinality(),
+          "or of disjoint searches should add their counts");
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class SegmentedIntVectorTest {
+
+  /** Enough elements to span three and a bit segments */
+  private static final int N = 3 * SegmentedIntVector.SEGMENT_SIZE + 123;
+
+  private static int[] randomInts(int n, long seed) {
+    Random random = new Random(seed);
+    int[] values = new int[n];
+    for (int i = 0; i < n; i++) {
+      values[i] = random.nextInt(1_000);
+    }
+    return values;
+  }
+
+  @Nested
+  @DisplayName("Storage tests")
+  class StorageTests {
+
+    @Test
+    @DisplayName("add and addAll should fill segments in order")
+    public void testAppend() {
+      int[] values = randomInts(N, 42);
+      SegmentedIntVector v = new SegmentedIntVector();
+      for (int i = 0; i < 1_000; i++) {
+        v.add(values[i]);
+      }
+      v.addAll(Arrays.copyOfRange(values, 1_000, N));
+      assertEquals(N, v.size(), "Size should count every append");
+      assertArrayEquals(values, v.toArray(), "Elements should be in append order");
+      assertEquals(values[N - 1], v.get(N - 1), "Last element should be readable");
+      assertThrows(IndexOutOfBoundsException.class, () -> v.get(N), "Index past the end should throw");
+    }
+
+    @Test
+    @DisplayName("set and forEach should see every segment")
+    public void testSetAndForEach() {
+      SegmentedIntVector v = SegmentedIntVector.of(randomInts(N, 43));
+      long index = SegmentedIntVector.SEGMENT_SIZE;
+      int old = v.get(index);
+      assertEquals(old, v.set(index, -1), "set should return the previous value");
+      long[] sum = { 0 };
+      v.forEach(value -> sum[0] += value);
+      assertEquals(Arrays.stream(v.toArray()).asLongStream().sum(), sum[0], "forEach should visit every element");
+      v.clear();
+      assertEquals(0, v.size(), "clear should empty the vector");
+    }
+  }
+
+  @Nested
+  @DisplayName("DsVector operation tests")
+  class OperationTests {
+
+    @Test
+    @DisplayName("Every operation should match its DsIntVector counterpart")
+    public void testMatchesDsIntVector() {
+      int[] values = randomInts(N, 44);
+      int[] other = randomInts(5_000, 45);
+      IntVector expected = IntVector.of(values);
+
+      assertArrayEquals(DsIntVector.sortVector(expected).toArray(), SegmentedIntVector.of(values).sortVector().toArray(),
+          "sortVector");
+      assertArrayEquals(DsIntVector.reverseVector(expected).toArray(),
+          SegmentedIntVector.of(values).reverseVector().toArray(), "reverseVector");
+      assertArrayEquals(DsIntVector.rotateVector(expected, 70_000).toArray(),
+          SegmentedIntVector.of(values).rotateVector(70_000).toArray(), "rotateVector");
+      assertArrayEquals(DsIntVector.mergeVectors(expected, IntVector.of(other)).toArray(),
+          SegmentedIntVector.of(values).mergeVectors(SegmentedIntVector.of(other)).toArray(), "mergeVectors");
+      assertArrayEquals(Arrays.stream(DsIntVector.searchVector(expected, 7).toArray()).asLongStream().toArray(),
+          SegmentedIntVector.of(values).searchVector(7), "searchVector");
+
+      SegmentedIntVector v = SegmentedIntVector.of(values);
+      assertSame(v, v.modifyVector(), "modifyVector should work in place");
+      assertArrayEquals(DsIntVector.modifyVector(expected).toArray(), v.toArray(), "modifyVector");
+    }
+
+    @Test
+    @DisplayName("Small and empty vectors should behave like DsVector")
+    public void testSmall() {
+      assertEquals(0, new SegmentedIntVector().sortVector().size(), "Empty sort");
+      assertArrayEquals(new int[] { 1, 2, 3 }, SegmentedIntVector.of(3, 1, 2).sortVector().toArray(), "One segment");
+      assertEquals(0, new SegmentedIntVector().rotateVector(5).size(), "Empty rotation");
+      assertThrows(IllegalArgumentException.class, () -> SegmentedIntVector.of(1, 2).rotateVector(2),
+          "Rotation by size should throw");
+      assertThrows(NullPointerException.class, () -> new SegmentedIntVector().mergeVectors(null),
+          "mergeVectors(null)");
+    }
+  }
+}
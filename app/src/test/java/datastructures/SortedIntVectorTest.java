@@ -0,0 +1,145 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class SortedIntVectorTest {
+
+  private static int[] randomArray(int n, int bound, long seed) {
+    Random random = new Random(seed);
+    int[] a = new int[n];
+    for (int i = 0; i < n; i++) {
+      a[i] = random.nextInt(bound);
+    }
+    return a;
+  }
+
+  private static TreeMap<Integer, Integer> counts(int[] a) {
+    TreeMap<Integer, Integer> counts = new TreeMap<>();
+    for (int x : a) {
+      counts.merge(x, 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  private static int[] expand(TreeMap<Integer, Integer> counts) {
+    ArrayList<Integer> out = new ArrayList<>();
+    counts.forEach((value, count) -> {
+      for (int i = 0; i < count; i++) {
+        out.add(value);
+      }
+    });
+    return out.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  @Nested
+  @DisplayName("Search tests")
+  class SearchTests {
+
+    @Test
+    @DisplayName("Binary search should match the linear search on the sorted vector")
+    public void testMatchesLinearSearch() {
+      IntVector v = IntVector.of(randomArray(1000, 30, 45));
+      IntVector sorted = DsIntVector.sortVector(v);
+      SortedIntVector s = SortedIntVector.from(v);
+      assertEquals(sorted, s.toIntVector(), "from should sort a copy");
+      for (int n = -1; n <= 31; n++) {
+        assertEquals(DsIntVector.searchVector(sorted, n), s.searchVector(n), "searchVector should match for " + n);
+        assertEquals(DsIntVector.countMatches(sorted, n), s.countMatches(n), "countMatches should match for " + n);
+        assertEquals(DsIntVector.countMatches(sorted, n) > 0, s.contains(n), "contains should match for " + n);
+      }
+    }
+
+    @Test
+    @DisplayName("Bounds and min/max should handle extreme values")
+    public void testBoundsAndExtremes() {
+      SortedIntVector s = SortedIntVector.of(Integer.MAX_VALUE, 3, Integer.MIN_VALUE, 3);
+      assertEquals(Integer.MIN_VALUE, s.min(), "min should be the first element");
+      assertEquals(Integer.MAX_VALUE, s.max(), "max should be the last element");
+      assertEquals(1, s.lowerBound(3), "lowerBound should find the first 3");
+      assertEquals(3, s.upperBound(3), "upperBound should skip every 3");
+      assertEquals(4, s.upperBound(Integer.MAX_VALUE), "upperBound of MAX_VALUE should be size");
+      assertEquals(1, s.countMatches(Integer.MAX_VALUE), "MAX_VALUE should be counted");
+    }
+
+    @Test
+    @DisplayName("Exception: invalid input should be rejected")
+    public void testInvalidInput() {
+      assertThrows(IllegalArgumentException.class, () -> SortedIntVector.fromSorted(new int[] {1, 3, 2}),
+          "Unsorted input should throw");
+      assertThrows(NoSuchElementException.class, () -> SortedIntVector.of().min(), "min of empty should throw");
+      assertThrows(NoSuchElementException.class, () -> SortedIntVector.of().max(), "max of empty should throw");
+      assertThrows(IndexOutOfBoundsException.class, () -> SortedIntVector.of(1).get(1), "Index past the end should throw");
+      assertThrows(NullPointerException.class, () -> SortedIntVector.of(1).union(null), "Null other should throw");
+    }
+  }
+
+  @Nested
+  @DisplayName("Set operation tests")
+  class SetOperationTests {
+
+    @Test
+    @DisplayName("Set operations should follow multiset semantics")
+    public void testMultisetSemantics() {
+      SortedIntVector a = SortedIntVector.fromSorted(new int[] {1, 2, 2, 2, 5});
+      SortedIntVector b = SortedIntVector.fromSorted(new int[] {2, 2, 3, 5, 5});
+      assertArrayEquals(new int[] {1, 2, 2, 2, 3, 5, 5}, a.union(b).toArray(), "Union should keep the larger count");
+      assertArrayEquals(new int[] {2, 2, 5}, a.intersection(b).toArray(), "Intersection should keep the smaller count");
+      assertArrayEquals(new int[] {1, 2}, a.difference(b).toArray(), "Difference should subtract counts");
+      assertTrue(a.intersection(SortedIntVector.of()).isEmpty(), "Intersection with empty should be empty");
+      assertEquals(a, a.difference(SortedIntVector.of()), "Difference with empty should keep everything");
+    }
+
+    @Test
+    @DisplayName("Set operations should match a count-based model on random input")
+    public void testRandomAgainstModel() {
+      for (int round = 0; round < 20; round++) {
+        int[] x = randomArray(200 + round, 40, 100 + round);
+        int[] y = randomArray(150 + round * 3, 40, 200 + round);
+        TreeMap<Integer, Integer> cx = counts(x);
+        TreeMap<Integer, Integer> cy = counts(y);
+        TreeMap<Integer, Integer> union = new TreeMap<>(cx);
+        TreeMap<Integer, Integer> inter = new TreeMap<>();
+        TreeMap<Integer, Integer> diff = new TreeMap<>();
+        cy.forEach((k, c) -> union.merge(k, c, Math::max));
+        cx.forEach((k, c) -> {
+          int other = cy.getOrDefault(k, 0);
+          if (Math.min(c, other) > 0) {
+            inter.put(k, Math.min(c, other));
+          }
+          if (c - other > 0) {
+            diff.put(k, c - other);
+          }
+        });
+        SortedIntVector sx = SortedIntVector.of(x);
+        SortedIntVector sy = SortedIntVector.of(y);
+        assertArrayEquals(expand(union), sx.union(sy).toArray(), "Union should match the model");
+        assertArrayEquals(expand(inter), sx.intersection(sy).toArray(), "Intersection should match the model");
+        assertArrayEquals(expand(diff), sx.difference(sy).toArray(), "Difference should match the model");
+      }
+    }
+
+    @Test
+    @DisplayName("Results should not share arrays with their inputs")
+    public void testImmutable() {
+      int[] values = {1, 2, 3};
+      SortedIntVector s = SortedIntVector.fromSorted(values);
+      values[0] = 9;
+      s.toArray()[1] = 9;
+      assertArrayEquals(new int[] {1, 2, 3}, s.toArray(), "Vector should not see outside changes");
+      assertFalse(s.contains(9), "Vector should not contain written values");
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class VectorIndexTest {
+
+  @Nested
+  @DisplayName("Lookup tests")
+  class LookupTests {
+
+    @Test
+    @DisplayName("search should return every position in ascending order")
+    public void testSearch() {
+      VectorIndex index = VectorIndex.forVector(IntVector.of(5, 1, 5, 2, 5, -1));
+      assertArrayEquals(new int[] { 0, 2, 4 }, index.search(5).toArray(), "All positions of 5");
+      assertEquals(0, index.search(7).size(), "Missing value should give no positions");
+      assertEquals(3, index.count(5), "5 occurs three times");
+      assertEquals(0, index.count(7), "7 does not occur");
+      assertEquals(3, index.firstIndex(2), "2 first occurs at 3");
+      assertEquals(-1, index.firstIndex(7), "Missing value should give -1");
+      assertTrue(index.contains(-1), "Index should contain -1");
+      assertFalse(index.contains(0), "Index should not contain 0");
+      assertEquals(4, index.distinctCount(), "There are four distinct values");
+    }
+
+    @Test
+    @DisplayName("forEachPosition should visit matches in order")
+    public void testForEachPosition() {
+      VectorIndex index = VectorIndex.forVector(IntVector.of(3, 3, 1, 3));
+      IntVector visited = new IntVector();
+      index.forEachPosition(3, visited::add);
+      assertArrayEquals(new int[] { 0, 1, 3 }, visited.toArray(), "Positions of 3 should be visited in order");
+      assertThrows(NullPointerException.class, () -> index.forEachPosition(3, null),
+          "Null action should throw NullPointerException");
+    }
+
+    @Test
+    @DisplayName("Empty vectors should index nothing")
+    public void testEmpty() {
+      VectorIndex index = VectorIndex.forVector(new IntVector());
+      assertEquals(0, index.size(), "Empty index should have size 0");
+      assertEquals(0, index.search(1).size(), "Empty index should find nothing");
+    }
+
+    @Test
+    @DisplayName("Exception: null sources should throw NullPointerException")
+    public void testNulls() {
+      assertThrows(NullPointerException.class, () -> VectorIndex.forVector(null), "forVector(null)");
+      assertThrows(NullPointerException.class, () -> VectorIndex.snapshot(null), "snapshot(null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("Staleness tests")
+  class StalenessTests {
+
+    @Test
+    @DisplayName("Index should follow changes to its IntVector")
+    public void testRebuildsAfterChange() {
+      IntVector v = IntVector.of(1, 2, 1);
+      VectorIndex index = VectorIndex.forVector(v);
+      assertEquals(2, index.count(1), "Initial count of 1");
+      v.add(1);
+      assertArrayEquals(new int[] { 0, 2, 3 }, index.search(1).toArray(), "Appended position should be found");
+      v.set(0, 9);
+      assertEquals(0, index.firstIndex(9), "Replaced value should be found");
+      DsIntVector.addToVector(v, 1);
+      assertEquals(2, index.count(2), "In-place transforms should invalidate the index");
+      DsIntVector.modifyVector(v);
+      assertEquals(2, index.count(3), "modifyVector should invalidate the index");
+      v.clear();
+      assertEquals(0, index.size(), "Cleared vector should give an empty index");
+    }
+
+    @Test
+    @DisplayName("Snapshots should not see later list changes")
+    public void testSnapshot() {
+      ArrayList<Integer> list = new ArrayList<>(Arrays.asList(4, 4, 2));
+      VectorIndex index = VectorIndex.snapshot(list);
+      list.add(4);
+      assertEquals(2, index.count(4), "Snapshot should keep the original contents");
+    }
+
+    @Test
+    @DisplayName("Every lookup should match DsVector.searchVector")
+    public void testMatchesSearchVector() {
+      Random random = new Random(36);
+      ArrayList<Integer> list = new ArrayList<>();
+      for (int i = 0; i < 5_000; i++) {
+        list.add(random.nextInt(300) - 150);
+      }
+      VectorIndex index = VectorIndex.snapshot(list);
+      for (int n = -160; n <= 160; n++) {
+        assertEquals(DsVector.searchVector(list, n), index.search(n).toArrayList(), "search(" + n + ")");
+      }
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package datastructures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.RandomAccess;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class VectorViewsTest {
+
+  @Nested
+  @DisplayName("List view tests")
+  class ListViewTests {
+
+    @Test
+    @DisplayName("Views should match the copying DsVector operations")
+    public void testMatchesDsVector() {
+      Random random = new Random(38);
+      ArrayList<Integer> v1 = new ArrayList<>();
+      ArrayList<Integer> v2 = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        v1.add(random.nextInt(50));
+        v2.add(random.nextInt(50));
+      }
+      assertEquals(DsVector.reverseVector(v1), VectorViews.reversed(v1), "reversed should match reverseVector");
+      assertEquals(DsVector.rotateVector(v1, 37), VectorViews.rotated(v1, 37), "rotated should match rotateVector");
+      assertEquals(DsVector.mergeVectors(v1, v2), VectorViews.concat(v1, v2), "concat should match mergeVectors");
+    }
+
+    @Test
+    @DisplayName("Chained views should compose without copying")
+    public void testChained() {
+      List<Integer> a = Arrays.asList(1, 2, 3);
+      List<Integer> b = Arrays.asList(4, 5);
+      List<Integer> view = VectorViews.reversed(VectorViews.concat(a, VectorViews.rotated(b, 1)));
+      assertEquals(Arrays.asList(4, 5, 3, 2, 1), view, "Chained view should read through every level");
+      assertEquals(a, VectorViews.reversed(VectorViews.reversed(a)), "Double reversal should read in order");
+    }
+
+    @Test
+    @DisplayName("Double reversal should not expose the mutable backing list")
+    public void testDoubleReversalIsReadOnly() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2, 3));
+      List<Integer> view = VectorViews.reversed(VectorViews.reversed(v));
+      assertNotSame(v, view, "Double reversal should not return the backing list");
+      assertThrows(UnsupportedOperationException.class, () -> view.set(0, 9), "Double-reversed view should be read-only");
+      assertEquals(Arrays.asList(1, 2, 3), v, "Backing list should be unchanged");
+    }
+
+    @Test
+    @DisplayName("Views should be RandomAccess only when every backing list is")
+    public void testRandomAccess() {
+      ArrayList<Integer> array = new ArrayList<>(Arrays.asList(1, 2, 3));
+      LinkedList<Integer> linked = new LinkedList<>(Arrays.asList(4, 5));
+      assertTrue(VectorViews.reversed(array) instanceof RandomAccess, "reversed(ArrayList)");
+      assertTrue(VectorViews.rotated(array, 1) instanceof RandomAccess, "rotated(ArrayList)");
+      assertTrue(VectorViews.concat(array, array) instanceof RandomAccess, "concat(ArrayList, ArrayList)");
+      assertFalse(VectorViews.reversed(linked) instanceof RandomAccess, "reversed(LinkedList)");
+      assertFalse(VectorViews.rotated(linked, 1) instanceof RandomAccess, "rotated(LinkedList)");
+      assertFalse(VectorViews.concat(array, linked) instanceof RandomAccess, "concat(ArrayList, LinkedList)");
+      assertFalse(VectorViews.reversed(VectorViews.reversed(linked)) instanceof RandomAccess,
+          "Double reversal of a LinkedList");
+      assertEquals(Arrays.asList(5, 4, 3, 2, 1), VectorViews.reversed(VectorViews.concat(array, linked)),
+          "Views over a LinkedList should read correctly");
+    }
+
+    @Test
+    @DisplayName("Views should show changes to their backing list and be read-only")
+    public void testLiveAndReadOnly() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2, 3));
+      List<Integer> view = VectorViews.reversed(v);
+      v.set(0, 9);
+      assertEquals(9, view.get(2), "View should show the updated element");
+      assertThrows(UnsupportedOperationException.class, () -> view.set(0, 1), "Views should be read-only");
+      assertThrows(IndexOutOfBoundsException.class, () -> view.get(3), "Index past the end should throw");
+    }
+
+    @Test
+    @DisplayName("Exception: invalid arguments should be rejected like DsVector")
+    public void testInvalidArguments() {
+      ArrayList<Integer> v = new ArrayList<>(Arrays.asList(1, 2));
+      assertThrows(IllegalArgumentException.class, () -> VectorViews.rotated(v, 2), "Rotation by size");
+      assertThrows(IllegalArgumentException.class, () -> VectorViews.rotated(v, -1), "Negative rotation");
+      assertThrows(NullPointerException.class, () -> VectorViews.reversed((List<Integer>) null), "reversed(null)");
+      assertThrows(NullPointerException.class, () -> VectorViews.concat(v, null), "concat(v, null)");
+    }
+  }
+
+  @Nested
+  @DisplayName("IntSequence view tests")
+  class SequenceViewTests {
+
+    @Test
+    @DisplayName("Views should match the copying DsIntVector operations")
+    public void testMatchesDsIntVector() {
+      IntVector v1 = IntVector.of(3, 1, 4, 1, 5, 9, 2, 6);
+      IntVector v2 = IntVector.of(-1, -2);
+      assertArrayEquals(DsIntVector.reverseVector(v1).toArray(), VectorViews.reversed(v1).toArray(), "reversed");
+      assertArrayEquals(DsIntVector.rotateVector(v1, 3).toArray(), VectorViews.rotated(v1, 3).toArray(), "rotated");
+      assertArrayEquals(DsIntVector.mergeVectors(v1, v2).toArray(), VectorViews.concat(v1, v2).toArray(), "concat");
+    }
+
+    @Test
+    @DisplayName("toIntVector should materialize a chained view")
+    public void testMaterialize() {
+      IntSequence view = VectorViews.rotated(VectorViews.reversed(IntVector.of(1, 2, 3, 4)), 1);
+      assertEquals(IntVector.of(3, 2, 1, 4), view.toIntVector(), "Materialized view should hold the viewed elements");
+      assertEquals(4, view.size(), "View should have the backing size");
+      assertThrows(IndexOutOfBoundsException.class, () -> view.get(-1), "Negative index should throw");
+    }
+
+    @Test
+    @DisplayName("Double reversal should not expose the backing IntVector")
+    public void testDoubleReversalIsReadOnly() {
+      IntVector v = IntVector.of(1, 2, 3);
+      IntSequence view = VectorViews.reversed(VectorViews.reversed(v));
+      assertFalse(view instanceof IntVector, "Double reversal should not return the mutable vector");
+      assertArrayEquals(new int[] {1, 2, 3}, view.toArray(), "Double reversal should read in order");
+      v.set(0, 9);
+      assertEquals(9, view.get(0), "Double-reversed view should show changes to its backing vector");
+    }
+
+    @Test
+    @DisplayName("Empty sequences should give empty views")
+    public void testEmpty() {
+      IntSequence view = VectorViews.concat(VectorViews.rotated(new IntVector(), 3), new IntVector());
+      assertEquals(0, view.size(), "View of empty sequences should be empty");
+      assertEquals(0, view.toArray().length, "Materialized empty view should be empty");
+    }
+  }
+}
@@ -5,6 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import datastructures.IntSequence;
+import datastructures.IntVectorFormat;
+import datastructures.SegmentedIntVector;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
@@ -249,6 +256,55 @@ public class GenVectorTest {
     }, "generateVector() should throw IllegalArgumentException when both n and m are negative");
   }
 
+  // ==================== generateSegmentedVector Tests ====================
+
+  @Test
+  public void testGenerateSegmentedVector_LengthAndRange() {
+    long n = 200_000;
+    int m = 7;
+    SegmentedIntVector result = GenVector.generateSegmentedVector(n, m);
+    assertEquals(n, result.size(), "Segmented vector should have exactly " + n + " elements");
+    result.forEach(value -> assertTrue(value >= 0 && value < m,
+        "Element " + value + " should be in range [0, " + m + ")"));
+  }
+
+  @Test
+  public void testGenerateSegmentedVector_InvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> GenVector.generateSegmentedVector(-1, 10),
+        "generateSegmentedVector() should throw IllegalArgumentException when n is negative");
+    assertThrows(IllegalArgumentException.class, () -> GenVector.generateSegmentedVector(10, 0),
+        "generateSegmentedVector() should throw IllegalArgumentException when m is not positive");
+  }
+
+  // ==================== writeVector Tests ====================
+
+  @Test
+  public void testWriteVector_RecordReadsBack() throws IOException {
+    int n = 20000;
+    int m = 50;
+    for (IntVectorFormat.Encoding encoding : IntVectorFormat.Encoding.values()) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      GenVector.writeVector(Channels.newChannel(bytes), n, m, encoding);
+      IntSequence result = IntVectorFormat.read(ByteBuffer.wrap(bytes.toByteArray()));
+      assertEquals(n, result.size(), "Written record should have exactly " + n + " elements");
+      for (int i = 0; i < n; i++) {
+        assertTrue(result.get(i) >= 0 && result.get(i) < m,
+            "Element " + result.get(i) + " should be in range [0, " + m + ")");
+      }
+    }
+  }
+
+  @Test
+  public void testWriteVector_InvalidArguments() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertThrows(IllegalArgumentException.class,
+        () -> GenVector.writeVector(Channels.newChannel(bytes), -1, 10, IntVectorFormat.Encoding.RAW),
+        "writeVector() should throw IllegalArgumentException when n is negative");
+    assertThrows(IllegalArgumentException.class,
+        () -> GenVector.writeVector(Channels.newChannel(bytes), 10, 0, IntVectorFormat.Encoding.RAW),
+        "writeVector() should throw IllegalArgumentException when m is not positive");
+  }
+
   // ==================== Helper Methods ====================
 
   /**